@@ -5,8 +5,15 @@ import cc.kasumi.uhc.game.Game;
 import cc.kasumi.uhc.listener.AsyncPlayerPreLoginListener;
 import cc.kasumi.uhc.listener.PlayerListener;
 import cc.kasumi.uhc.listener.SpectatorListener;
+import cc.kasumi.uhc.log.AsyncLogWriter;
+import cc.kasumi.uhc.metrics.MetricsExporter;
+import cc.kasumi.uhc.packets.PacketOutbox;
 import cc.kasumi.uhc.util.GameUtil;
+import cc.kasumi.uhc.util.LagWatchdog;
+import cc.kasumi.uhc.util.MovementFilter;
 import cc.kasumi.uhc.util.TickCounter;
+import cc.kasumi.uhc.util.TickProfiler;
+import cc.kasumi.uhc.util.TimingWheel;
 import cc.kasumi.uhc.world.WorldManager;
 import cc.kasumi.uhc.world.listener.WorldPopulatorListener;
 import co.aikar.commands.PaperCommandManager;
@@ -15,7 +22,6 @@ import com.comphenix.protocol.ProtocolManager;
 import lombok.Getter;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.plugin.PluginManager;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitRunnable;
 
@@ -36,12 +42,31 @@ public final class UHC extends JavaPlugin {
     public void onEnable() {
         instance = this;
 
+        // Hot-path log sites write through this, start it before anything can log
+        AsyncLogWriter.getInstance().start();
+
         getLogger().info("Starting UHC Plugin initialization...");
 
         // Initialize tick counter first (required by other systems)
         tickCounter = TickCounter.getInstance();
+        tickCounter.addThresholdListener(15.0, (threshold, tps, below) -> {
+            if (below) {
+                getLogger().warning(String.format("TPS dropped below %.1f (%.1f TPS, p95 tick interval %.1f ms)", threshold, tps, tickCounter.getTickInterval(0.95)));
+            } else {
+                getLogger().info(String.format("TPS recovered above %.1f (%.1f TPS)", threshold, tps));
+            }
+        });
         getLogger().info("Tick counter initialized");
 
+        // Logs main-thread stalls with a subsystem breakdown, needs the tick counter heartbeat
+        LagWatchdog.getInstance().start();
+
+        // Shared scheduler for per-player and per-entity timers
+        TimingWheel.getInstance();
+
+        // Per-player packet batching, flushed once per tick
+        PacketOutbox.getInstance();
+
         // Initialize world manager before game (critical for world system)
         worldManager = new WorldManager(this);
         getLogger().info("WorldManager initialized");
@@ -55,8 +80,14 @@ public final class UHC extends JavaPlugin {
         // Register other components
         registerManagers();
         registerListeners();
+
+        // Freeze and spectator movement rules on the netty thread, needs ProtocolLib
+        MovementFilter.getInstance().start();
         registerCommands();
 
+        // Opt-in Prometheus endpoint, off unless metrics.enabled is set
+        MetricsExporter.getInstance().start();
+
         getLogger().info("UHC Plugin initialization completed!");
     }
 
@@ -190,6 +221,18 @@ public final class UHC extends JavaPlugin {
      * Cleanup utility resources
      */
     private void cleanupUtilities() {
+        try {
+            LagWatchdog.getInstance().stop();
+        } catch (Exception e) {
+            getLogger().warning("Error stopping lag watchdog: " + e.getMessage());
+        }
+
+        try {
+            MetricsExporter.getInstance().stop();
+        } catch (Exception e) {
+            getLogger().warning("Error stopping metrics endpoint: " + e.getMessage());
+        }
+
         if (tickCounter != null) {
             try {
                 tickCounter.stop();
@@ -198,15 +241,34 @@ public final class UHC extends JavaPlugin {
                 getLogger().warning("Error stopping tick counter: " + e.getMessage());
             }
         }
+
+        try {
+            TimingWheel.getInstance().stop();
+        } catch (Exception e) {
+            getLogger().warning("Error stopping timing wheel: " + e.getMessage());
+        }
+
+        try {
+            PacketOutbox.getInstance().stop();
+        } catch (Exception e) {
+            getLogger().warning("Error stopping packet outbox: " + e.getMessage());
+        }
+
+        try {
+            MovementFilter.getInstance().stop();
+        } catch (Exception e) {
+            getLogger().warning("Error stopping movement filter: " + e.getMessage());
+        }
+
+        // Last, so lines logged during shutdown are still written
+        AsyncLogWriter.getInstance().stop();
     }
 
     private void registerListeners() {
-        PluginManager pluginManager = Bukkit.getPluginManager();
-
         try {
             // Register primary listeners
-            pluginManager.registerEvents(new AsyncPlayerPreLoginListener(), this);
-            pluginManager.registerEvents(new WorldPopulatorListener(), this);
+            TickProfiler.getInstance().registerEvents(new AsyncPlayerPreLoginListener(), this, "AsyncPlayerPreLoginListener");
+            TickProfiler.getInstance().registerEvents(new WorldPopulatorListener(), this, "WorldPopulatorListener");
             getLogger().info("WorldPopulatorListener registered");
 
             // Register game listener after game is initialized
@@ -214,8 +276,8 @@ public final class UHC extends JavaPlugin {
                 @Override
                 public void run() {
                     if (game != null) {
-                        pluginManager.registerEvents(new PlayerListener(game), UHC.this);
-                        pluginManager.registerEvents(new SpectatorListener(game), UHC.this);
+                        TickProfiler.getInstance().registerEvents(new PlayerListener(game), UHC.this, "PlayerListener");
+                        TickProfiler.getInstance().registerEvents(new SpectatorListener(game), UHC.this, "SpectatorListener");
                         getLogger().info("PlayerListener and SpectatorListener registered");
                         cancel();
                     }
@@ -253,6 +315,9 @@ public final class UHC extends JavaPlugin {
             paperCommandManager.registerCommand(new TeamCommand()); // NEW: Register team command
             paperCommandManager.registerCommand(new TeamSizeCommand()); // NEW: Register team mode command
             paperCommandManager.registerCommand(new SpectatorCommand()); // NEW: Register spectator command
+            paperCommandManager.registerCommand(new CombatLogCommand());
+            paperCommandManager.registerCommand(new UHCCommand());
+            paperCommandManager.registerCommand(new UHCAdminCommand());
             getLogger().info("Commands registered successfully");
         } catch (Exception e) {
             getLogger().severe("Error registering commands: " + e.getMessage());
@@ -3,7 +3,10 @@ package cc.kasumi.uhc.barapi;
 import cc.kasumi.uhc.UHC;
 import cc.kasumi.uhc.barapi.nms.FakeDragon;
 import cc.kasumi.uhc.barapi.nms.v1_8Fake;
+import cc.kasumi.uhc.util.ProfiledRunnable;
 import cc.kasumi.uhc.util.ReflectionUtil;
+import cc.kasumi.uhc.util.TickProfiler;
+import cc.kasumi.uhc.util.TimingWheel;
 import lombok.Getter;
 import org.apache.commons.lang.Validate;
 import org.bukkit.Bukkit;
@@ -14,7 +17,6 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.*;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.HashMap;
 import java.util.List;
@@ -31,12 +33,15 @@ public class BarAPI implements Listener {
   @Getter private static List<Player> players1_8;
 
   private static HashMap<UUID, FakeDragon> players = new HashMap<>();
-  private static HashMap<UUID, Integer> timers = new HashMap<>();
+  private static HashMap<UUID, TimingWheel.Timeout> timers = new HashMap<>();
 
   private static UHC plugin;
 
   private static boolean useSpigotHack = false;
 
+  // The dragon sits view distance blocks out, a few blocks of movement doesn't move it off screen
+  private static final double REPOSITION_DISTANCE_SQUARED = 8 * 8;
+
   public static boolean useSpigotHack() {
     return useSpigotHack;
   }
@@ -53,9 +58,7 @@ public class BarAPI implements Listener {
    */
   @Deprecated
   public static void setMessage(String message) {
-    for (Player player : Bukkit.getOnlinePlayers()) {
-      setMessage(player, message);
-    }
+    broadcastDragon(message, 100F, true);
   }
 
   /**
@@ -97,11 +100,9 @@ public class BarAPI implements Listener {
    */
   @Deprecated
   public static void setMessage(String message, float percent) {
-    for (Player player : Bukkit.getOnlinePlayers()) {
-      if (player != null) {
-        setMessage(player, message, percent);
-      }
-    }
+    Validate.isTrue(0F <= percent && percent <= 100F, "Percent must be between 0F and 100F, but was: ", percent);
+
+    broadcastDragon(message, percent, false);
   }
 
   /**
@@ -186,7 +187,7 @@ public class BarAPI implements Listener {
 
     cancelTimer(player);
 
-    timers.put(player.getUniqueId(), Bukkit.getScheduler().runTaskTimer(plugin, new BukkitRunnable() {
+    timers.put(player.getUniqueId(), TimingWheel.getInstance().scheduleRepeating(new Runnable() {
 
       @Override
       public void run() {
@@ -201,7 +202,7 @@ public class BarAPI implements Listener {
         }
       }
 
-    }, 20L, 20L).getTaskId());
+    }, 20L, 20L));
 
     sendDragon(dragon, player);
   }
@@ -312,16 +313,48 @@ public class BarAPI implements Listener {
   }
 
   private static void cancelTimer(Player player) {
-    Integer timerID = timers.remove(player.getUniqueId());
+    TimingWheel.Timeout timer = timers.remove(player.getUniqueId());
 
-    if (timerID != null) {
-      Bukkit.getScheduler().cancelTask(timerID);
+    if (timer != null) {
+      timer.cancel();
     }
   }
 
   private static void sendDragon(FakeDragon dragon, Player player) {
-      ReflectionUtil.sendPacket(player, dragon.getMetaPacket(dragon.getWatcher()));
-      ReflectionUtil.sendPacket(player, dragon.getTeleportPacket(getDragonLocation(player.getLocation())));
+      ReflectionUtil.sendPacket(player, dragon.getMetaPacket(dragon.getWatcher()), dragon.metaKey);
+      sendTeleport(dragon, player, player.getLocation());
+  }
+
+  private static void sendTeleport(FakeDragon dragon, Player player, Location playerLoc) {
+    dragon.markSent(playerLoc.getX(), playerLoc.getY(), playerLoc.getZ(), getViewBucket(playerLoc));
+    ReflectionUtil.sendPacket(player, dragon.getTeleportPacket(getDragonLocation(playerLoc)), dragon.teleportKey);
+  }
+
+  /**
+   * Shows the same bar to every online player. The watcher only holds the name and health,
+   * so it is built once and only the entity id and position are built per player.
+   */
+  private static void broadcastDragon(String message, float percent, boolean respawn) {
+    String name = cleanMessage(message);
+    Object watcher = null;
+
+    for (Player player : Bukkit.getOnlinePlayers()) {
+      if (respawn && hasBar(player))
+        removeBar(player);
+
+      FakeDragon dragon = getDragon(player, message);
+
+      dragon.name = name;
+      dragon.health = (percent / 100f) * dragon.getMaxHealth();
+
+      cancelTimer(player);
+
+      if (watcher == null)
+        watcher = dragon.getWatcher();
+
+      ReflectionUtil.sendPacket(player, dragon.getMetaPacket(watcher), dragon.metaKey);
+      sendTeleport(dragon, player, player.getLocation());
+    }
   }
 
   private static FakeDragon getDragon(Player player, String message) {
@@ -332,17 +365,12 @@ public class BarAPI implements Listener {
   }
 
   private static FakeDragon addDragon(Player player, String message) {
-    FakeDragon dragon = ReflectionUtil.newDragon(message, getDragonLocation(player.getLocation()));
-
-    ReflectionUtil.sendPacket(player, dragon.getSpawnPacket());
-
-    players.put(player.getUniqueId(), dragon);
-
-    return dragon;
+    return addDragon(player, player.getLocation(), message);
   }
 
   private static FakeDragon addDragon(Player player, Location loc, String message) {
-    FakeDragon dragon = ReflectionUtil.newDragon(message, getDragonLocation(loc));
+    FakeDragon dragon = ReflectionUtil.newDragon(message, getDragonLocation(loc.clone()));
+    dragon.markSent(loc.getX(), loc.getY(), loc.getZ(), getViewBucket(loc));
 
     ReflectionUtil.sendPacket(player, dragon.getSpawnPacket());
 
@@ -370,6 +398,20 @@ public class BarAPI implements Listener {
     return loc;
   }
 
+  /**
+   * Which dragon placement getDragonLocation picks for this view: straight down, straight up or one of the four faces
+   */
+  private static int getViewBucket(Location loc) {
+    float pitch = loc.getPitch();
+
+    if (pitch >= 55)
+      return 4;
+    if (pitch <= -55)
+      return 5;
+
+    return Math.round(loc.getYaw() / 90) & 3;
+  }
+
   private static BlockFace getDirection(Location loc) {
     float dir = Math.round(loc.getYaw() / 90);
     if (dir == -4 || dir == 0 || dir == 4)
@@ -399,17 +441,28 @@ public class BarAPI implements Listener {
       }
     }
 
-    Bukkit.getPluginManager().registerEvents(this, plugin);
+    TickProfiler.getInstance().registerEvents(this, plugin, "BarAPI");
 
     plugin.getLogger().info("Loaded");
 
     if (useSpigotHack) {
-      new BukkitRunnable() {
+      new ProfiledRunnable("barapi") {
+        private final Location scratch = new Location(null, 0, 0, 0);
+
         @Override
-        public void run() {
-          for (UUID uuid : players.keySet()) {
-            Player p = Bukkit.getPlayer(uuid);
-            ReflectionUtil.sendPacket(p, players.get(uuid).getTeleportPacket(getDragonLocation(p.getLocation())));
+        protected void tick() {
+          if (players.isEmpty())
+            return;
+
+          for (Player p : Bukkit.getOnlinePlayers()) {
+            FakeDragon dragon = players.get(p.getUniqueId());
+            if (dragon == null)
+              continue;
+
+            // Only resend once the player left the threshold or turned towards another face
+            p.getLocation(scratch);
+            if (dragon.needsResend(scratch.getX(), scratch.getY(), scratch.getZ(), getViewBucket(scratch), REPOSITION_DISTANCE_SQUARED))
+              sendTeleport(dragon, p, scratch.clone());
           }
         }
       }.runTaskTimer(plugin, 5L, 5L);
@@ -423,8 +476,8 @@ public class BarAPI implements Listener {
 
     players.clear();
 
-    for (int timerID : timers.values()) {
-      Bukkit.getScheduler().cancelTask(timerID);
+    for (TimingWheel.Timeout timer : timers.values()) {
+      timer.cancel();
     }
 
     timers.clear();
@@ -462,7 +515,7 @@ public class BarAPI implements Listener {
 
     final FakeDragon oldDragon = getDragon(player, "");
 
-    Bukkit.getScheduler().runTaskLater(plugin, new Runnable() {
+    TimingWheel.getInstance().schedule(new Runnable() {
 
       @Override
       public void run() {
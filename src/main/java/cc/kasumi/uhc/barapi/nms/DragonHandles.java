@@ -0,0 +1,83 @@
+package cc.kasumi.uhc.barapi.nms;
+
+import cc.kasumi.uhc.util.ReflectionUtil;
+
+import java.lang.invoke.MethodHandle;
+
+/**
+ * MethodHandles for the 1.8 fake dragon, resolved once instead of on every packet.
+ * Resolved lazily because the spigot hack swaps the NMS package after class load.
+ */
+final class DragonHandles {
+
+	private static DragonHandles standard;
+	private static DragonHandles spigotHack;
+
+	final MethodHandle dragonConstructor;
+	final MethodHandle setLocation;
+	final MethodHandle setInvisible;
+	final MethodHandle setCustomName;
+	final MethodHandle setHealth;
+	final MethodHandle setMotX;
+	final MethodHandle setMotY;
+	final MethodHandle setMotZ;
+	final MethodHandle getId;
+
+	final MethodHandle spawnConstructor;
+	final MethodHandle destroyConstructor;
+	final MethodHandle setDestroyIds;
+	final MethodHandle metadataConstructor;
+	final MethodHandle teleportConstructor;
+
+	final MethodHandle watcherConstructor;
+	final MethodHandle watcherAdd;
+
+	static DragonHandles get(boolean spigotHackTeleport) throws ReflectiveOperationException {
+		if (spigotHackTeleport) {
+			if (spigotHack == null) {
+				spigotHack = new DragonHandles(true);
+			}
+			return spigotHack;
+		}
+
+		if (standard == null) {
+			standard = new DragonHandles(false);
+		}
+		return standard;
+	}
+
+	private DragonHandles(boolean spigotHackTeleport) throws ReflectiveOperationException {
+		Class<?> Entity = ReflectionUtil.getCraftClass("Entity");
+		Class<?> EntityLiving = ReflectionUtil.getCraftClass("EntityLiving");
+		Class<?> EntityEnderDragon = ReflectionUtil.getCraftClass("EntityEnderDragon");
+		Class<?> DataWatcher = ReflectionUtil.getCraftClass("DataWatcher");
+
+		dragonConstructor = ReflectionUtil.findConstructor(EntityEnderDragon, ReflectionUtil.getCraftClass("World"));
+		setLocation = ReflectionUtil.findMethod(EntityEnderDragon, "setLocation", double.class, double.class, double.class, float.class, float.class);
+		setInvisible = ReflectionUtil.findMethod(EntityEnderDragon, "setInvisible", boolean.class);
+		setCustomName = ReflectionUtil.findMethod(EntityEnderDragon, "setCustomName", String.class);
+		setHealth = ReflectionUtil.findMethod(EntityEnderDragon, "setHealth", float.class);
+		setMotX = ReflectionUtil.findSetter(Entity, "motX");
+		setMotY = ReflectionUtil.findSetter(Entity, "motY");
+		setMotZ = ReflectionUtil.findSetter(Entity, "motZ");
+		getId = ReflectionUtil.findMethod(EntityEnderDragon, "getId");
+
+		spawnConstructor = ReflectionUtil.findConstructor(ReflectionUtil.getCraftClass("PacketPlayOutSpawnEntityLiving"), EntityLiving);
+
+		Class<?> PacketPlayOutEntityDestroy = ReflectionUtil.getCraftClass("PacketPlayOutEntityDestroy");
+		destroyConstructor = ReflectionUtil.findConstructor(PacketPlayOutEntityDestroy);
+		setDestroyIds = ReflectionUtil.findSetter(PacketPlayOutEntityDestroy, "a");
+
+		metadataConstructor = ReflectionUtil.findConstructor(ReflectionUtil.getCraftClass("PacketPlayOutEntityMetadata"), int.class, DataWatcher, boolean.class);
+
+		Class<?> PacketPlayOutEntityTeleport = ReflectionUtil.getCraftClass("PacketPlayOutEntityTeleport");
+		if (spigotHackTeleport) {
+			teleportConstructor = ReflectionUtil.findConstructor(PacketPlayOutEntityTeleport, int.class, int.class, int.class, int.class, byte.class, byte.class, boolean.class, boolean.class);
+		} else {
+			teleportConstructor = ReflectionUtil.findConstructor(PacketPlayOutEntityTeleport, int.class, int.class, int.class, int.class, byte.class, byte.class, boolean.class);
+		}
+
+		watcherConstructor = ReflectionUtil.findConstructor(DataWatcher, Entity);
+		watcherAdd = ReflectionUtil.findMethod(DataWatcher, "a", int.class, Object.class);
+	}
+}
@@ -20,6 +20,16 @@ public abstract class FakeDragon {
 	public String name;
 	private Object world;
 
+	// Outbox coalesce keys, only the latest queued meta/teleport for this dragon is written
+	public final Object metaKey = new Object();
+	public final Object teleportKey = new Object();
+
+	// Player position and view bucket the last teleport was built from
+	private double lastSentX;
+	private double lastSentY;
+	private double lastSentZ;
+	private int lastSentView = -1;
+
 	public FakeDragon(String name, Location loc, int percent) {
 		this.name = name;
 		this.x = loc.getBlockX();
@@ -133,6 +143,27 @@ public abstract class FakeDragon {
 		maxHealth = max;
 	}
 
+	public void markSent(double x, double y, double z, int view) {
+		this.lastSentX = x;
+		this.lastSentY = y;
+		this.lastSentZ = z;
+		this.lastSentView = view;
+	}
+
+	/**
+	 * @return true if the player turned into another view bucket or moved further than the threshold
+	 */
+	public boolean needsResend(double x, double y, double z, int view, double distanceSquared) {
+		if (view != lastSentView) {
+			return true;
+		}
+
+		double dx = x - lastSentX;
+		double dy = y - lastSentY;
+		double dz = z - lastSentZ;
+		return dx * dx + dy * dy + dz * dz > distanceSquared;
+	}
+
 	public abstract Object getSpawnPacket();
 
 	public abstract Object getDestroyPacket();
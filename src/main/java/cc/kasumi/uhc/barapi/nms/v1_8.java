@@ -1,11 +1,8 @@
 package cc.kasumi.uhc.barapi.nms;
 
-import cc.kasumi.uhc.util.ReflectionUtil;
 import org.bukkit.Location;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
 
 public class v1_8 extends FakeDragon {
 	private Object dragon;
@@ -17,52 +14,26 @@ public class v1_8 extends FakeDragon {
 
 	@Override
 	public Object getSpawnPacket() {
-		Class<?> Entity = ReflectionUtil.getCraftClass("Entity");
-		Class<?> EntityLiving = ReflectionUtil.getCraftClass("EntityLiving");
-		Class<?> EntityEnderDragon = ReflectionUtil.getCraftClass("EntityEnderDragon");
 		Object packet = null;
-		
-		try {
-			dragon = EntityEnderDragon.getConstructor(ReflectionUtil.getCraftClass("World")).newInstance(getWorld());
-
-			Method setLocation = ReflectionUtil.getMethod(EntityEnderDragon, "setLocation", new Class<?>[] { double.class, double.class, double.class, float.class, float.class });
-			setLocation.invoke(dragon, getX(), getY(), getZ(), getPitch(), getYaw());
-
-			Method setInvisible = ReflectionUtil.getMethod(EntityEnderDragon, "setInvisible", new Class<?>[] { boolean.class });
-			setInvisible.invoke(dragon, true);
-
-			Method setCustomName = ReflectionUtil.getMethod(EntityEnderDragon, "setCustomName", new Class<?>[] { String.class });
-			setCustomName.invoke(dragon, name);
-
-			Method setHealth = ReflectionUtil.getMethod(EntityEnderDragon, "setHealth", new Class<?>[] { float.class });
-			setHealth.invoke(dragon, health);
 
-			Field motX = ReflectionUtil.getField(Entity, "motX");
-			motX.set(dragon, getXvel());
+		try {
+			DragonHandles handles = DragonHandles.get(false);
 
-			Field motY = ReflectionUtil.getField(Entity, "motY");
-			motY.set(dragon, getYvel());
+			dragon = handles.dragonConstructor.invoke(getWorld());
 
-			Field motZ = ReflectionUtil.getField(Entity, "motZ");
-			motZ.set(dragon, getZvel());
+			handles.setLocation.invoke(dragon, getX(), getY(), getZ(), getPitch(), getYaw());
+			handles.setInvisible.invoke(dragon, true);
+			handles.setCustomName.invoke(dragon, name);
+			handles.setHealth.invoke(dragon, health);
 
-			Method getId = ReflectionUtil.getMethod(EntityEnderDragon, "getId", new Class<?>[] {});
-			this.id = (Integer) getId.invoke(dragon);
+			handles.setMotX.invoke(dragon, getXvel());
+			handles.setMotY.invoke(dragon, getYvel());
+			handles.setMotZ.invoke(dragon, getZvel());
 
-			Class<?> PacketPlayOutSpawnEntityLiving = ReflectionUtil.getCraftClass("PacketPlayOutSpawnEntityLiving");
+			this.id = (int) handles.getId.invoke(dragon);
 
-			packet = PacketPlayOutSpawnEntityLiving.getConstructor(new Class<?>[] { EntityLiving }).newInstance(dragon);
-		} catch (IllegalArgumentException e) {
-			e.printStackTrace();
-		} catch (SecurityException e) {
-			e.printStackTrace();
-		} catch (InstantiationException e) {
-			e.printStackTrace();
-		} catch (IllegalAccessException e) {
-			e.printStackTrace();
-		} catch (InvocationTargetException e) {
-			e.printStackTrace();
-		} catch (NoSuchMethodException e) {
+			packet = handles.spawnConstructor.invoke(dragon);
+		} catch (Throwable e) {
 			e.printStackTrace();
 		}
 
@@ -71,23 +42,14 @@ public class v1_8 extends FakeDragon {
 
 	@Override
 	public Object getDestroyPacket() {
-		Class<?> PacketPlayOutEntityDestroy = ReflectionUtil.getCraftClass("PacketPlayOutEntityDestroy");
-
 		Object packet = null;
+
 		try {
-			packet = PacketPlayOutEntityDestroy.newInstance();
-			Field a = PacketPlayOutEntityDestroy.getDeclaredField("a");
-			a.setAccessible(true);
-			a.set(packet, new int[] { id });
-		} catch (SecurityException e) {
-			e.printStackTrace();
-		} catch (NoSuchFieldException e) {
-			e.printStackTrace();
-		} catch (InstantiationException e) {
-			e.printStackTrace();
-		} catch (IllegalAccessException e) {
-			e.printStackTrace();
-		} catch (IllegalArgumentException e) {
+			DragonHandles handles = DragonHandles.get(false);
+
+			packet = handles.destroyConstructor.invoke();
+			handles.setDestroyIds.invoke(packet, new int[] { id });
+		} catch (Throwable e) {
 			e.printStackTrace();
 		}
 
@@ -96,24 +58,11 @@ public class v1_8 extends FakeDragon {
 
 	@Override
 	public Object getMetaPacket(Object watcher) {
-		Class<?> DataWatcher = ReflectionUtil.getCraftClass("DataWatcher");
-
-		Class<?> PacketPlayOutEntityMetadata = ReflectionUtil.getCraftClass("PacketPlayOutEntityMetadata");
-
 		Object packet = null;
+
 		try {
-			packet = PacketPlayOutEntityMetadata.getConstructor(new Class<?>[] { int.class, DataWatcher, boolean.class }).newInstance(id, watcher, true);
-		} catch (IllegalArgumentException e) {
-			e.printStackTrace();
-		} catch (SecurityException e) {
-			e.printStackTrace();
-		} catch (InstantiationException e) {
-			e.printStackTrace();
-		} catch (IllegalAccessException e) {
-			e.printStackTrace();
-		} catch (InvocationTargetException e) {
-			e.printStackTrace();
-		} catch (NoSuchMethodException e) {
+			packet = DragonHandles.get(false).metadataConstructor.invoke(id, watcher, true);
+		} catch (Throwable e) {
 			e.printStackTrace();
 		}
 
@@ -122,22 +71,12 @@ public class v1_8 extends FakeDragon {
 
 	@Override
 	public Object getTeleportPacket(Location loc) {
-		Class<?> PacketPlayOutEntityTeleport = ReflectionUtil.getCraftClass("PacketPlayOutEntityTeleport");
 		Object packet = null;
 
 		try {
-			packet = PacketPlayOutEntityTeleport.getConstructor(new Class<?>[] { int.class, int.class, int.class, int.class, byte.class, byte.class, boolean.class }).newInstance(this.id, loc.getBlockX() * 32, loc.getBlockY() * 32, loc.getBlockZ() * 32, (byte) ((int) loc.getYaw() * 256 / 360), (byte) ((int) loc.getPitch() * 256 / 360), false);
-		} catch (IllegalArgumentException e) {
-			e.printStackTrace();
-		} catch (SecurityException e) {
-			e.printStackTrace();
-		} catch (InstantiationException e) {
-			e.printStackTrace();
-		} catch (IllegalAccessException e) {
-			e.printStackTrace();
-		} catch (InvocationTargetException e) {
-			e.printStackTrace();
-		} catch (NoSuchMethodException e) {
+			packet = DragonHandles.get(false).teleportConstructor.invoke(this.id, loc.getBlockX() * 32, loc.getBlockY() * 32, loc.getBlockZ() * 32,
+					(byte) ((int) loc.getYaw() * 256 / 360), (byte) ((int) loc.getPitch() * 256 / 360), false);
+		} catch (Throwable e) {
 			e.printStackTrace();
 		}
 
@@ -146,13 +85,13 @@ public class v1_8 extends FakeDragon {
 
 	@Override
 	public Object getWatcher() {
-		Class<?> Entity = ReflectionUtil.getCraftClass("Entity");
-		Class<?> DataWatcher = ReflectionUtil.getCraftClass("DataWatcher");
-
 		Object watcher = null;
+
 		try {
-			watcher = DataWatcher.getConstructor(new Class<?>[] { Entity }).newInstance(dragon);
-			Method a = ReflectionUtil.getMethod(DataWatcher, "a", new Class<?>[] { int.class, Object.class });
+			DragonHandles handles = DragonHandles.get(false);
+
+			watcher = handles.watcherConstructor.invoke(dragon);
+			MethodHandle a = handles.watcherAdd;
 
 			a.invoke(watcher, 5, isVisible() ? (byte) 0 : (byte) 0x20);
 			a.invoke(watcher, 6, (Float) health);
@@ -160,17 +99,7 @@ public class v1_8 extends FakeDragon {
 			a.invoke(watcher, 8, (Byte) (byte) 0);
 			a.invoke(watcher, 10, name);
 			a.invoke(watcher, 11, (Byte) (byte) 1);
-		} catch (IllegalArgumentException e) {
-			e.printStackTrace();
-		} catch (SecurityException e) {
-			e.printStackTrace();
-		} catch (InstantiationException e) {
-			e.printStackTrace();
-		} catch (IllegalAccessException e) {
-			e.printStackTrace();
-		} catch (InvocationTargetException e) {
-			e.printStackTrace();
-		} catch (NoSuchMethodException e) {
+		} catch (Throwable e) {
 			e.printStackTrace();
 		}
 
@@ -0,0 +1,158 @@
+package cc.kasumi.uhc.combatlog;
+
+import cc.kasumi.commons.util.ItemStackUtil;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Resolves 1.8 melee damage against a combat log proxy,
+ * which has no server entity for vanilla to apply the hit to
+ */
+public class CombatLogDamageCalculator {
+
+    private static final Map<Material, Double> WEAPON_DAMAGE = new EnumMap<>(Material.class);
+    private static final Map<Material, Integer> ARMOR_POINTS = new EnumMap<>(Material.class);
+
+    static {
+        weapon(5, Material.WOOD_SWORD, Material.GOLD_SWORD);
+        weapon(6, Material.STONE_SWORD);
+        weapon(7, Material.IRON_SWORD);
+        weapon(8, Material.DIAMOND_SWORD);
+        weapon(4, Material.WOOD_AXE, Material.GOLD_AXE);
+        weapon(5, Material.STONE_AXE);
+        weapon(6, Material.IRON_AXE);
+        weapon(7, Material.DIAMOND_AXE);
+        weapon(3, Material.WOOD_PICKAXE, Material.GOLD_PICKAXE);
+        weapon(4, Material.STONE_PICKAXE);
+        weapon(5, Material.IRON_PICKAXE);
+        weapon(6, Material.DIAMOND_PICKAXE);
+        weapon(2, Material.WOOD_SPADE, Material.GOLD_SPADE);
+        weapon(3, Material.STONE_SPADE);
+        weapon(4, Material.IRON_SPADE);
+        weapon(5, Material.DIAMOND_SPADE);
+
+        armor(Material.LEATHER_HELMET, 1, Material.LEATHER_CHESTPLATE, 3, Material.LEATHER_LEGGINGS, 2, Material.LEATHER_BOOTS, 1);
+        armor(Material.GOLD_HELMET, 2, Material.GOLD_CHESTPLATE, 5, Material.GOLD_LEGGINGS, 3, Material.GOLD_BOOTS, 1);
+        armor(Material.CHAINMAIL_HELMET, 2, Material.CHAINMAIL_CHESTPLATE, 5, Material.CHAINMAIL_LEGGINGS, 4, Material.CHAINMAIL_BOOTS, 1);
+        armor(Material.IRON_HELMET, 2, Material.IRON_CHESTPLATE, 6, Material.IRON_LEGGINGS, 5, Material.IRON_BOOTS, 2);
+        armor(Material.DIAMOND_HELMET, 3, Material.DIAMOND_CHESTPLATE, 8, Material.DIAMOND_LEGGINGS, 6, Material.DIAMOND_BOOTS, 3);
+    }
+
+    private CombatLogDamageCalculator() {
+    }
+
+    /**
+     * Calculates the damage a melee hit from the attacker deals to the given armor, following 1.8's
+     * EntityHuman.attack and EntityLiving damage reduction
+     */
+    public static double calculateDamage(Player attacker, ItemStack[] armorContents) {
+        ItemStack hand = attacker.getItemInHand();
+        boolean hasWeapon = !ItemStackUtil.isNullOrAir(hand);
+
+        // Attack damage attribute: weapon and weakness add, strength multiplies the total
+        double damage = hasWeapon ? WEAPON_DAMAGE.getOrDefault(hand.getType(), 1.0D) : 1.0D;
+        double multiplier = 1.0D;
+
+        for (PotionEffect effect : attacker.getActivePotionEffects()) {
+            if (effect.getType().equals(PotionEffectType.INCREASE_DAMAGE)) {
+                multiplier += 1.3D * (effect.getAmplifier() + 1);
+            } else if (effect.getType().equals(PotionEffectType.WEAKNESS)) {
+                damage -= 0.5D * (effect.getAmplifier() + 1);
+            }
+        }
+
+        damage = Math.max(0.0D, damage * multiplier);
+        double enchantDamage = hasWeapon ? hand.getEnchantmentLevel(Enchantment.DAMAGE_ALL) * 1.25D : 0.0D;
+
+        if (damage <= 0.0D && enchantDamage <= 0.0D) {
+            return 0.0D;
+        }
+
+        // Critical hits only boost the attribute damage, not sharpness
+        if (damage > 0.0D && isCritical(attacker)) {
+            damage *= 1.5D;
+        }
+
+        return Math.max(0.0D, applyArmor(damage + enchantDamage, armorContents));
+    }
+
+    private static boolean isCritical(Player attacker) {
+        Material feet = attacker.getLocation().getBlock().getType();
+
+        return attacker.getFallDistance() > 0.0F && !attacker.isOnGround()
+                && feet != Material.LADDER && feet != Material.VINE
+                && feet != Material.WATER && feet != Material.STATIONARY_WATER
+                && !attacker.hasPotionEffect(PotionEffectType.BLINDNESS)
+                && !attacker.isInsideVehicle();
+    }
+
+    private static double applyArmor(double damage, ItemStack[] armorContents) {
+        if (armorContents == null) {
+            return damage;
+        }
+
+        int points = 0;
+
+        for (ItemStack piece : armorContents) {
+            if (ItemStackUtil.isNullOrAir(piece)) continue;
+
+            points += ARMOR_POINTS.getOrDefault(piece.getType(), 0);
+        }
+
+        // Each armor point blocks 4%
+        damage *= 1.0D - Math.min(20, points) * 0.04D;
+
+        return applyProtection(damage, armorContents);
+    }
+
+    /**
+     * Vanilla enchantment protection against an attack: each Protection piece adds
+     * floor((6 + level²) / 3 * 0.75) EPF, the sum is capped at 25, rolled down to 50 - 100%,
+     * capped at 20 and every point blocks 4%
+     */
+    private static double applyProtection(double damage, ItemStack[] armorContents) {
+        if (damage <= 0.0D || armorContents == null) {
+            return damage;
+        }
+
+        int epf = 0;
+        for (ItemStack piece : armorContents) {
+            if (ItemStackUtil.isNullOrAir(piece)) continue;
+
+            int level = piece.getEnchantmentLevel(Enchantment.PROTECTION_ENVIRONMENTAL);
+            if (level > 0) {
+                epf += (int) Math.floor((6 + level * level) / 3.0F * 0.75F);
+            }
+        }
+
+        if (epf <= 0) {
+            return damage;
+        }
+
+        epf = Math.min(25, epf);
+        epf = (epf + 1 >> 1) + ThreadLocalRandom.current().nextInt((epf >> 1) + 1);
+        epf = Math.min(20, epf);
+
+        return damage * (25 - epf) / 25.0D;
+    }
+
+    private static void weapon(double damage, Material... materials) {
+        for (Material material : materials) {
+            WEAPON_DAMAGE.put(material, damage);
+        }
+    }
+
+    private static void armor(Object... pairs) {
+        for (int i = 0; i < pairs.length; i += 2) {
+            ARMOR_POINTS.put((Material) pairs[i], (Integer) pairs[i + 1]);
+        }
+    }
+}
@@ -1,12 +1,12 @@
 package cc.kasumi.uhc.combatlog;
 
 import cc.kasumi.uhc.inventory.CachedInventory;
+import cc.kasumi.uhc.util.TimingWheel;
 import lombok.Getter;
 import lombok.Setter;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.UUID;
 
@@ -15,7 +15,7 @@ public class CombatLogPlayer {
 
     private final UUID uuid;
     private final CachedInventory cachedInventory;
-    private final BukkitTask bukkitTask;
+    private final TimingWheel.Timeout timeoutTask;
 
     @Setter
     private Location location;
@@ -23,11 +23,11 @@ public class CombatLogPlayer {
     @Setter
     private boolean moved = false;
 
-    public CombatLogPlayer(UUID uuid, Player player, Location location, BukkitTask bukkitTask) {
+    public CombatLogPlayer(UUID uuid, Player player, Location location, TimingWheel.Timeout timeoutTask) {
         this.uuid = uuid;
         this.cachedInventory = new CachedInventory(player);
         this.location = location;
-        this.bukkitTask = bukkitTask;
+        this.timeoutTask = timeoutTask;
     }
 
     public Player getPlayer() {
@@ -0,0 +1,180 @@
+package cc.kasumi.uhc.combatlog;
+
+import cc.kasumi.uhc.UHC;
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.ProtocolManager;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.wrappers.WrappedDataWatcher;
+import lombok.Getter;
+import lombok.Setter;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Client-side only villager standing in for a combat logged player.
+ * Nothing is spawned on the server, the villager only exists in packets sent to nearby players.
+ * Only melee hits are resolved, ranged, splash and fire damage need a real entity and don't apply.
+ */
+@Getter
+public class CombatLogProxy {
+
+    private static final int VILLAGER_TYPE_ID = 120;
+    private static final byte STATUS_HURT = 2;
+
+    private final int entityId;
+    private final CombatLogPlayer combatLogPlayer;
+    private final Set<UUID> viewers = new HashSet<>();
+
+    @Setter
+    private double health;
+
+    @Setter
+    private long lastDamageTick = -1;
+
+    public CombatLogProxy(int entityId, CombatLogPlayer combatLogPlayer, double health) {
+        this.entityId = entityId;
+        this.combatLogPlayer = combatLogPlayer;
+        this.health = health;
+    }
+
+    public Location getLocation() {
+        return combatLogPlayer.getLocation();
+    }
+
+    public boolean isViewer(Player player) {
+        return viewers.contains(player.getUniqueId());
+    }
+
+    public void show(Player player, String name) {
+        if (viewers.add(player.getUniqueId())) {
+            send(player, createSpawnPacket(name));
+        }
+    }
+
+    /**
+     * Drops the player as a viewer without a destroy packet, for when their client already lost the entity
+     * (respawn, world change or quit), so the tracker spawns it again
+     */
+    public void forget(Player player) {
+        viewers.remove(player.getUniqueId());
+    }
+
+    public void hide(Player player) {
+        if (viewers.remove(player.getUniqueId())) {
+            send(player, createDestroyPacket());
+        }
+    }
+
+    public void hideFromAll() {
+        PacketContainer destroy = createDestroyPacket();
+
+        for (UUID uuid : viewers) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null) {
+                send(player, destroy);
+            }
+        }
+
+        viewers.clear();
+    }
+
+    /**
+     * Resends the spawn packet to current viewers, used after a relocation
+     */
+    public void respawnForViewers(String name) {
+        PacketContainer destroy = createDestroyPacket();
+        PacketContainer spawn = createSpawnPacket(name);
+
+        for (UUID uuid : viewers) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null) {
+                send(player, destroy);
+                send(player, spawn);
+            }
+        }
+    }
+
+    public void updateName(String name) {
+        PacketContainer metadata = getProtocolManager().createPacket(PacketType.Play.Server.ENTITY_METADATA);
+        metadata.getIntegers().write(0, entityId);
+        metadata.getWatchableCollectionModifier().write(0, createWatcher(name).getWatchableObjects());
+
+        broadcast(metadata);
+    }
+
+    public void playHurtEffect() {
+        PacketContainer status = getProtocolManager().createPacket(PacketType.Play.Server.ENTITY_STATUS);
+        status.getIntegers().write(0, entityId);
+        status.getBytes().write(0, STATUS_HURT);
+
+        broadcast(status);
+    }
+
+    private void broadcast(PacketContainer packet) {
+        for (UUID uuid : viewers) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null) {
+                send(player, packet);
+            }
+        }
+    }
+
+    private PacketContainer createSpawnPacket(String name) {
+        Location location = getLocation();
+        PacketContainer spawn = getProtocolManager().createPacket(PacketType.Play.Server.SPAWN_ENTITY_LIVING);
+
+        spawn.getIntegers()
+                .write(0, entityId)
+                .write(1, VILLAGER_TYPE_ID)
+                .write(2, (int) Math.floor(location.getX() * 32.0D))
+                .write(3, (int) Math.floor(location.getY() * 32.0D))
+                .write(4, (int) Math.floor(location.getZ() * 32.0D));
+
+        byte yaw = (byte) (location.getYaw() * 256.0F / 360.0F);
+        spawn.getBytes()
+                .write(0, yaw)
+                .write(1, (byte) (location.getPitch() * 256.0F / 360.0F))
+                .write(2, yaw);
+
+        spawn.getDataWatcherModifier().write(0, createWatcher(name));
+        return spawn;
+    }
+
+    private PacketContainer createDestroyPacket() {
+        PacketContainer destroy = getProtocolManager().createPacket(PacketType.Play.Server.ENTITY_DESTROY);
+        destroy.getIntegerArrays().write(0, new int[]{entityId});
+        return destroy;
+    }
+
+    private WrappedDataWatcher createWatcher(String name) {
+        WrappedDataWatcher watcher = new WrappedDataWatcher();
+
+        // 1.8 metadata indices: flags, air, custom name, name visible, health, no AI, profession
+        watcher.setObject(0, (byte) 0);
+        watcher.setObject(1, (short) 300);
+        watcher.setObject(2, name);
+        watcher.setObject(3, (byte) 1);
+        watcher.setObject(6, (float) Math.max(1.0D, health));
+        watcher.setObject(15, (byte) 1);
+        watcher.setObject(16, 0);
+
+        return watcher;
+    }
+
+    private void send(Player player, PacketContainer packet) {
+        try {
+            getProtocolManager().sendServerPacket(player, packet);
+        } catch (Exception e) {
+            UHC.getInstance().getLogger().warning("Failed to send combat log proxy packet to " + player.getName() + ": " + e.getMessage());
+        }
+    }
+
+    private ProtocolManager getProtocolManager() {
+        return UHC.getProtocolManager();
+    }
+}
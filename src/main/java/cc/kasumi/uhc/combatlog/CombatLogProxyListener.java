@@ -0,0 +1,55 @@
+package cc.kasumi.uhc.combatlog;
+
+import cc.kasumi.uhc.UHC;
+import cc.kasumi.uhc.util.TickProfiler;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+
+/**
+ * Forgets combat log proxy viewers whose client dropped the fake entity, so the tracker spawns it again
+ */
+public class CombatLogProxyListener implements Listener {
+
+    private final CombatLogVillagerManager combatLogVillagerManager;
+
+    public CombatLogProxyListener(CombatLogVillagerManager combatLogVillagerManager) {
+        this.combatLogVillagerManager = combatLogVillagerManager;
+    }
+
+    public void start() {
+        TickProfiler.getInstance().registerEvents(this, UHC.getInstance(), "CombatLogProxyListener");
+    }
+
+    public void stop() {
+        HandlerList.unregisterAll(this);
+    }
+
+    // The client throws away every entity on respawn, world change and quit
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(PlayerRespawnEvent event) {
+        forget(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        forget(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        forget(event.getPlayer());
+    }
+
+    private void forget(Player player) {
+        for (CombatLogProxy proxy : combatLogVillagerManager.getCombatLogProxies().values()) {
+            proxy.forget(player);
+        }
+    }
+}
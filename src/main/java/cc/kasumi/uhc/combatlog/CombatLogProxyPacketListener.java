@@ -0,0 +1,43 @@
+package cc.kasumi.uhc.combatlog;
+
+import cc.kasumi.uhc.UHC;
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.events.ListenerPriority;
+import com.comphenix.protocol.events.PacketAdapter;
+import com.comphenix.protocol.events.PacketEvent;
+import com.comphenix.protocol.wrappers.EnumWrappers;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+/**
+ * Picks up attacks on combat log proxies from use-entity packets.
+ * Runs on the netty thread, so hits are handed back to the main thread.
+ */
+public class CombatLogProxyPacketListener extends PacketAdapter {
+
+    private final CombatLogVillagerManager combatLogVillagerManager;
+
+    public CombatLogProxyPacketListener(CombatLogVillagerManager combatLogVillagerManager) {
+        super(UHC.getInstance(), ListenerPriority.NORMAL, PacketType.Play.Client.USE_ENTITY);
+        this.combatLogVillagerManager = combatLogVillagerManager;
+    }
+
+    @Override
+    public void onPacketReceiving(PacketEvent event) {
+        int entityId = event.getPacket().getIntegers().read(0);
+        CombatLogProxy proxy = combatLogVillagerManager.getCombatLogProxies().get(entityId);
+
+        if (proxy == null) {
+            return;
+        }
+
+        event.setCancelled(true);
+
+        if (event.getPacket().getEntityUseActions().read(0) != EnumWrappers.EntityUseAction.ATTACK) {
+            return;
+        }
+
+        Player attacker = event.getPlayer();
+        Bukkit.getScheduler().runTask(UHC.getInstance(), () -> combatLogVillagerManager.handleProxyAttack(attacker, proxy));
+    }
+}
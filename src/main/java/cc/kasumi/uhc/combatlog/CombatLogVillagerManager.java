@@ -2,33 +2,61 @@ package cc.kasumi.uhc.combatlog;
 
 import cc.kasumi.commons.util.ItemStackUtil;
 import cc.kasumi.uhc.UHC;
+import cc.kasumi.uhc.combatlog.task.CombatLogProxyTrackerTask;
 import cc.kasumi.uhc.combatlog.task.CombatLogVillagerTask;
 import cc.kasumi.uhc.game.Game;
 import cc.kasumi.uhc.inventory.CachedInventory;
+import cc.kasumi.uhc.player.PlayerState;
 import cc.kasumi.uhc.player.UHCPlayer;
 import cc.kasumi.uhc.util.GameUtil;
+import cc.kasumi.uhc.util.ReflectionUtil;
+import cc.kasumi.uhc.util.TickCounter;
+import cc.kasumi.uhc.util.TimingWheel;
 import lombok.Getter;
 import lombok.Setter;
 import org.bukkit.*;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Villager;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
 import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.util.Vector;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Getter
 public class CombatLogVillagerManager {
 
     private static final int COMBAT_LOG_TIMEOUT_SECONDS = 180; // 3 minutes
     private static final double VILLAGER_MAX_HEALTH = 20.0D;
+    private static final long PROXY_TRACKER_INTERVAL_TICKS = 10L;
+    private static final int PROXY_NO_DAMAGE_TICKS = 10;
+    private static final double PROXY_MAX_REACH_SQUARED = 6.0D * 6.0D;
 
     private final Map<Villager, CombatLogPlayer> combatLogVillagers = new HashMap<>();
     private final Set<Chunk> combatLogVillagerChunks = new HashSet<>();
     private final Game game;
 
+    // Proxy mode - read from the netty thread by the use-entity listener
+    private final Map<Integer, CombatLogProxy> combatLogProxies = new ConcurrentHashMap<>();
+    private final Map<UUID, CombatLogProxy> combatLogProxiesByPlayer = new HashMap<>();
+    private int nextProxyEntityId = Integer.MAX_VALUE; // counts down, far away from real entity ids
+
+    // Proxies only take melee hits from use-entity packets, arrows, splash potions and fire pass through them
     @Setter
-    private BukkitTask positionCheckTask;
+    private boolean proxyMode = false;
+
+    private BukkitTask proxyTrackerTask;
+
+    // Villagers hit this tick, their knockback is cleared by one timing wheel flush next tick
+    private final Set<Villager> knockedBackVillagers = new HashSet<>();
+    private TimingWheel.Timeout knockbackFlush;
+    private final Runnable knockbackFlushTask = this::clearKnockback;
+    private CombatLogProxyPacketListener proxyPacketListener;
+    private CombatLogProxyListener proxyListener;
 
     public CombatLogVillagerManager(Game game) {
         this.game = game;
@@ -38,12 +66,17 @@ public class CombatLogVillagerManager {
      * Spawns a combat log villager when a player disconnects during active gameplay
      */
     public void spawnCombatLogVillager(UUID playerUUID, Player player) {
+        if (proxyMode) {
+            spawnCombatLogProxy(playerUUID, player);
+            return;
+        }
+
         Location spawnLocation = player.getLocation().clone();
         Chunk playerChunk = spawnLocation.getChunk();
 
         Villager villager = createVillager(spawnLocation);
 
-        BukkitTask timeoutTask = createTimeoutTask(playerUUID);
+        TimingWheel.Timeout timeoutTask = createTimeoutTask(playerUUID);
         CombatLogPlayer combatLogPlayer = new CombatLogPlayer(playerUUID, player, spawnLocation, timeoutTask);
 
         updateVillagerHealthBar(villager, combatLogPlayer, villager.getHealth());
@@ -56,6 +89,12 @@ public class CombatLogVillagerManager {
      * Removes combat log villager when player rejoins (without killing)
      */
     public void deSpawnCombatLogVillager(UUID playerUUID) {
+        CombatLogProxy proxy = combatLogProxiesByPlayer.get(playerUUID);
+        if (proxy != null) {
+            removeCombatLogProxy(proxy, false);
+            return;
+        }
+
         CombatLogEntry entry = findCombatLogEntry(playerUUID);
         if (entry == null) return;
 
@@ -66,6 +105,13 @@ public class CombatLogVillagerManager {
      * Removes and kills combat log villager (drops items, removes from game)
      */
     public void deSpawnAndKillCombatLogVillager(UUID playerUUID) {
+        CombatLogProxy proxy = combatLogProxiesByPlayer.get(playerUUID);
+        if (proxy != null) {
+            removeCombatLogProxy(proxy, true);
+            game.removePlayer(playerUUID);
+            return;
+        }
+
         CombatLogEntry entry = findCombatLogEntry(playerUUID);
         if (entry == null) return;
 
@@ -77,8 +123,8 @@ public class CombatLogVillagerManager {
      * Handles when a combat log villager is killed by another player or entity
      */
     public void killCombatLogVillager(Villager villager, CombatLogPlayer combatLogPlayer) {
-        combatLogPlayer.getBukkitTask().cancel();
-        dropCombatLogItems(villager, combatLogPlayer);
+        combatLogPlayer.getTimeoutTask().cancel();
+        dropCombatLogItems(villager.getLocation(), combatLogPlayer);
 
         combatLogVillagers.remove(villager);
         combatLogVillagerChunks.remove(villager.getLocation().getChunk());
@@ -106,6 +152,19 @@ public class CombatLogVillagerManager {
         return combatLogVillagers.get(villager);
     }
 
+    /**
+     * Gets the combat log player data for a player UUID, in either villager or proxy mode
+     */
+    public CombatLogPlayer getCombatLogPlayer(UUID playerUUID) {
+        CombatLogProxy proxy = combatLogProxiesByPlayer.get(playerUUID);
+        if (proxy != null) {
+            return proxy.getCombatLogPlayer();
+        }
+
+        CombatLogEntry entry = findCombatLogEntry(playerUUID);
+        return entry != null ? entry.getCombatLogPlayer() : null;
+    }
+
     /**
      * Finds a combat log entry by player UUID
      */
@@ -143,10 +202,188 @@ public class CombatLogVillagerManager {
      * Handles border shrinking by teleporting any villagers outside the border
      */
     public void handleBorderShrink(WorldBorder worldBorder, World world) {
+        // Proxies have no entity, so relocating them is just a location update
+        relocateProxiesOutsideBorder();
+
         // Use progressive teleportation to prevent lag
         GameUtil.startProgressiveBorderTeleport(world, this);
     }
 
+    // Proxy mode
+
+    /**
+     * Resolves a melee hit on a combat log proxy against the cached health of the logged out player
+     */
+    public void handleProxyAttack(Player attacker, CombatLogProxy proxy) {
+        if (!canDamageProxy(attacker, proxy)) {
+            return;
+        }
+
+        Location location = proxy.getLocation();
+        if (attacker.getWorld() != location.getWorld() || attacker.getLocation().distanceSquared(location) > PROXY_MAX_REACH_SQUARED) {
+            return;
+        }
+
+        ItemStack[] armor = proxy.getCombatLogPlayer().getCachedInventory().getArmorContents();
+        damageProxy(proxy, CombatLogDamageCalculator.calculateDamage(attacker, armor));
+    }
+
+    private boolean canDamageProxy(Player attacker, CombatLogProxy proxy) {
+        if (!attacker.isOnline() || !combatLogProxies.containsKey(proxy.getEntityId())) {
+            return false;
+        }
+
+        if (!game.isPvpEnabled()) {
+            return false;
+        }
+
+        UHCPlayer attackerData = game.getUHCPlayer(attacker.getUniqueId());
+        if (attackerData == null || attackerData.getState() != PlayerState.ALIVE) {
+            return false;
+        }
+
+        UUID victimUUID = proxy.getCombatLogPlayer().getUuid();
+        return game.getTeamManager() == null || !game.getTeamManager().shouldPreventFriendlyFire(attacker.getUniqueId(), victimUUID);
+    }
+
+    /**
+     * Applies damage to the proxy's cached health, respecting no-damage ticks
+     */
+    private void damageProxy(CombatLogProxy proxy, double damage) {
+        if (!combatLogProxies.containsKey(proxy.getEntityId())) {
+            return;
+        }
+
+        long currentTick = TickCounter.getInstance().getCurrentTick();
+        if (proxy.getLastDamageTick() >= 0 && currentTick - proxy.getLastDamageTick() < PROXY_NO_DAMAGE_TICKS) {
+            return;
+        }
+        proxy.setLastDamageTick(currentTick);
+
+        double newHealth = Math.max(0, proxy.getHealth() - damage);
+        proxy.setHealth(newHealth);
+        proxy.playHurtEffect();
+
+        if (newHealth <= 0) {
+            killCombatLogProxy(proxy);
+            return;
+        }
+
+        proxy.updateName(formatHealthName(proxy.getCombatLogPlayer(), newHealth));
+    }
+
+    /**
+     * Removes every proxy, used when the game is cleaned up
+     */
+    public void removeAllCombatLogProxies() {
+        for (CombatLogProxy proxy : new ArrayList<>(combatLogProxies.values())) {
+            removeCombatLogProxy(proxy, false);
+        }
+    }
+
+    private void spawnCombatLogProxy(UUID playerUUID, Player player) {
+        TimingWheel.Timeout timeoutTask = createTimeoutTask(playerUUID);
+        CombatLogPlayer combatLogPlayer = new CombatLogPlayer(playerUUID, player, player.getLocation().clone(), timeoutTask);
+
+        double health = combatLogPlayer.getCachedInventory().getHealth();
+        CombatLogProxy proxy = new CombatLogProxy(nextProxyEntityId--, combatLogPlayer, health);
+
+        combatLogProxies.put(proxy.getEntityId(), proxy);
+        combatLogProxiesByPlayer.put(playerUUID, proxy);
+
+        startProxyTracking();
+    }
+
+    private void killCombatLogProxy(CombatLogProxy proxy) {
+        UUID playerUUID = proxy.getCombatLogPlayer().getUuid();
+
+        removeCombatLogProxy(proxy, true);
+
+        // Same flow as a killed combat log villager
+        if (game.getTeamManager() != null) {
+            game.getTeamManager().handlePlayerDeath(playerUUID);
+        }
+
+        game.removePlayer(playerUUID);
+
+        try {
+            game.checkGameEndCondition();
+        } catch (Exception e) {
+            UHC.getInstance().getLogger().severe("Error checking game end after combat log proxy death: " + e.getMessage());
+        }
+    }
+
+    private void removeCombatLogProxy(CombatLogProxy proxy, boolean dropItems) {
+        CombatLogPlayer combatLogPlayer = proxy.getCombatLogPlayer();
+
+        combatLogPlayer.getTimeoutTask().cancel();
+
+        if (dropItems) {
+            dropCombatLogItems(proxy.getLocation(), combatLogPlayer);
+        }
+
+        proxy.hideFromAll();
+        combatLogProxies.remove(proxy.getEntityId());
+        combatLogProxiesByPlayer.remove(combatLogPlayer.getUuid());
+
+        if (combatLogProxies.isEmpty()) {
+            stopProxyTracking();
+        }
+    }
+
+    private void relocateProxiesOutsideBorder() {
+        for (CombatLogProxy proxy : combatLogProxies.values()) {
+            CombatLogPlayer combatLogPlayer = proxy.getCombatLogPlayer();
+
+            if (GameUtil.isLocationInBorder(combatLogPlayer.getLocation())) {
+                continue;
+            }
+
+            Location newLocation = GameUtil.calculateSafeBorderPoint(combatLogPlayer.getLocation());
+            if (newLocation == null) {
+                continue;
+            }
+
+            combatLogPlayer.setMoved(true);
+            combatLogPlayer.setLocation(newLocation);
+            proxy.respawnForViewers(formatHealthName(combatLogPlayer, proxy.getHealth()));
+        }
+    }
+
+    private void startProxyTracking() {
+        if (proxyTrackerTask == null) {
+            proxyTrackerTask = new CombatLogProxyTrackerTask(this)
+                    .runTaskTimer(UHC.getInstance(), 0L, PROXY_TRACKER_INTERVAL_TICKS);
+        }
+
+        if (proxyPacketListener == null) {
+            proxyPacketListener = new CombatLogProxyPacketListener(this);
+            UHC.getProtocolManager().addPacketListener(proxyPacketListener);
+        }
+
+        if (proxyListener == null) {
+            proxyListener = new CombatLogProxyListener(this);
+            proxyListener.start();
+        }
+    }
+
+    private void stopProxyTracking() {
+        if (proxyTrackerTask != null) {
+            proxyTrackerTask.cancel();
+            proxyTrackerTask = null;
+        }
+
+        if (proxyPacketListener != null) {
+            UHC.getProtocolManager().removePacketListener(proxyPacketListener);
+            proxyPacketListener = null;
+        }
+
+        if (proxyListener != null) {
+            proxyListener.stop();
+            proxyListener = null;
+        }
+    }
+
     // Private helper methods
 
     private Villager createVillager(Location location) {
@@ -156,22 +393,69 @@ public class CombatLogVillagerManager {
         villager.setHealth(VILLAGER_MAX_HEALTH);
         villager.setProfession(Villager.Profession.FARMER);
 
+        pinVillager(villager);
+
         return villager;
     }
 
+    /**
+     * Keeps the villager in place so its stored location stays valid without periodic correction
+     */
+    private void pinVillager(Villager villager) {
+        if (!ReflectionUtil.setNoAI(villager)) {
+            // Fallback for versions without the NoAI tag
+            villager.addPotionEffect(new PotionEffect(PotionEffectType.SLOW, Integer.MAX_VALUE, 255, false, false), true);
+            UHC.getInstance().getLogger().warning("Could not disable villager AI, falling back to slowness");
+        }
+
+        villager.setVelocity(new Vector());
+    }
+
+    /**
+     * Cancels any knockback applied to a combat log villager
+     */
+    public void freezeVelocity(Villager villager) {
+        villager.setVelocity(new Vector());
+
+        // Knockback is applied after the damage event, so clear it again next tick
+        knockedBackVillagers.add(villager);
+        if (knockbackFlush == null || !knockbackFlush.isPending()) {
+            knockbackFlush = TimingWheel.getInstance().schedule(knockbackFlushTask, 1L);
+        }
+    }
+
+    private void clearKnockback() {
+        knockbackFlush = null;
+
+        if (knockedBackVillagers.isEmpty()) {
+            return;
+        }
+
+        Vector zero = new Vector();
+        for (Villager villager : knockedBackVillagers) {
+            if (villager.isValid()) {
+                villager.setVelocity(zero);
+            }
+        }
+        knockedBackVillagers.clear();
+    }
+
     public void updateVillagerHealthBar(Villager villager, CombatLogPlayer combatLogPlayer, double currentHealth) {
+        villager.setCustomName(formatHealthName(combatLogPlayer, currentHealth));
+        villager.setCustomNameVisible(true);
+    }
+
+    public String formatHealthName(CombatLogPlayer combatLogPlayer, double currentHealth) {
         int current = (int) Math.ceil(currentHealth);
         int max = (int) VILLAGER_MAX_HEALTH;
 
-        villager.setCustomName(ChatColor.GRAY + Bukkit.getOfflinePlayer(combatLogPlayer.getUuid()).getName() +
-                ChatColor.DARK_RED + " ❤" + ChatColor.RED + current + ChatColor.GRAY + "/" + ChatColor.RED + max);
-
-        villager.setCustomNameVisible(true);
+        return ChatColor.GRAY + Bukkit.getOfflinePlayer(combatLogPlayer.getUuid()).getName() +
+                ChatColor.DARK_RED + " ❤" + ChatColor.RED + current + ChatColor.GRAY + "/" + ChatColor.RED + max;
     }
 
-    private BukkitTask createTimeoutTask(UUID playerUUID) {
-        return new CombatLogVillagerTask(playerUUID)
-                .runTaskLater(UHC.getInstance(), COMBAT_LOG_TIMEOUT_SECONDS * 20L);
+    private TimingWheel.Timeout createTimeoutTask(UUID playerUUID) {
+        return TimingWheel.getInstance()
+                .schedule(new CombatLogVillagerTask(playerUUID), COMBAT_LOG_TIMEOUT_SECONDS * 20L);
     }
 
     private void cleanupCombatLogVillager(CombatLogEntry entry, boolean dropItems) {
@@ -179,11 +463,11 @@ public class CombatLogVillagerManager {
         CombatLogPlayer combatLogPlayer = entry.getCombatLogPlayer();
 
         // Cancel timeout task
-        combatLogPlayer.getBukkitTask().cancel();
+        combatLogPlayer.getTimeoutTask().cancel();
 
         // Drop items if this is a kill
         if (dropItems) {
-            dropCombatLogItems(villager, combatLogPlayer);
+            dropCombatLogItems(villager.getLocation(), combatLogPlayer);
         }
 
         // Remove from tracking
@@ -194,9 +478,16 @@ public class CombatLogVillagerManager {
         villager.remove();
     }
 
-    private void dropCombatLogItems(Villager villager, CombatLogPlayer combatLogPlayer) {
-        Location dropLocation = villager.getLocation().clone();
+    private void dropCombatLogItems(Location location, CombatLogPlayer combatLogPlayer) {
+        Location dropLocation = location.clone();
         World world = dropLocation.getWorld();
+
+        // Proxies never keep their chunk loaded, and items dropped into an unloaded chunk are lost
+        Chunk chunk = dropLocation.getChunk();
+        if (!chunk.isLoaded()) {
+            chunk.load();
+        }
+
         CachedInventory cachedInventory = combatLogPlayer.getCachedInventory();
 
         // Drop main inventory items
@@ -212,9 +503,14 @@ public class CombatLogVillagerManager {
 
     private void relocateVillagerToBorder(Villager villager, CombatLogPlayer combatLogPlayer, WorldBorder worldBorder) {
         Location oldLocation = villager.getLocation().clone();
-        combatLogPlayer.setMoved(true);
 
         Location newLocation = GameUtil.teleportToNearestBorderPoint(villager);
+        if (newLocation == null) {
+            return;
+        }
+
+        // Only deliberate relocations mark the player as moved
+        combatLogPlayer.setMoved(true);
         combatLogPlayer.setLocation(newLocation);
 
         Chunk oldChunk = oldLocation.getChunk();
@@ -0,0 +1,46 @@
+package cc.kasumi.uhc.combatlog.task;
+
+import cc.kasumi.uhc.combatlog.CombatLogProxy;
+import cc.kasumi.uhc.combatlog.CombatLogVillagerManager;
+import cc.kasumi.uhc.util.ProfiledRunnable;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+/**
+ * Shows and hides combat log proxies as players move in and out of tracking range
+ */
+public class CombatLogProxyTrackerTask extends ProfiledRunnable {
+
+    private static final double TRACKING_RANGE_SQUARED = 48.0D * 48.0D;
+
+    private final CombatLogVillagerManager combatLogVillagerManager;
+
+    public CombatLogProxyTrackerTask(CombatLogVillagerManager combatLogVillagerManager) {
+        super("combatlog-tracker");
+        this.combatLogVillagerManager = combatLogVillagerManager;
+    }
+
+    @Override
+    protected void tick() {
+        for (CombatLogProxy proxy : combatLogVillagerManager.getCombatLogProxies().values()) {
+            // Viewers that logged out lost the entity client side
+            proxy.getViewers().removeIf(uuid -> Bukkit.getPlayer(uuid) == null);
+
+            Location proxyLocation = proxy.getLocation();
+            String name = combatLogVillagerManager.formatHealthName(proxy.getCombatLogPlayer(), proxy.getHealth());
+
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                Location playerLocation = player.getLocation();
+                boolean inRange = playerLocation.getWorld() == proxyLocation.getWorld()
+                        && playerLocation.distanceSquared(proxyLocation) <= TRACKING_RANGE_SQUARED;
+
+                if (inRange) {
+                    proxy.show(player, name);
+                } else {
+                    proxy.hide(player);
+                }
+            }
+        }
+    }
+}
@@ -2,11 +2,10 @@ package cc.kasumi.uhc.combatlog.task;
 
 import cc.kasumi.uhc.UHC;
 import cc.kasumi.uhc.game.Game;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.UUID;
 
-public class CombatLogVillagerTask extends BukkitRunnable {
+public class CombatLogVillagerTask implements Runnable {
 
     private final UUID uuid;
 
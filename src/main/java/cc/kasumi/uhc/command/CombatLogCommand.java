@@ -0,0 +1,55 @@
+package cc.kasumi.uhc.command;
+
+import cc.kasumi.uhc.UHC;
+import cc.kasumi.uhc.combatlog.CombatLogVillagerManager;
+import cc.kasumi.uhc.game.Game;
+import co.aikar.commands.BaseCommand;
+import co.aikar.commands.annotation.*;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+
+@CommandAlias("combatlog")
+@CommandPermission("uhc.admin")
+public class CombatLogCommand extends BaseCommand {
+
+    @Default
+    public void onStatus(CommandSender sender) {
+        CombatLogVillagerManager manager = getManager(sender);
+        if (manager == null) return;
+
+        sender.sendMessage(ChatColor.YELLOW + "Combat log mode: " + ChatColor.WHITE +
+                (manager.isProxyMode() ? "PROXY (packet only)" : "VILLAGER (real entity)"));
+        sender.sendMessage(ChatColor.GRAY + "Villagers: " + manager.getCombatLogVillagers().size() +
+                ", Proxies: " + manager.getCombatLogProxies().size());
+    }
+
+    @Subcommand("proxy")
+    @Description("Toggle packet-only combat log proxies")
+    public void onProxy(CommandSender sender, boolean enabled) {
+        CombatLogVillagerManager manager = getManager(sender);
+        if (manager == null) return;
+
+        if (manager.isProxyMode() == enabled) {
+            sender.sendMessage(ChatColor.YELLOW + "Combat log proxy mode is already " + (enabled ? "enabled" : "disabled") + "!");
+            return;
+        }
+
+        manager.setProxyMode(enabled);
+        sender.sendMessage(ChatColor.GREEN + "Combat log proxy mode " + (enabled ? "enabled" : "disabled") + "!");
+        sender.sendMessage(ChatColor.GRAY + "Only players logging out from now on are affected.");
+        if (enabled) {
+            sender.sendMessage(ChatColor.GRAY + "Proxies only take melee damage, arrows, potions and fire don't hit them.");
+        }
+    }
+
+    private CombatLogVillagerManager getManager(CommandSender sender) {
+        Game game = UHC.getInstance().getGame();
+
+        if (game == null) {
+            sender.sendMessage(ChatColor.RED + "Game instance is not available!");
+            return null;
+        }
+
+        return game.getCombatLogVillagerManager();
+    }
+}
@@ -62,4 +62,4 @@ public class ScenarioCommand extends BaseCommand {
         manager.disableScenario(scenarioName);
         sender.sendMessage(ChatColor.GREEN + "Disabled scenario: " + scenario.getName());
     }
-}
\ No newline at end of file
+}
@@ -27,7 +27,7 @@ public class TeamSizeCommand extends BaseCommand {
 
         if (game.isTeamMode()) {
             int totalTeams = game.getTeamManager().getAllTeams().size();
-            int aliveTeams = game.getTeamManager().getAliveTeams().size();
+            int aliveTeams = game.getTeamManager().getAliveTeamCount();
             sender.sendMessage(ChatColor.GRAY + "Teams: " + totalTeams + " total, " + aliveTeams + " alive");
         }
     }
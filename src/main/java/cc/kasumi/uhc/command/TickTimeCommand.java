@@ -2,6 +2,7 @@ package cc.kasumi.uhc.command;
 
 import cc.kasumi.uhc.UHC;
 import cc.kasumi.uhc.game.Game;
+import cc.kasumi.uhc.util.TickCounter;
 import co.aikar.commands.BaseCommand;
 import co.aikar.commands.annotation.CommandAlias;
 import co.aikar.commands.annotation.CommandPermission;
@@ -15,8 +16,20 @@ public class TickTimeCommand extends BaseCommand {
     @Default
     public void onTickTimeCommand(CommandSender sender) {
         Game game = UHC.getInstance().getGame();
+        TickCounter tickCounter = TickCounter.getInstance();
+
         sender.sendMessage("Game Duration: " + game.getFormattedGameDuration());
         sender.sendMessage("Total Ticks: " + game.getGameDurationTicks());
         sender.sendMessage("Current Tick: " + game.getCurrentServerTick());
+        sender.sendMessage(String.format("TPS (1s/1m/5m): %.2f / %.2f / %.2f",
+                tickCounter.getTps1s(), tickCounter.getTps1m(), tickCounter.getTps5m()));
+        if (tickCounter.isMsptAvailable()) {
+            sender.sendMessage(String.format("MSPT (p50/p95/p99): %.1f / %.1f / %.1f",
+                    tickCounter.getMspt(0.50), tickCounter.getMspt(0.95), tickCounter.getMspt(0.99)));
+        } else {
+            sender.sendMessage("MSPT: unavailable on this server version");
+        }
+        sender.sendMessage(String.format("Tick interval (p50/p95/p99): %.1f / %.1f / %.1f",
+                tickCounter.getTickInterval(0.50), tickCounter.getTickInterval(0.95), tickCounter.getTickInterval(0.99)));
     }
 }
@@ -3,7 +3,9 @@ package cc.kasumi.uhc.command;
 import cc.kasumi.uhc.UHC;
 import cc.kasumi.uhc.game.Game;
 import cc.kasumi.uhc.game.GameEndResult;
+import cc.kasumi.uhc.game.task.GameTimeline;
 import cc.kasumi.uhc.team.UHCTeam;
+import cc.kasumi.uhc.util.TickCounter;
 import co.aikar.commands.BaseCommand;
 import co.aikar.commands.annotation.*;
 import org.bukkit.ChatColor;
@@ -170,8 +172,8 @@ public class UHCAdminCommand extends BaseCommand {
         sender.sendMessage(ChatColor.YELLOW + "Checking game end conditions...");
 
         // Show current status
-        int aliveTeams = game.getTeamManager().getAliveTeams().size();
-        int alivePlayers = game.getAlivePlayers().size();
+        int aliveTeams = game.getTeamManager().getAliveTeamCount();
+        int alivePlayers = game.getAliveCount();
 
         sender.sendMessage(ChatColor.GRAY + "Alive teams: " + aliveTeams);
         sender.sendMessage(ChatColor.GRAY + "Alive players: " + alivePlayers);
@@ -217,6 +219,73 @@ public class UHCAdminCommand extends BaseCommand {
         sender.sendMessage(ChatColor.GREEN + "World reset initiated! Check console for progress.");
     }
 
+    @Subcommand("timeline")
+    @Description("Show the game timeline status")
+    public void onTimelineStatus(CommandSender sender) {
+        Game game = UHC.getInstance().getGame();
+
+        if (game == null) {
+            sender.sendMessage(ChatColor.RED + "Game instance is not available!");
+            return;
+        }
+
+        GameTimeline timeline = game.getTimeline();
+        long nextTicks = timeline.getTicksUntilNext();
+
+        sender.sendMessage(ChatColor.GOLD + "=== Game Timeline ===");
+        sender.sendMessage(ChatColor.GRAY + "Game time: " + ChatColor.WHITE + TickCounter.ticksToSeconds(timeline.getElapsedTicks()) + "s" +
+                (timeline.isPaused() ? ChatColor.RED + " (paused)" : ""));
+        sender.sendMessage(ChatColor.GRAY + "Pending events: " + ChatColor.WHITE + timeline.getPendingCount());
+        sender.sendMessage(ChatColor.GRAY + "Next event in: " + ChatColor.WHITE + (nextTicks < 0 ? "none" : TickCounter.ticksToSeconds(nextTicks) + "s"));
+    }
+
+    @Subcommand("timeline pause")
+    @Description("Pause the game timeline")
+    public void onTimelinePause(CommandSender sender) {
+        Game game = UHC.getInstance().getGame();
+
+        if (game == null) {
+            sender.sendMessage(ChatColor.RED + "Game instance is not available!");
+            return;
+        }
+
+        game.getTimeline().pause();
+        sender.sendMessage(ChatColor.YELLOW + "Game timeline paused.");
+    }
+
+    @Subcommand("timeline resume")
+    @Description("Resume the game timeline")
+    public void onTimelineResume(CommandSender sender) {
+        Game game = UHC.getInstance().getGame();
+
+        if (game == null) {
+            sender.sendMessage(ChatColor.RED + "Game instance is not available!");
+            return;
+        }
+
+        game.getTimeline().resume();
+        sender.sendMessage(ChatColor.GREEN + "Game timeline resumed.");
+    }
+
+    @Subcommand("timeline skip")
+    @Description("Skip game time forward, firing every event on the way")
+    public void onTimelineSkip(CommandSender sender, int seconds) {
+        Game game = UHC.getInstance().getGame();
+
+        if (game == null) {
+            sender.sendMessage(ChatColor.RED + "Game instance is not available!");
+            return;
+        }
+
+        if (seconds <= 0) {
+            sender.sendMessage(ChatColor.RED + "Seconds must be positive!");
+            return;
+        }
+
+        game.getTimeline().skip(TickCounter.secondsToTicks(seconds));
+        sender.sendMessage(ChatColor.GREEN + "Skipped " + seconds + " seconds of game time.");
+    }
+
     @Default
     @HelpCommand
     public void onHelp(CommandSender sender) {
@@ -228,6 +297,7 @@ public class UHCAdminCommand extends BaseCommand {
         sender.sendMessage(ChatColor.YELLOW + "/uhcadmin teams alive" + ChatColor.GRAY + " - List alive teams");
         sender.sendMessage(ChatColor.YELLOW + "/uhcadmin teams eliminated" + ChatColor.GRAY + " - List eliminated teams");
         sender.sendMessage(ChatColor.YELLOW + "/uhcadmin check end" + ChatColor.GRAY + " - Check game end conditions");
+        sender.sendMessage(ChatColor.YELLOW + "/uhcadmin timeline [pause|resume|skip <seconds>]" + ChatColor.GRAY + " - Control the game timeline");
         sender.sendMessage(ChatColor.YELLOW + "/uhcadmin tp lobby" + ChatColor.GRAY + " - Teleport all to lobby");
         sender.sendMessage(ChatColor.YELLOW + "/uhcadmin reset" + ChatColor.GRAY + " - Reset the game world");
     }
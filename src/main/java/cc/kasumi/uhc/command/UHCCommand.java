@@ -0,0 +1,153 @@
+package cc.kasumi.uhc.command;
+
+import cc.kasumi.uhc.UHC;
+import cc.kasumi.uhc.game.Game;
+import cc.kasumi.uhc.packets.PacketAccessBenchmark;
+import cc.kasumi.uhc.scenario.ScenarioDispatcherBenchmark;
+import cc.kasumi.uhc.util.TickProfiler;
+import co.aikar.commands.BaseCommand;
+import co.aikar.commands.annotation.*;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.logging.Level;
+
+@CommandAlias("uhc")
+@CommandPermission("uhc.admin")
+public class UHCCommand extends BaseCommand {
+
+    private static final int DEFAULT_PROFILE_ROWS = 15;
+    private static final int MAX_BENCH_ITERATIONS = 200_000;
+
+    @Subcommand("profile")
+    @Description("Show per-subsystem timings")
+    public void onProfile(CommandSender sender, @Optional Integer rows) {
+        TickProfiler profiler = TickProfiler.getInstance();
+        List<TickProfiler.Section> sections = profiler.getSections();
+        int limit = Math.min(sections.size(), rows != null && rows > 0 ? rows : DEFAULT_PROFILE_ROWS);
+        long seconds = Math.max(1L, (System.currentTimeMillis() - profiler.getSince()) / 1000L);
+
+        sender.sendMessage(ChatColor.GOLD + "=== UHC Profile (" + seconds + "s" +
+                (profiler.isEnabled() ? "" : ChatColor.RED + ", disabled" + ChatColor.GOLD) + ") ===");
+        sender.sendMessage(ChatColor.GRAY + "section: calls | total ms | mean / p50 / p95 / p99 / max µs");
+
+        for (int i = 0; i < limit; i++) {
+            TickProfiler.Section section = sections.get(i);
+            if (section.getCalls() == 0) {
+                break;
+            }
+
+            sender.sendMessage(ChatColor.YELLOW + section.getName() + ChatColor.WHITE + ": " +
+                    section.getCalls() + " | " +
+                    String.format("%.1f", section.getTotalNanos() / 1_000_000.0) + " | " +
+                    String.format("%.1f / %.1f / %.1f / %.1f / %.1f",
+                            section.getMeanNanos() / 1_000.0,
+                            section.getPercentile(0.50) / 1_000.0,
+                            section.getPercentile(0.95) / 1_000.0,
+                            section.getPercentile(0.99) / 1_000.0,
+                            section.getMaxNanos() / 1_000.0));
+        }
+
+        if (sections.size() > limit) {
+            sender.sendMessage(ChatColor.GRAY + "... " + (sections.size() - limit) + " more, use /uhc profile dump for all");
+        }
+    }
+
+    @Subcommand("profile reset")
+    @Description("Clear all recorded timings")
+    public void onProfileReset(CommandSender sender) {
+        TickProfiler.getInstance().reset();
+        sender.sendMessage(ChatColor.GREEN + "Profiler data has been reset.");
+    }
+
+    @Subcommand("profile dump")
+    @Description("Write all timings to a CSV file in the plugin folder")
+    public void onProfileDump(CommandSender sender) {
+        try {
+            File file = TickProfiler.getInstance().dumpCsv(UHC.getInstance().getDataFolder());
+            sender.sendMessage(ChatColor.GREEN + "Profile written to " + file.getName());
+        } catch (IOException e) {
+            sender.sendMessage(ChatColor.RED + "Failed to write profile: " + e.getMessage());
+            UHC.getInstance().getLogger().log(Level.WARNING, "Failed to write profile dump", e);
+        }
+    }
+
+    @Subcommand("profile toggle")
+    @Description("Turn timing collection on or off")
+    public void onProfileToggle(CommandSender sender) {
+        TickProfiler profiler = TickProfiler.getInstance();
+        profiler.setEnabled(!profiler.isEnabled());
+        sender.sendMessage(ChatColor.YELLOW + "Profiler " + (profiler.isEnabled() ? ChatColor.GREEN + "enabled" : ChatColor.RED + "disabled"));
+    }
+
+    @Subcommand("bench packets")
+    @Syntax("[iterations]")
+    @Description("Compare the reflective and MethodHandle packet paths")
+    public void onBenchPackets(CommandSender sender, @Default("20000") int iterations) {
+        if (!canBenchmark(sender)) {
+            return;
+        }
+
+        Player player = sender instanceof Player ? (Player) sender : Bukkit.getOnlinePlayers().stream().findFirst().orElse(null);
+
+        iterations = clampIterations(iterations);
+        sender.sendMessage(ChatColor.GOLD + "=== Packet access (" + iterations + " iterations) ===");
+        for (String line : PacketAccessBenchmark.run(iterations, player)) {
+            sender.sendMessage(ChatColor.GRAY + line);
+        }
+    }
+
+    @Subcommand("bench scenarios")
+    @Syntax("[iterations]")
+    @Description("Compare per-scenario listeners against the scenario dispatcher")
+    public void onBenchScenarios(CommandSender sender, @Default("20000") int iterations) {
+        if (!canBenchmark(sender)) {
+            return;
+        }
+
+        iterations = clampIterations(iterations);
+        sender.sendMessage(ChatColor.GOLD + "=== Scenario dispatch (" + ScenarioDispatcherBenchmark.SCENARIOS + " scenarios, " + iterations + " iterations) ===");
+        for (String line : ScenarioDispatcherBenchmark.run(iterations)) {
+            sender.sendMessage(ChatColor.GRAY + line);
+        }
+    }
+
+    /**
+     * Benchmarks run synchronously on the main thread, so they are opt-in and lobby only
+     */
+    private boolean canBenchmark(CommandSender sender) {
+        if (!UHC.getInstance().getConfig().getBoolean("debug.benchmarks", false)) {
+            sender.sendMessage(ChatColor.RED + "Benchmarks are disabled, set debug.benchmarks to true in config.yml.");
+            return false;
+        }
+
+        Game game = UHC.getInstance().getGame();
+        if (game != null && game.isGameStarted()) {
+            sender.sendMessage(ChatColor.RED + "Benchmarks can't run while a game is in progress.");
+            return false;
+        }
+
+        return true;
+    }
+
+    private static int clampIterations(int iterations) {
+        return Math.max(1, Math.min(MAX_BENCH_ITERATIONS, iterations));
+    }
+
+    @Default
+    @HelpCommand
+    public void onHelp(CommandSender sender) {
+        sender.sendMessage(ChatColor.GOLD + "=== UHC Commands ===");
+        sender.sendMessage(ChatColor.YELLOW + "/uhc profile [rows]" + ChatColor.GRAY + " - Show per-subsystem timings");
+        sender.sendMessage(ChatColor.YELLOW + "/uhc profile reset" + ChatColor.GRAY + " - Clear recorded timings");
+        sender.sendMessage(ChatColor.YELLOW + "/uhc profile dump" + ChatColor.GRAY + " - Write timings to a CSV file");
+        sender.sendMessage(ChatColor.YELLOW + "/uhc profile toggle" + ChatColor.GRAY + " - Turn timing collection on or off");
+        sender.sendMessage(ChatColor.YELLOW + "/uhc bench packets [iterations]" + ChatColor.GRAY + " - Compare packet access paths (lobby only)");
+        sender.sendMessage(ChatColor.YELLOW + "/uhc bench scenarios [iterations]" + ChatColor.GRAY + " - Compare scenario event dispatch (lobby only)");
+    }
+}
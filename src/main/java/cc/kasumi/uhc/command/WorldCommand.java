@@ -1,6 +1,7 @@
 package cc.kasumi.uhc.command;
 
 import cc.kasumi.uhc.UHC;
+import cc.kasumi.uhc.util.TickCounter;
 import cc.kasumi.uhc.world.WorldManager;
 import cc.kasumi.uhc.world.WorldPopulatorManager;
 import co.aikar.commands.BaseCommand;
@@ -479,6 +480,10 @@ public class WorldCommand extends BaseCommand {
         // Performance Info
         sender.sendMessage(ChatColor.YELLOW + "Performance:");
         sender.sendMessage(ChatColor.GRAY + "  Server TPS: " + String.format("%.1f", getServerTPS()));
+        if (TickCounter.getInstance().isMsptAvailable()) {
+            sender.sendMessage(ChatColor.GRAY + "  Tick Time (p50/p95/p99): " + String.format("%.1f/%.1f/%.1f ms",
+                    TickCounter.getInstance().getMspt(0.50), TickCounter.getInstance().getMspt(0.95), TickCounter.getInstance().getMspt(0.99)));
+        }
         sender.sendMessage(ChatColor.GRAY + "  Active Wall Builders: " +
                 cc.kasumi.uhc.util.GameUtil.getActiveBuilders().size());
     }
@@ -565,12 +570,7 @@ public class WorldCommand extends BaseCommand {
     }
 
     private double getServerTPS() {
-        try {
-            // Simple TPS calculation based on tick counter
-            return 20.0; // Fallback value for 1.8.8
-        } catch (Exception e) {
-            return 20.0;
-        }
+        return TickCounter.getInstance().getTps1m();
     }
 
     @Default
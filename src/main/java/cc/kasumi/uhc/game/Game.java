@@ -10,8 +10,10 @@ import cc.kasumi.uhc.game.state.ScatteringGameState;
 import cc.kasumi.uhc.game.state.WaitingGameState;
 import cc.kasumi.uhc.game.task.BorderShrinkTask;
 import cc.kasumi.uhc.game.task.FinalHealTask;
+import cc.kasumi.uhc.game.task.GameTimeline;
 import cc.kasumi.uhc.game.task.PvPEnableTask;
 import cc.kasumi.uhc.game.task.StartTask;
+import cc.kasumi.uhc.packets.BroadcastPackets;
 import cc.kasumi.uhc.packets.NameTagManager;
 import cc.kasumi.uhc.player.PlayerState;
 import cc.kasumi.uhc.player.UHCPlayer;
@@ -20,14 +22,19 @@ import cc.kasumi.uhc.spectator.SpectatorManager;
 import cc.kasumi.uhc.team.TeamManager;
 import cc.kasumi.uhc.team.UHCTeam;
 import cc.kasumi.uhc.util.GameUtil;
+import cc.kasumi.uhc.util.MovementFilter;
+import cc.kasumi.uhc.util.ProfiledRunnable;
 import cc.kasumi.uhc.util.TickCounter;
+import cc.kasumi.uhc.util.TimingWheel;
 import cc.kasumi.uhc.util.ProgressiveScatterManager;
 import cc.kasumi.uhc.world.WorldManager;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.bukkit.*;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 
@@ -40,10 +47,25 @@ import java.util.*;
 public class Game {
 
     private final Map<UUID, UHCPlayer> players = new HashMap<>();
+    // Live index of players by state, kept in sync by putUHCPlayer, removePlayer and UHCPlayer.setState
+    private final Map<PlayerState, Set<UHCPlayer>> playersByState = new EnumMap<>(PlayerState.class);
+    private final Map<PlayerState, Set<UHCPlayer>> playersByStateViews = new EnumMap<>(PlayerState.class);
     private final CombatLogVillagerManager combatLogVillagerManager = new CombatLogVillagerManager(this);
     private final ScenarioManager scenarioManager = new ScenarioManager(this);
     private final TeamManager teamManager = new TeamManager(this);
     private final SpectatorManager spectatorManager = new SpectatorManager(UHC.getInstance(), this);
+    // Countdowns, PvP, final heal and border steps, cancelled together when the game ends
+    private final GameTimeline timeline = new GameTimeline();
+    // Bukkit tasks owned by this game, cancelled with the timeline instead of every plugin task
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private BukkitTask worldReadyTask;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private BukkitTask scatterWatchdogTask;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private TimingWheel.Timeout scatterTimeoutStart;
     private NameTagManager nameTagManager = new NameTagManager(this);
     private BarAPI barAPI;
 
@@ -70,6 +92,8 @@ public class Game {
     private long gameStartTick;
 
     private boolean pvpEnabled = false;
+    // Last scatter run, kept for metrics after it completes
+    private ProgressiveScatterManager activeScatter;
     private boolean startCountdownStarted = false;
 
     private TickCounter tickCounter = TickCounter.getInstance();
@@ -79,7 +103,14 @@ public class Game {
     private String worldName = "uhc";
 
     public Game() {
+        for (PlayerState playerState : PlayerState.values()) {
+            Set<UHCPlayer> set = new LinkedHashSet<>();
+            playersByState.put(playerState, set);
+            playersByStateViews.put(playerState, Collections.unmodifiableSet(set));
+        }
+
         this.worldManager = UHC.getInstance().getWorldManager();
+        this.timeline.start();
         initializeWorldSystem();
         this.state.onEnable();
     }
@@ -115,7 +146,11 @@ public class Game {
      * Schedule periodic checks for world readiness
      */
     private void scheduleWorldReadyCheck() {
-        new BukkitRunnable() {
+        if (worldReadyTask != null) {
+            worldReadyTask.cancel();
+        }
+
+        worldReadyTask = new BukkitRunnable() {
             private int attempts = 0;
             private final int maxAttempts = 60;
 
@@ -238,7 +273,7 @@ public class Game {
             }
 
             // Cancel all game tasks
-            Bukkit.getScheduler().cancelTasks(UHC.getInstance());
+            cancelGameTasks();
 
             // Cancel wall builders
             GameUtil.cancelAllWallBuilders();
@@ -254,12 +289,7 @@ public class Game {
             announceGameResults(result);
 
             // Handle post-game actions after delay
-            new BukkitRunnable() {
-                @Override
-                public void run() {
-                    handlePostGameActions(result);
-                }
-            }.runTaskLater(UHC.getInstance(), 100L); // 5 second delay
+            TimingWheel.getInstance().schedule(() -> handlePostGameActions(result), 100L); // 5 second delay
 
         } catch (Exception e) {
             UHC.getInstance().getLogger().severe("Error during game end: " + e.getMessage());
@@ -267,7 +297,7 @@ public class Game {
 
             // Fallback - at least do cleanup
             try {
-                Bukkit.getScheduler().cancelTasks(UHC.getInstance());
+                cancelGameTasks();
                 GameUtil.cancelAllWallBuilders();
                 if (barAPI != null) {
                     barAPI.onDisable();
@@ -279,6 +309,29 @@ public class Game {
         }
     }
 
+    /**
+     * Cancels the timeline and the tasks this game started, plugin-wide tasks keep running
+     */
+    private void cancelGameTasks() {
+        timeline.cancelAll();
+
+        if (worldReadyTask != null) {
+            worldReadyTask.cancel();
+            worldReadyTask = null;
+        }
+        if (scatterWatchdogTask != null) {
+            scatterWatchdogTask.cancel();
+            scatterWatchdogTask = null;
+        }
+        if (scatterTimeoutStart != null) {
+            scatterTimeoutStart.cancel();
+            scatterTimeoutStart = null;
+        }
+        if (activeScatter != null && !activeScatter.isCancelled()) {
+            activeScatter.cancel();
+        }
+    }
+
     public void gameStartRunnable(int time) {
         if (!isWorldReady()) {
             Bukkit.broadcastMessage(ChatColor.RED + "Cannot start game: World is not ready!");
@@ -343,6 +396,7 @@ public class Game {
         this.state.onEnable();
 
         this.startCountdownStarted = false;
+        this.activeScatter = null;
         this.pvpEnabled = false;
         this.currentBorderSize = this.initialBorderSize;
         this.gameStartTick = 0;
@@ -352,8 +406,13 @@ public class Game {
         // Clear all teams
         teamManager.clearAllTeams();
 
+        // Drop last game's spectator bits, the rebuild re-seeds every pair from what Bukkit has applied
+        spectatorManager.getVisibility().clear();
+        spectatorManager.getVisibility().markAllDirty();
+
         // Cancel any existing tasks
-        Bukkit.getScheduler().cancelTasks(UHC.getInstance());
+        cancelGameTasks();
+        timeline.reset();
 
         // Reset border
         buildSetInitialBorder();
@@ -491,6 +550,7 @@ public class Game {
 
         // Use improved scatter manager
         ProgressiveScatterManager scatterManager = new ProgressiveScatterManager(this, initialBorderSize);
+        this.activeScatter = scatterManager;
         scatterManager.startScattering();
 
         // Schedule a backup check in case scatter gets stuck
@@ -539,12 +599,16 @@ public class Game {
      * Schedule a backup check for scatter completion
      */
     private void scheduleScatterBackupCheck(ProgressiveScatterManager scatterManager) {
-        new BukkitRunnable() {
+        if (scatterWatchdogTask != null) {
+            scatterWatchdogTask.cancel();
+        }
+
+        scatterWatchdogTask = new ProfiledRunnable("scatter-watchdog") {
             private int checks = 0;
             private final int maxChecks = 60; // 5 minutes max
 
             @Override
-            public void run() {
+            protected void tick() {
                 checks++;
 
                 if (scatterManager.isCancelled()) {
@@ -561,12 +625,7 @@ public class Game {
                     scatterManager.cancel();
 
                     // Start game anyway
-                    new BukkitRunnable() {
-                        @Override
-                        public void run() {
-                            startGame();
-                        }
-                    }.runTaskLater(UHC.getInstance(), 20L);
+                    scatterTimeoutStart = TimingWheel.getInstance().schedule(() -> startGame(), 20L);
 
                     cancel();
                     return;
@@ -736,13 +795,13 @@ public class Game {
         // Schedule game tasks
         new FinalHealTask(this, getHealTime()).schedule();
         new PvPEnableTask(this, getPvpTime()).schedule();
-        new BorderShrinkTask(this, getShrinkInitialBorder()).schedule();
+        BorderShrinkTask.scheduleAll(this);
 
         // Set all players to alive state
         players.forEach((uuid, uhcPlayer) -> uhcPlayer.setPlayerStateAndManage(PlayerState.ALIVE));
 
         // Announce game start with team info
-        int aliveTeams = teamManager.getAliveTeams().size();
+        int aliveTeams = teamManager.getAliveTeamCount();
         int totalPlayers = 0;
         for (UHCTeam team : teamManager.getAllTeams()) {
             totalPlayers += team.getSize();
@@ -836,11 +895,9 @@ public class Game {
     }
 
     public Set<UHCPlayer> getOnlineAlivePlayers() {
-        Set<UHCPlayer> alivePlayers = new HashSet<>();
-
-        for (UHCPlayer uhcPlayer : players.values()) {
-            if (uhcPlayer.getState() != PlayerState.ALIVE) continue;
+        Set<UHCPlayer> alivePlayers = new LinkedHashSet<>();
 
+        for (UHCPlayer uhcPlayer : playersByState.get(PlayerState.ALIVE)) {
             Player player = uhcPlayer.getPlayer();
             if (player != null && player.isOnline()) {
                 alivePlayers.add(uhcPlayer);
@@ -850,15 +907,31 @@ public class Game {
         return alivePlayers;
     }
 
+    /**
+     * Alive and combat logged players, copied from the state indexes
+     */
     public Set<UHCPlayer> getAlivePlayers() {
-        Set<UHCPlayer> alivePlayers = new HashSet<>();
+        Set<UHCPlayer> alivePlayers = new LinkedHashSet<>(playersByState.get(PlayerState.ALIVE));
+        alivePlayers.addAll(playersByState.get(PlayerState.COMBAT_LOG));
+        return alivePlayers;
+    }
 
-        for (UHCPlayer uhcPlayer : players.values()) {
-            if (uhcPlayer.getState() != PlayerState.ALIVE && uhcPlayer.getState() != PlayerState.COMBAT_LOG) continue;
-            alivePlayers.add(uhcPlayer);
-        }
+    /**
+     * Number of alive and combat logged players, O(1)
+     */
+    public int getAliveCount() {
+        return playersByState.get(PlayerState.ALIVE).size() + playersByState.get(PlayerState.COMBAT_LOG).size();
+    }
 
-        return alivePlayers;
+    /**
+     * Read-only live view of the players currently in the given state
+     */
+    public Set<UHCPlayer> getPlayersInState(PlayerState playerState) {
+        return playersByStateViews.get(playerState);
+    }
+
+    public int getStateCount(PlayerState playerState) {
+        return playersByState.get(playerState).size();
     }
 
     /**
@@ -880,7 +953,7 @@ public class Game {
             // Start border teleporter for border changes after initialization
             combatLogVillagerManager.handleBorderShrink(world.getWorldBorder(), world);
 
-            int aliveTeams = teamManager.getAliveTeams().size();
+            int aliveTeams = teamManager.getAliveTeamCount();
             Bukkit.broadcastMessage(ChatColor.GOLD + "Border built with size: " + borderSize +
                     " (" + aliveTeams + " teams remaining)");
         }
@@ -908,7 +981,7 @@ public class Game {
         World world = getWorld();
         if (world != null) {
             int playersInWorld = world.getPlayers().size();
-            int aliveTeams = teamManager.getAliveTeams().size();
+            int aliveTeams = teamManager.getAliveTeamCount();
 
             Bukkit.broadcastMessage(ChatColor.YELLOW + "Border shrunk from " + oldSize + " to " + currentBorderSize +
                     ChatColor.GRAY + " (World: " + world.getName() + ", Players: " + playersInWorld +
@@ -917,10 +990,17 @@ public class Game {
     }
 
     public int getNextBorder() {
-        if (currentBorderSize > 500) return currentBorderSize - 500;
-        if (currentBorderSize > 250) return currentBorderSize / 2;
-        if (currentBorderSize > 100) return currentBorderSize - 50;
-        return Math.max(currentBorderSize / 2, finalBorderSize);
+        return getNextBorder(currentBorderSize);
+    }
+
+    /**
+     * The border size that follows the given one
+     */
+    public int getNextBorder(int size) {
+        if (size > 500) return size - 500;
+        if (size > 250) return size / 2;
+        if (size > 100) return size - 50;
+        return Math.max(size / 2, finalBorderSize);
     }
 
     public boolean canBorderShrinkMore() {
@@ -1011,14 +1091,40 @@ public class Game {
     }
 
     public void putUHCPlayer(UUID uuid, UHCPlayer uhcPlayer) {
-        players.put(uuid, uhcPlayer);
+        UHCPlayer replaced = players.put(uuid, uhcPlayer);
+        if (replaced != null) {
+            playersByState.get(replaced.getState()).remove(replaced);
+        }
+
+        playersByState.get(uhcPlayer.getState()).add(uhcPlayer);
+        MovementFilter.getInstance().refreshSpectator(uuid);
     }
 
     public void removePlayer(UUID uuid) {
-        players.remove(uuid);
+        UHCPlayer removed = players.remove(uuid);
+        if (removed != null) {
+            playersByState.get(removed.getState()).remove(removed);
+        }
+        MovementFilter.getInstance().refreshSpectator(uuid);
+
         teamManager.removePlayerFromTeam(uuid);
     }
 
+    /**
+     * Called by UHCPlayer whenever its state actually changes
+     */
+    public void handlePlayerStateChange(UHCPlayer uhcPlayer, PlayerState previous) {
+        // Only players registered with this game are indexed
+        if (players.get(uhcPlayer.getUuid()) == uhcPlayer) {
+            playersByState.get(previous).remove(uhcPlayer);
+            playersByState.get(uhcPlayer.getState()).add(uhcPlayer);
+        }
+
+        spectatorManager.getVisibility().markDirty(uhcPlayer.getUuid());
+        spectatorManager.getTeleportMenu().update(uhcPlayer.getUuid());
+        MovementFilter.getInstance().refreshSpectator(uhcPlayer.getUuid());
+    }
+
     public UHCPlayer getUHCPlayer(UUID uuid) {
         return players.get(uuid);
     }
@@ -1143,22 +1249,17 @@ public class Game {
      */
     private GameEndResult checkSoloGameEnd() {
         try {
-            List<UHCPlayer> alivePlayers = new ArrayList<>();
-
-            // Safely get alive players
-            for (UHCPlayer uhcPlayer : players.values()) {
-                if (uhcPlayer != null &&
-                        (uhcPlayer.getState() == PlayerState.ALIVE || uhcPlayer.getState() == PlayerState.COMBAT_LOG)) {
-                    alivePlayers.add(uhcPlayer);
-                }
-            }
+            int aliveCount = getAliveCount();
 
-            if (alivePlayers.isEmpty()) {
+            if (aliveCount == 0) {
                 // No players left - draw
                 return GameEndResult.draw("No players remaining");
-            } else if (alivePlayers.size() == 1) {
+            } else if (aliveCount == 1) {
                 // One player left - winner
-                UHCPlayer winner = alivePlayers.get(0);
+                Set<UHCPlayer> alive = playersByState.get(PlayerState.ALIVE);
+                UHCPlayer winner = alive.isEmpty() ?
+                        playersByState.get(PlayerState.COMBAT_LOG).iterator().next() :
+                        alive.iterator().next();
                 return GameEndResult.soloWin(winner, "Last player standing");
             }
 
@@ -1183,19 +1284,14 @@ public class Game {
                 return GameEndResult.continueGame();
             }
 
-            List<UHCTeam> aliveTeams = teamManager.getAliveTeams();
-
-            if (aliveTeams == null) {
-                UHC.getInstance().getLogger().warning("getAliveTeams() returned null!");
-                return GameEndResult.continueGame();
-            }
+            int aliveTeams = teamManager.getAliveTeamCount();
 
-            if (aliveTeams.isEmpty()) {
+            if (aliveTeams == 0) {
                 // No teams left - draw
                 return GameEndResult.draw("No teams remaining");
-            } else if (aliveTeams.size() == 1) {
+            } else if (aliveTeams == 1) {
                 // One team left - winner
-                UHCTeam winnerTeam = aliveTeams.get(0);
+                UHCTeam winnerTeam = teamManager.getSoleAliveTeam();
                 return GameEndResult.teamWin(winnerTeam, "Last team standing");
             }
 
@@ -1246,9 +1342,14 @@ public class Game {
         Bukkit.broadcastMessage(ChatColor.GOLD + "▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬");
         Bukkit.broadcastMessage("");
 
-        // Send title to all players
+        // Players seeing the same title share one set of packets
+        Map<List<String>, List<Player>> titleGroups = new LinkedHashMap<>();
         for (Player player : Bukkit.getOnlinePlayers()) {
-            sendTitleToPlayer(player, result);
+            titleGroups.computeIfAbsent(getTitleForPlayer(player, result), key -> new ArrayList<>()).add(player);
+        }
+
+        for (Map.Entry<List<String>, List<Player>> entry : titleGroups.entrySet()) {
+            sendTitleToPlayers(entry.getValue(), entry.getKey().get(0), entry.getKey().get(1));
         }
     }
 
@@ -1279,9 +1380,9 @@ public class Game {
     }
 
     /**
-     * Send title to a specific player based on game result
+     * Title and subtitle a specific player sees based on game result
      */
-    private void sendTitleToPlayer(Player player, GameEndResult result) {
+    private List<String> getTitleForPlayer(Player player, GameEndResult result) {
         String title = "";
         String subtitle = "";
         ChatColor titleColor = ChatColor.YELLOW;
@@ -1325,14 +1426,21 @@ public class Game {
                 break;
         }
 
-        // Send title using 1.8.8 compatible method
-        try {
-            // Simple message approach for 1.8.8
+        return Arrays.asList(title, subtitle);
+    }
+
+    /**
+     * Send a title to a group of players, the packets are built once for the whole group
+     */
+    private void sendTitleToPlayers(List<Player> players, String title, String subtitle) {
+        if (BroadcastPackets.sendTitle(players, title, subtitle, 10, 70, 20)) {
+            return;
+        }
+
+        // Fallback to chat messages
+        for (Player player : players) {
             player.sendMessage(title);
             player.sendMessage(subtitle);
-        } catch (Exception e) {
-            // Fallback to just chat messages
-            player.sendMessage(title + " - " + subtitle);
         }
     }
 
@@ -1370,7 +1478,7 @@ public class Game {
         } else {
             UHC.getInstance().getLogger().info("Game Mode: Teams (max size " + maxTeamSize + ")");
             UHC.getInstance().getLogger().info("Teams: " + teamManager.getAllTeams().size());
-            UHC.getInstance().getLogger().info("Alive Teams at End: " + teamManager.getAliveTeams().size());
+            UHC.getInstance().getLogger().info("Alive Teams at End: " + teamManager.getAliveTeamCount());
         }
 
         UHC.getInstance().getLogger().info("Result: " + result.getWinnerType() + " - " + result.getReason());
@@ -1390,6 +1498,8 @@ public class Game {
                     combatLogVillagerManager.getCombatLogVillagers().entrySet()) {
                 entry.getKey().remove();
             }
+
+            combatLogVillagerManager.removeAllCombatLogProxies();
         }
 
         // Cancel any remaining tasks
@@ -1407,7 +1517,7 @@ public class Game {
                 getGameDurationSeconds(),
                 players.size(),
                 teamManager.getAllTeams().size(),
-                teamManager.getAliveTeams().size(),
+                teamManager.getAliveTeamCount(),
                 currentBorderSize,
                 initialBorderSize,
                 isPvpEnabled(),
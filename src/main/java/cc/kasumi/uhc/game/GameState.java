@@ -1,7 +1,7 @@
 package cc.kasumi.uhc.game;
 
 import cc.kasumi.uhc.UHC;
-import org.bukkit.Bukkit;
+import cc.kasumi.uhc.util.TickProfiler;
 import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 
@@ -14,7 +14,7 @@ public abstract class GameState implements Listener {
     }
 
     public void onEnable() {
-        Bukkit.getPluginManager().registerEvents(this, UHC.getInstance());
+        TickProfiler.getInstance().registerEvents(this, UHC.getInstance(), getClass().getSimpleName());
     }
 
     public void onDisable() {
@@ -3,7 +3,6 @@ package cc.kasumi.uhc.game.state;
 import cc.kasumi.uhc.UHC;
 import cc.kasumi.uhc.combatlog.CombatLogPlayer;
 import cc.kasumi.uhc.combatlog.CombatLogVillagerManager;
-import cc.kasumi.uhc.combatlog.task.CombatVillagerCheckTask;
 import cc.kasumi.uhc.game.Game;
 import cc.kasumi.uhc.game.GameState;
 import cc.kasumi.uhc.player.PlayerState;
@@ -34,25 +33,15 @@ public class ActiveGameState extends GameState {
 
     @Override
     public void onEnable() {
-        UHC uhc = UHC.getInstance();
-
         super.onEnable();
 
         scenarioManager.registerAllListeners();
-        combatLogVillagerManager.setPositionCheckTask(
-                new CombatVillagerCheckTask(combatLogVillagerManager).runTaskTimer(uhc, 20, 25)
-        );
     }
 
     @Override
     public void onDisable() {
         super.onDisable();
         scenarioManager.unregisterAllListeners();
-
-        if (combatLogVillagerManager.getPositionCheckTask() != null) {
-            combatLogVillagerManager.getPositionCheckTask().cancel();
-            combatLogVillagerManager.setPositionCheckTask(null);
-        }
     }
 
     @EventHandler
@@ -70,9 +59,9 @@ public class ActiveGameState extends GameState {
         if (state == PlayerState.COMBAT_LOG) {
             uhcPlayer.setState(PlayerState.ALIVE);
 
-            CombatLogVillagerManager.CombatLogEntry entry = combatLogVillagerManager.findCombatLogEntry(uuid);
-            if (entry != null && entry.getCombatLogPlayer().isMoved()) {
-                player.teleport(entry.getCombatLogPlayer().getLocation());
+            CombatLogPlayer combatLogPlayer = combatLogVillagerManager.getCombatLogPlayer(uuid);
+            if (combatLogPlayer != null && combatLogPlayer.isMoved()) {
+                player.teleport(combatLogPlayer.getLocation());
             }
 
             combatLogVillagerManager.deSpawnCombatLogVillager(uuid);
@@ -216,9 +205,9 @@ public class ActiveGameState extends GameState {
             int remainingTeams = 0;
 
             try {
-                remainingPlayers = game.getAlivePlayers().size();
+                remainingPlayers = game.getAliveCount();
                 if (game.getTeamManager() != null) {
-                    remainingTeams = game.getTeamManager().getAliveTeams().size();
+                    remainingTeams = game.getTeamManager().getAliveTeamCount();
                 }
             } catch (Exception e) {
                 UHC.getInstance().getLogger().warning("Error getting remaining player/team counts: " + e.getMessage());
@@ -275,6 +264,7 @@ public class ActiveGameState extends GameState {
             newHealth = Math.max(0, newHealth); // Clamp to prevent negatives
 
             combatLogVillagerManager.updateVillagerHealthBar(villager, combatLogPlayer, newHealth);
+            combatLogVillagerManager.freezeVelocity(villager);
         }
     }
 
@@ -2,6 +2,7 @@ package cc.kasumi.uhc.game.task;
 
 import cc.kasumi.uhc.game.state.ActiveGameState;
 import cc.kasumi.uhc.game.Game;
+import cc.kasumi.uhc.util.TickCounter;
 import org.bukkit.Bukkit;
 
 import static cc.kasumi.uhc.UHCConfiguration.*;
@@ -12,6 +13,22 @@ public class BorderShrinkTask extends CountDownTask {
         super(game, timeBefore);
     }
 
+    /**
+     * Puts every border step on the game timeline up front, from the current size down to the final one
+     */
+    public static void scheduleAll(Game game) {
+        long startDelay = 0L;
+        int timeBefore = game.getShrinkInitialBorder();
+        int size = game.getCurrentBorderSize();
+
+        while (size > game.getFinalBorderSize()) {
+            new BorderShrinkTask(game, timeBefore).schedule(startDelay);
+            startDelay += TickCounter.secondsToTicks(timeBefore);
+            timeBefore = game.getShrinkInterval();
+            size = game.getNextBorder(size);
+        }
+    }
+
     @Override
     public boolean cancelBoolean() {
         return !(game.getState() instanceof ActiveGameState);
@@ -31,14 +48,16 @@ public class BorderShrinkTask extends CountDownTask {
 
     @Override
     public void getFinalAction() {
+        if (!game.canBorderShrinkMore()) {
+            return;
+        }
+
         int oldSize = game.getCurrentBorderSize();
         game.shrinkBorder();
         Bukkit.broadcastMessage(MAIN_COLOR + "Border shrank from " + SEC_COLOR + oldSize + MAIN_COLOR + " to " + SEC_COLOR + game.getCurrentBorderSize());
 
         if (game.canBorderShrinkMore()) {
             Bukkit.broadcastMessage("");
-            // Schedule a NEW BorderShrinkTask instead of reusing this one
-            new BorderShrinkTask(game, game.getShrinkInterval()).schedule();
         }
     }
 }
\ No newline at end of file
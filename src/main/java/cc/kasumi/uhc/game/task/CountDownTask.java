@@ -1,17 +1,27 @@
 package cc.kasumi.uhc.game.task;
 
-import cc.kasumi.uhc.UHC;
 import cc.kasumi.uhc.game.Game;
-import org.bukkit.Bukkit;
+import cc.kasumi.uhc.util.TickCounter;
 
-public abstract class CountDownTask implements Runnable {
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Countdown placed on the game timeline up front: one event per announcement plus the final action.
+ * Subclasses read timeBefore for the seconds left when an announcement fires.
+ */
+public abstract class CountDownTask {
 
     protected final Game game;
     protected int timeBefore;
 
+    private final int duration;
+    private final List<GameTimeline.Event> events = new ArrayList<>();
+
     public CountDownTask(Game game, int timeBefore) {
         this.game = game;
         this.timeBefore = timeBefore;
+        this.duration = timeBefore;
     }
 
     public abstract boolean cancelBoolean();
@@ -19,38 +29,74 @@ public abstract class CountDownTask implements Runnable {
     public abstract void getSecondsLeftAction();
     public abstract void getFinalAction();
 
-    @Override
-    public void run() {
-        if (cancelBoolean()) {
-            return;
+    /**
+     * Schedules the announcements and the final action on the game timeline
+     */
+    public void schedule() {
+        schedule(0L);
+    }
+
+    /**
+     * Schedules the countdown to begin after the given number of game ticks
+     */
+    public void schedule(long startDelayTicks) {
+        GameTimeline timeline = game.getTimeline();
+
+        for (int secondsLeft = duration; secondsLeft > 0; secondsLeft--) {
+            if (isAnnouncement(secondsLeft)) {
+                int announced = secondsLeft;
+                events.add(timeline.schedule(startDelayTicks + TickCounter.secondsToTicks(duration - secondsLeft), () -> announce(announced)));
+            }
         }
 
-        if (timeBefore == 0) {
-            getFinalAction();
-            return; // Stop thread
+        events.add(timeline.schedule(startDelayTicks + TickCounter.secondsToTicks(duration), this::finish));
+    }
+
+    /**
+     * Removes every remaining event of this countdown from the timeline
+     */
+    public void cancel() {
+        for (GameTimeline.Event event : events) {
+            event.cancel();
         }
+        events.clear();
+    }
 
-        if (timeBefore <= 10 || (timeBefore < 60 * 5 && timeBefore % 60 == 0) || timeBefore % (60 * 5) == 0) {
-            if (timeBefore % 60 == 0) {
-                getMinutesLeftAction();
-            } else {
-                getSecondsLeftAction();
-            }
+    private void announce(int secondsLeft) {
+        if (cancelIfNeeded()) {
+            return;
         }
 
-        if (timeBefore >= 20) {
-            timeBefore -= 10;
-            Bukkit.getScheduler().runTaskLater(UHC.getInstance(), this, 200);
+        timeBefore = secondsLeft;
+        if (secondsLeft % 60 == 0) {
+            getMinutesLeftAction();
         } else {
-            timeBefore--;
-            Bukkit.getScheduler().runTaskLater(UHC.getInstance(), this, 20);
+            getSecondsLeftAction();
         }
     }
 
+    private void finish() {
+        if (cancelIfNeeded()) {
+            return;
+        }
+
+        timeBefore = 0;
+        events.clear();
+        getFinalAction();
+    }
+
+    private boolean cancelIfNeeded() {
+        if (cancelBoolean()) {
+            cancel();
+            return true;
+        }
+        return false;
+    }
+
     /**
-     * Schedules this task to run immediately
+     * Every second of the last 10, every minute of the last 5 and every 5 minutes before that
      */
-    public void schedule() {
-        Bukkit.getScheduler().runTask(UHC.getInstance(), this);
+    private static boolean isAnnouncement(int secondsLeft) {
+        return secondsLeft <= 10 || (secondsLeft < 60 * 5 && secondsLeft % 60 == 0) || secondsLeft % (60 * 5) == 0;
     }
-}
\ No newline at end of file
+}
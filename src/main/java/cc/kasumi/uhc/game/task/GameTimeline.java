@@ -0,0 +1,196 @@
+package cc.kasumi.uhc.game.task;
+
+import cc.kasumi.uhc.UHC;
+import cc.kasumi.uhc.util.TickCounter;
+import cc.kasumi.uhc.util.TickProfiler;
+import lombok.Getter;
+
+import java.util.PriorityQueue;
+import java.util.logging.Level;
+
+/**
+ * Game clock holding every timed game event (countdown announcements, PvP, final heal and
+ * border steps) in one timeline sorted by due tick, advanced by a single TickCounter hook.
+ * Game time only moves while the clock is running and not paused. Main thread only.
+ */
+public class GameTimeline {
+
+    private final PriorityQueue<Event> events = new PriorityQueue<>();
+    private final Runnable tickHook = TickProfiler.wrap("game-timeline", this::tick);
+
+    @Getter
+    private long elapsedTicks = 0;
+
+    @Getter
+    private boolean paused = false;
+
+    @Getter
+    private boolean running = false;
+
+    private long sequence = 0;
+
+    /**
+     * Hooks the clock into the tick counter
+     */
+    public void start() {
+        if (running) {
+            return;
+        }
+
+        running = true;
+        TickCounter.getInstance().addTickHook(tickHook);
+    }
+
+    /**
+     * Unhooks the clock, pending events are kept
+     */
+    public void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        TickCounter.getInstance().removeTickHook(tickHook);
+    }
+
+    /**
+     * Runs the action once the given number of game ticks has passed
+     */
+    public Event schedule(long delayTicks, Runnable action) {
+        Event event = new Event(elapsedTicks + Math.max(0L, delayTicks), sequence++, action);
+        events.add(event);
+        return event;
+    }
+
+    /**
+     * Stops game time, nothing fires until resumed
+     */
+    public void pause() {
+        paused = true;
+    }
+
+    public void resume() {
+        paused = false;
+    }
+
+    /**
+     * Moves game time forward, firing everything that becomes due in order
+     */
+    public void skip(long ticks) {
+        if (ticks > 0) {
+            advanceTo(elapsedTicks + ticks);
+        }
+    }
+
+    /**
+     * Cancels every pending event, the clock itself keeps running
+     */
+    public void cancelAll() {
+        for (Event event : events) {
+            event.cancelled = true;
+        }
+        events.clear();
+    }
+
+    /**
+     * Cancels every pending event and rewinds game time for a new game
+     */
+    public void reset() {
+        cancelAll();
+        elapsedTicks = 0;
+        paused = false;
+    }
+
+    public int getPendingCount() {
+        int pending = 0;
+        for (Event event : events) {
+            if (!event.cancelled) {
+                pending++;
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Game ticks until the next pending event, or -1 if the timeline is empty
+     */
+    public long getTicksUntilNext() {
+        discardCancelled();
+        return events.isEmpty() ? -1L : Math.max(0L, events.peek().tick - elapsedTicks);
+    }
+
+    private void tick() {
+        if (!paused) {
+            advanceTo(elapsedTicks + 1);
+        }
+    }
+
+    private void advanceTo(long target) {
+        discardCancelled();
+
+        while (!events.isEmpty() && events.peek().tick <= target) {
+            Event event = events.poll();
+
+            // Events queued by this action are relative to its own due tick, not the skip target
+            elapsedTicks = Math.max(elapsedTicks, event.tick);
+            event.fired = true;
+
+            try {
+                event.action.run();
+            } catch (Exception e) {
+                UHC.getInstance().getLogger().log(Level.SEVERE, "Error running game timeline event", e);
+            }
+
+            discardCancelled();
+        }
+
+        elapsedTicks = Math.max(elapsedTicks, target);
+    }
+
+    // Cancelled events are dropped lazily when they reach the head instead of an O(n) remove
+    private void discardCancelled() {
+        while (!events.isEmpty() && events.peek().cancelled) {
+            events.poll();
+        }
+    }
+
+    /**
+     * Handle to a scheduled game event
+     */
+    public final class Event implements Comparable<Event> {
+
+        private final long tick;
+        private final long order;
+        private final Runnable action;
+
+        @Getter
+        private boolean cancelled = false;
+
+        @Getter
+        private boolean fired = false;
+
+        private Event(long tick, long order, Runnable action) {
+            this.tick = tick;
+            this.order = order;
+            this.action = action;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isPending() {
+            return !cancelled && !fired;
+        }
+
+        public long getTicksRemaining() {
+            return Math.max(0L, tick - elapsedTicks);
+        }
+
+        @Override
+        public int compareTo(Event other) {
+            int compare = Long.compare(tick, other.tick);
+            return compare != 0 ? compare : Long.compare(order, other.order);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package cc.kasumi.uhc.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * One tick of moving players and combat-log villagers inside a shrunk border
+ */
+@Name("cc.kasumi.uhc.BorderTeleportBatch")
+@Label("Border Teleport Batch")
+@Category({"UHC", "Border"})
+@StackTrace(false)
+public final class BorderTeleportBatchEvent extends Event {
+
+    @Label("World")
+    public String world;
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Players")
+    public int players;
+
+    @Label("Villagers")
+    public int villagers;
+
+    @Label("Entity Index")
+    public int entityIndex;
+}
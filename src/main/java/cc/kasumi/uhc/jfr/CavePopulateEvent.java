@@ -0,0 +1,25 @@
+package cc.kasumi.uhc.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * GiantCave population of a single chunk
+ */
+@Name("cc.kasumi.uhc.CavePopulate")
+@Label("Giant Cave Population")
+@Category({"UHC", "World Generation"})
+@StackTrace(false)
+public final class CavePopulateEvent extends Event {
+
+    @Label("World")
+    public String world;
+
+    @Label("Chunk X")
+    public int chunkX;
+
+    @Label("Chunk Z")
+    public int chunkZ;
+
+    @Label("Blocks Cleared")
+    public int blocksCleared;
+}
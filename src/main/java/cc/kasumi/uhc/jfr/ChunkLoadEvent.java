@@ -0,0 +1,25 @@
+package cc.kasumi.uhc.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Synchronous chunk load or generation done by plugin code
+ */
+@Name("cc.kasumi.uhc.ChunkLoad")
+@Label("Plugin Chunk Load")
+@Category({"UHC", "World Generation"})
+@StackTrace(false)
+public final class ChunkLoadEvent extends Event {
+
+    @Label("World")
+    public String world;
+
+    @Label("Chunk X")
+    public int chunkX;
+
+    @Label("Chunk Z")
+    public int chunkZ;
+
+    @Label("Source")
+    public String source;
+}
@@ -0,0 +1,25 @@
+package cc.kasumi.uhc.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * One tick of chunk pregeneration
+ */
+@Name("cc.kasumi.uhc.PregenBatch")
+@Label("Pregeneration Batch")
+@Category({"UHC", "World Generation"})
+@StackTrace(false)
+public final class PregenBatchEvent extends Event {
+
+    @Label("World")
+    public String world;
+
+    @Label("Chunks")
+    public int chunks;
+
+    @Label("Chunks Generated")
+    public int generated;
+
+    @Label("Total Chunks")
+    public int total;
+}
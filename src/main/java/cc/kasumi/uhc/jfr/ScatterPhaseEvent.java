@@ -0,0 +1,28 @@
+package cc.kasumi.uhc.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * One phase of a progressive scatter, from the tick it started until the next phase began
+ */
+@Name("cc.kasumi.uhc.ScatterPhase")
+@Label("Scatter Phase")
+@Category({"UHC", "Scatter"})
+@StackTrace(false)
+public final class ScatterPhaseEvent extends Event {
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Teams")
+    public int teams;
+
+    @Label("Locations Found")
+    public int locationsFound;
+
+    @Label("Chunks Preloaded")
+    public int chunksPreloaded;
+
+    @Label("Teams Teleported")
+    public int teamsTeleported;
+}
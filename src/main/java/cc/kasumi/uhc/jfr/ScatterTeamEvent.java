@@ -0,0 +1,31 @@
+package cc.kasumi.uhc.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Teleport of one team to its scatter location
+ */
+@Name("cc.kasumi.uhc.ScatterTeam")
+@Label("Scatter Team Placement")
+@Category({"UHC", "Scatter"})
+@StackTrace(false)
+public final class ScatterTeamEvent extends Event {
+
+    @Label("Team")
+    public String team;
+
+    @Label("Members")
+    public int members;
+
+    @Label("X")
+    public int x;
+
+    @Label("Z")
+    public int z;
+
+    @Label("Location Attempts")
+    public int attempts;
+
+    @Label("Placed")
+    public boolean placed;
+}
@@ -0,0 +1,31 @@
+package cc.kasumi.uhc.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * One tick of border wall placement
+ */
+@Name("cc.kasumi.uhc.WallBuildBatch")
+@Label("Wall Build Batch")
+@Category({"UHC", "Border"})
+@StackTrace(false)
+public final class WallBuildBatchEvent extends Event {
+
+    @Label("World")
+    public String world;
+
+    @Label("Radius")
+    public int radius;
+
+    @Label("Budget")
+    public int budget;
+
+    @Label("Blocks")
+    public int blocks;
+
+    @Label("Blocks Placed")
+    public int placed;
+
+    @Label("Total Blocks")
+    public int total;
+}
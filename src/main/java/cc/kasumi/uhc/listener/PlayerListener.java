@@ -4,6 +4,8 @@ import cc.kasumi.uhc.UHC;
 import cc.kasumi.uhc.game.Game;
 import cc.kasumi.uhc.player.PlayerState;
 import cc.kasumi.uhc.player.UHCPlayer;
+import cc.kasumi.uhc.util.ChunkLoadTracker;
+import cc.kasumi.uhc.util.TimingWheel;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
@@ -42,7 +44,7 @@ public class PlayerListener implements Listener {
         }
 
         UHCPlayer uhcPlayer = new UHCPlayer(uuid);
-        game.getPlayers().put(uuid, uhcPlayer);
+        game.putUHCPlayer(uuid, uhcPlayer);
     }
 
     @EventHandler(priority = EventPriority.HIGH)
@@ -67,12 +69,7 @@ public class PlayerListener implements Listener {
     public void onPlayerDeath(PlayerDeathEvent event) {
         Player player = event.getEntity();
 
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                player.spigot().respawn();
-            }
-        }.runTaskLater(UHC.getInstance(), 1);
+        TimingWheel.getInstance().schedule(() -> player.spigot().respawn(), 1L);
     }
 
     /*
@@ -124,13 +121,12 @@ public class PlayerListener implements Listener {
 
                     for (int dx = -CHUNK_LOAD_RADIUS; dx <= CHUNK_LOAD_RADIUS; dx++) {
                         for (int dz = -CHUNK_LOAD_RADIUS; dz <= CHUNK_LOAD_RADIUS; dz++) {
-                            Chunk chunk = destination.getWorld().getChunkAt(
-                                centerChunk.getX() + dx,
-                                centerChunk.getZ() + dz
-                            );
+                            int chunkX = centerChunk.getX() + dx;
+                            int chunkZ = centerChunk.getZ() + dz;
 
-                            if (!chunk.isLoaded()) {
-                                chunk.load(true); // Synchronous loading in 1.8.8
+                            if (!destination.getWorld().isChunkLoaded(chunkX, chunkZ)) {
+                                // Synchronous loading in 1.8.8
+                                ChunkLoadTracker.load(destination.getWorld(), chunkX, chunkZ, "teleport");
                                 chunksLoaded++;
                             }
                         }
@@ -179,23 +179,6 @@ public class SpectatorListener implements Listener {
         }
     }
 
-    /**
-     * Handle movement events for spectators
-     */
-    @EventHandler(priority = EventPriority.MONITOR)
-    public void onPlayerMove(PlayerMoveEvent event) {
-        Player player = event.getPlayer();
-        if (isSpectator(player)) {
-            // Ensure spectators can fly and don't trigger pressure plates
-            if (!player.getAllowFlight()) {
-                player.setAllowFlight(true);
-            }
-            if (!player.isFlying() && player.getLocation().getBlock().getType() != Material.AIR) {
-                player.setFlying(true);
-            }
-        }
-    }
-
     /**
      * Ensure spectators can always fly
      */
@@ -217,19 +200,20 @@ public class SpectatorListener implements Listener {
     @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
-        
+
+        // Every player is a viewer in the visibility matrix, spectator or not
+        if (game.getSpectatorManager() != null) {
+            game.getSpectatorManager().handlePlayerJoin(player);
+            return;
+        }
+
         if (!game.containsUHCPlayer(player.getUniqueId())) {
             return;
         }
         
         UHCPlayer uhcPlayer = game.getUHCPlayer(player.getUniqueId());
         if (uhcPlayer != null && uhcPlayer.isSpectator()) {
-            // Re-apply spectator settings using SpectatorManager
-            if (game.getSpectatorManager() != null) {
-                game.getSpectatorManager().handlePlayerJoin(player);
-            } else {
-                uhcPlayer.manageSpectator(player);
-            }
+            uhcPlayer.manageSpectator(player);
         }
     }
 
@@ -239,19 +223,12 @@ public class SpectatorListener implements Listener {
     @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerQuit(PlayerQuitEvent event) {
         Player player = event.getPlayer();
-        
-        if (!game.containsUHCPlayer(player.getUniqueId())) {
-            return;
-        }
-        
-        UHCPlayer uhcPlayer = game.getUHCPlayer(player.getUniqueId());
-        if (uhcPlayer != null && uhcPlayer.isSpectator()) {
-            // Cleanup spectator data using SpectatorManager
-            if (game.getSpectatorManager() != null) {
-                game.getSpectatorManager().handlePlayerQuit(player);
-            }
-            // Note: player.hidePlayer() cleanup is automatic on quit
+
+        // Cleanup visibility data using SpectatorManager
+        if (game.getSpectatorManager() != null) {
+            game.getSpectatorManager().handlePlayerQuit(player);
         }
+        // Note: player.hidePlayer() cleanup is automatic on quit
     }
 
     /**
@@ -0,0 +1,243 @@
+package cc.kasumi.uhc.log;
+
+import cc.kasumi.uhc.UHC;
+import lombok.Getter;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Asynchronous appender behind LogSite. Callers only enqueue into a fixed-size ring buffer,
+ * a single writer thread formats the lines as key=value records into logs/uhc.log and
+ * optionally forwards them to the plugin logger. A full buffer drops lines instead of blocking.
+ * Until started, and after stopping, lines go straight to the plugin logger.
+ */
+public class AsyncLogWriter {
+
+    private static final int CAPACITY = 8192;
+    private static final int BATCH_SIZE = 256;
+    private static final long MAX_FILE_BYTES = 10L * 1024L * 1024L;
+
+    private static AsyncLogWriter instance;
+
+    private final ArrayBlockingQueue<Entry> buffer = new ArrayBlockingQueue<>(CAPACITY);
+
+    @Getter
+    private final AtomicLong droppedLines = new AtomicLong();
+
+    private Thread thread;
+    private volatile boolean running = false;
+    private boolean console = true;
+    private File file;
+    private Writer writer;
+
+    public static AsyncLogWriter getInstance() {
+        if (instance == null) {
+            instance = new AsyncLogWriter();
+        }
+        return instance;
+    }
+
+    private AsyncLogWriter() {
+    }
+
+    public void start() {
+        if (running) {
+            return;
+        }
+
+        UHC plugin = UHC.getInstance();
+        FileConfiguration config = plugin.getConfig();
+
+        config.addDefault("logging.console", true);
+        config.options().copyDefaults(true);
+        plugin.saveConfig();
+
+        console = config.getBoolean("logging.console");
+        file = new File(new File(plugin.getDataFolder(), "logs"), "uhc.log");
+
+        running = true;
+        thread = new Thread(this::drainLoop, "UHC-Log");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the writer thread and writes out everything still buffered
+     */
+    public void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(2000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+
+        List<Entry> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        write(remaining);
+        closeWriter();
+    }
+
+    void append(Level level, String site, String message, int suppressed, int sampleEvery) {
+        Entry entry = new Entry(System.currentTimeMillis(), Thread.currentThread().getName(),
+                level, site, message, suppressed, sampleEvery);
+
+        if (!running) {
+            logToConsole(entry);
+            return;
+        }
+
+        if (!buffer.offer(entry)) {
+            droppedLines.incrementAndGet();
+        }
+    }
+
+    public int getBuffered() {
+        return buffer.size();
+    }
+
+    private void drainLoop() {
+        List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+
+        while (running) {
+            try {
+                Entry first = buffer.poll(250L, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                buffer.drainTo(batch, BATCH_SIZE - 1);
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                // stop() drains whatever is left
+                return;
+            } catch (Exception e) {
+                UHC.getInstance().getLogger().log(Level.WARNING, "Error in async log writer", e);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        try {
+            Writer out = openWriter();
+            for (Entry entry : entries) {
+                out.write(format(entry));
+                out.write('\n');
+            }
+            out.flush();
+        } catch (IOException e) {
+            UHC.getInstance().getLogger().log(Level.WARNING, "Failed to write " + file, e);
+            closeWriter();
+        }
+
+        if (console) {
+            for (Entry entry : entries) {
+                logToConsole(entry);
+            }
+        }
+    }
+
+    private Writer openWriter() throws IOException {
+        if (writer != null && file.length() < MAX_FILE_BYTES) {
+            return writer;
+        }
+
+        closeWriter();
+
+        File folder = file.getParentFile();
+        if (!folder.exists() && !folder.mkdirs()) {
+            throw new IOException("Could not create " + folder);
+        }
+
+        // Keep one previous file
+        if (file.length() >= MAX_FILE_BYTES) {
+            File previous = new File(folder, file.getName() + ".1");
+            if (previous.exists()) {
+                previous.delete();
+            }
+            file.renameTo(previous);
+        }
+
+        writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+        return writer;
+    }
+
+    private void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException ignored) {
+            }
+            writer = null;
+        }
+    }
+
+    private static String format(Entry entry) {
+        StringBuilder builder = new StringBuilder(96 + entry.message.length());
+        builder.append("ts=").append(Instant.ofEpochMilli(entry.time))
+                .append(" level=").append(entry.level.getName())
+                .append(" thread=\"").append(entry.thread).append('"')
+                .append(" site=").append(entry.site);
+
+        if (entry.sampleEvery > 1) {
+            builder.append(" sample=1/").append(entry.sampleEvery);
+        }
+        if (entry.suppressed > 0) {
+            builder.append(" suppressed=").append(entry.suppressed);
+        }
+
+        builder.append(" msg=\"").append(entry.message.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        return builder.toString();
+    }
+
+    private static void logToConsole(Entry entry) {
+        Logger logger = UHC.getInstance().getLogger();
+        logger.log(entry.level, entry.suppressed > 0
+                ? entry.message + " (" + entry.suppressed + " similar suppressed)"
+                : entry.message);
+    }
+
+    private static final class Entry {
+
+        private final long time;
+        private final String thread;
+        private final Level level;
+        private final String site;
+        private final String message;
+        private final int suppressed;
+        private final int sampleEvery;
+
+        private Entry(long time, String thread, Level level, String site, String message, int suppressed, int sampleEvery) {
+            this.time = time;
+            this.thread = thread;
+            this.level = level;
+            this.site = site;
+            this.message = message;
+            this.suppressed = suppressed;
+            this.sampleEvery = sampleEvery;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package cc.kasumi.uhc.log;
+
+import cc.kasumi.uhc.UHC;
+import lombok.Getter;
+
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * A named logging call site for hot paths, kept in a static field next to the code that logs.
+ * The message supplier only runs when the level is enabled and the line passes the site's
+ * sampling and per-second limit, and the line is written off the main thread by AsyncLogWriter.
+ * Lines dropped by the limit are reported as a count on the next line that gets through.
+ */
+public final class LogSite {
+
+    @Getter
+    private final String name;
+
+    private int perSecond = Integer.MAX_VALUE;
+    private int sampleEvery = 1;
+
+    // Guarded by this, sites are almost only hit from the main thread so the lock is uncontended
+    private long calls = 0;
+    private long windowStart = 0;
+    private int windowCount = 0;
+    private int suppressed = 0;
+
+    private LogSite(String name) {
+        this.name = name;
+    }
+
+    public static LogSite of(String name) {
+        return new LogSite(name);
+    }
+
+    /**
+     * Writes at most this many lines per second, the rest are counted as suppressed
+     */
+    public LogSite perSecond(int limit) {
+        this.perSecond = Math.max(1, limit);
+        return this;
+    }
+
+    /**
+     * Only considers every nth call, e.g. 10 keeps one line in ten
+     */
+    public LogSite sampleEvery(int n) {
+        this.sampleEvery = Math.max(1, n);
+        return this;
+    }
+
+    public void fine(Supplier<String> message) {
+        log(Level.FINE, message);
+    }
+
+    public void info(Supplier<String> message) {
+        log(Level.INFO, message);
+    }
+
+    public void warning(Supplier<String> message) {
+        log(Level.WARNING, message);
+    }
+
+    public void log(Level level, Supplier<String> message) {
+        if (!UHC.getInstance().getLogger().isLoggable(level)) {
+            return;
+        }
+
+        int dropped;
+        synchronized (this) {
+            if (calls++ % sampleEvery != 0) {
+                return;
+            }
+
+            long now = System.currentTimeMillis();
+            if (now - windowStart >= 1000L) {
+                windowStart = now;
+                windowCount = 0;
+            }
+
+            if (windowCount >= perSecond) {
+                suppressed++;
+                return;
+            }
+
+            windowCount++;
+            dropped = suppressed;
+            suppressed = 0;
+        }
+
+        AsyncLogWriter.getInstance().append(level, name, message.get(), dropped, sampleEvery);
+    }
+}
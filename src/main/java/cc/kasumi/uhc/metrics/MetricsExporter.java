@@ -0,0 +1,290 @@
+package cc.kasumi.uhc.metrics;
+
+import cc.kasumi.uhc.UHC;
+import cc.kasumi.uhc.game.Game;
+import cc.kasumi.uhc.packets.PacketOutbox;
+import cc.kasumi.uhc.player.PlayerState;
+import cc.kasumi.uhc.team.TeamManager;
+import cc.kasumi.uhc.util.*;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+
+/**
+ * Opt-in Prometheus endpoint for live game and performance metrics.
+ * The snapshot is built on the main thread every interval and the HTTP thread only
+ * serves the last rendered text, so scraping never touches game state.
+ */
+public class MetricsExporter {
+
+    private static MetricsExporter instance;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private BukkitTask snapshotTask;
+    private int intervalTicks = 20;
+
+    // Last rendered exposition text, written by the main thread and read by the HTTP thread
+    private volatile byte[] snapshot = new byte[0];
+
+    public static MetricsExporter getInstance() {
+        if (instance == null) {
+            instance = new MetricsExporter();
+        }
+        return instance;
+    }
+
+    private MetricsExporter() {
+    }
+
+    /**
+     * Starts the endpoint if metrics.enabled is set in the config
+     */
+    public void start() {
+        UHC plugin = UHC.getInstance();
+        FileConfiguration config = plugin.getConfig();
+
+        config.addDefault("metrics.enabled", false);
+        config.addDefault("metrics.host", "127.0.0.1");
+        config.addDefault("metrics.port", 9225);
+        config.addDefault("metrics.interval-ticks", 20);
+        config.options().copyDefaults(true);
+        plugin.saveConfig();
+
+        if (!config.getBoolean("metrics.enabled")) {
+            return;
+        }
+
+        String host = config.getString("metrics.host");
+        int port = config.getInt("metrics.port");
+        intervalTicks = Math.max(1, config.getInt("metrics.interval-ticks"));
+
+        try {
+            server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not bind metrics endpoint to " + host + ":" + port, e);
+            return;
+        }
+
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "UHC-Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        server.createContext("/metrics", this::handle);
+        server.setExecutor(executor);
+        server.start();
+
+        startSnapshotTask();
+        plugin.getLogger().info("Metrics endpoint listening on http://" + host + ":" + port + "/metrics");
+    }
+
+    /**
+     * Starts the snapshot task, does nothing while disabled
+     */
+    private void startSnapshotTask() {
+        if (server == null) {
+            return;
+        }
+
+        if (snapshotTask != null) {
+            snapshotTask.cancel();
+        }
+
+        snapshotTask = new ProfiledRunnable("metrics") {
+            @Override
+            protected void tick() {
+                snapshot = render().getBytes(StandardCharsets.UTF_8);
+            }
+        }.runTaskTimer(UHC.getInstance(), 0L, intervalTicks);
+    }
+
+    public void stop() {
+        if (snapshotTask != null) {
+            snapshotTask.cancel();
+            snapshotTask = null;
+        }
+
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body = snapshot;
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Renders every metric in the Prometheus text format (main thread only)
+     */
+    private String render() {
+        StringBuilder builder = new StringBuilder(4096);
+        Game game = UHC.getInstance().getGame();
+
+        if (game != null) {
+            header(builder, "uhc_players", "gauge", "Players per state");
+            for (PlayerState state : PlayerState.values()) {
+                sample(builder, "uhc_players", "state", state.name().toLowerCase(Locale.ROOT), game.getStateCount(state));
+            }
+
+            header(builder, "uhc_combat_log_proxies", "gauge", "Active combat-log proxies");
+            sample(builder, "uhc_combat_log_proxies", game.getCombatLogVillagerManager().getCombatLogProxies().size());
+
+            header(builder, "uhc_combat_log_villagers", "gauge", "Active combat-log villagers");
+            sample(builder, "uhc_combat_log_villagers", game.getCombatLogVillagerManager().getCombatLogVillagers().size());
+
+            TeamManager.TeamStats teamStats = game.getTeamManager().getTeamStats();
+            header(builder, "uhc_teams", "gauge", "Teams per status");
+            sample(builder, "uhc_teams", "status", "alive", teamStats.aliveTeams);
+            sample(builder, "uhc_teams", "status", "eliminated", teamStats.eliminatedTeams);
+            header(builder, "uhc_team_players", "gauge", "Players in a team");
+            sample(builder, "uhc_team_players", teamStats.totalPlayers);
+            header(builder, "uhc_team_size_largest", "gauge", "Largest team size");
+            sample(builder, "uhc_team_size_largest", teamStats.largestTeamSize);
+
+            renderScatter(builder, game.getActiveScatter());
+        }
+
+        renderWallBuilders(builder);
+
+        header(builder, "uhc_chunks_loaded_total", "counter", "Chunks synchronously loaded by plugin code");
+        for (Map.Entry<String, Long> entry : ChunkLoadTracker.getLoadsBySource().entrySet()) {
+            sample(builder, "uhc_chunks_loaded_total", "source", entry.getKey(), entry.getValue());
+        }
+
+        TickCounter tickCounter = TickCounter.getInstance();
+        header(builder, "uhc_tps", "gauge", "Measured ticks per second");
+        sample(builder, "uhc_tps", "window", "1s", tickCounter.getTps1s());
+        sample(builder, "uhc_tps", "window", "1m", tickCounter.getTps1m());
+        sample(builder, "uhc_tps", "window", "5m", tickCounter.getTps5m());
+
+        // NaN when the server's tick times can't be read
+        header(builder, "uhc_mspt", "gauge", "Milliseconds of work per tick, percentiles over the last minute");
+        sample(builder, "uhc_mspt", "quantile", "0.5", tickCounter.getMspt(0.50));
+        sample(builder, "uhc_mspt", "quantile", "0.95", tickCounter.getMspt(0.95));
+        sample(builder, "uhc_mspt", "quantile", "0.99", tickCounter.getMspt(0.99));
+
+        header(builder, "uhc_tick_interval_ms", "gauge", "Milliseconds between tick starts, percentiles over the last minute");
+        sample(builder, "uhc_tick_interval_ms", "quantile", "0.5", tickCounter.getTickInterval(0.50));
+        sample(builder, "uhc_tick_interval_ms", "quantile", "0.95", tickCounter.getTickInterval(0.95));
+        sample(builder, "uhc_tick_interval_ms", "quantile", "0.99", tickCounter.getTickInterval(0.99));
+
+        PacketOutbox outbox = PacketOutbox.getInstance();
+        header(builder, "uhc_packets_sent_total", "counter", "Packets sent per plugin subsystem");
+        for (Map.Entry<String, Long> entry : outbox.getSentBySubsystem().entrySet()) {
+            sample(builder, "uhc_packets_sent_total", "subsystem", entry.getKey(), entry.getValue());
+        }
+
+        header(builder, "uhc_packet_outbox_queued_total", "counter", "Packets queued in the outbox");
+        sample(builder, "uhc_packet_outbox_queued_total", outbox.getPacketsQueued());
+        header(builder, "uhc_packet_outbox_coalesced_total", "counter", "Queued packets replaced before flush");
+        sample(builder, "uhc_packet_outbox_coalesced_total", outbox.getPacketsCoalesced());
+        header(builder, "uhc_packet_outbox_flushes_total", "counter", "Outbox flushes");
+        sample(builder, "uhc_packet_outbox_flushes_total", outbox.getFlushes());
+
+        return builder.toString();
+    }
+
+    private void renderScatter(StringBuilder builder, ProgressiveScatterManager scatter) {
+        if (scatter == null) {
+            return;
+        }
+
+        double seconds = Math.max(0.001, scatter.getElapsedMillis() / 1000.0);
+
+        header(builder, "uhc_scatter_phase", "gauge", "Current scatter phase");
+        for (ProgressiveScatterManager.ScatterPhase phase : ProgressiveScatterManager.ScatterPhase.values()) {
+            sample(builder, "uhc_scatter_phase", "phase", phase.name().toLowerCase(Locale.ROOT),
+                    phase.name().equals(scatter.getCurrentPhase()) ? 1 : 0);
+        }
+
+        header(builder, "uhc_scatter_progress_percent", "gauge", "Scatter progress");
+        sample(builder, "uhc_scatter_progress_percent", scatter.getProgress());
+
+        header(builder, "uhc_scatter_teams", "gauge", "Teams to scatter");
+        sample(builder, "uhc_scatter_teams", scatter.getTeamCount());
+        header(builder, "uhc_scatter_locations_found", "gauge", "Scatter locations found");
+        sample(builder, "uhc_scatter_locations_found", scatter.getLocationsFound());
+        header(builder, "uhc_scatter_chunks_preloaded", "gauge", "Scatter chunks preloaded");
+        sample(builder, "uhc_scatter_chunks_preloaded", scatter.getChunksPreloaded());
+        header(builder, "uhc_scatter_chunks_to_preload", "gauge", "Scatter chunks to preload");
+        sample(builder, "uhc_scatter_chunks_to_preload", scatter.getTotalChunksToPreload());
+        header(builder, "uhc_scatter_teams_teleported", "gauge", "Teams teleported");
+        sample(builder, "uhc_scatter_teams_teleported", scatter.getTeamsTeleported());
+
+        header(builder, "uhc_scatter_rate", "gauge", "Scatter work done per second since the scatter started");
+        sample(builder, "uhc_scatter_rate", "kind", "locations", scatter.getLocationsFound() / seconds);
+        sample(builder, "uhc_scatter_rate", "kind", "chunks", scatter.getChunksPreloaded() / seconds);
+        sample(builder, "uhc_scatter_rate", "kind", "teams", scatter.getTeamsTeleported() / seconds);
+    }
+
+    private void renderWallBuilders(StringBuilder builder) {
+        header(builder, "uhc_wall_builder_progress_percent", "gauge", "Progress of each active wall builder");
+        for (Map.Entry<String, ProgressiveWallBuilder> entry : GameUtil.getActiveBuilders().entrySet()) {
+            sample(builder, "uhc_wall_builder_progress_percent", "builder", entry.getKey(), entry.getValue().getProgress());
+        }
+    }
+
+    private static void header(StringBuilder builder, String name, String type, String help) {
+        builder.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder builder, String name, double value) {
+        builder.append(name).append(' ');
+        value(builder, value);
+    }
+
+    private static void sample(StringBuilder builder, String name, String label, String labelValue, double value) {
+        builder.append(name).append('{').append(label).append("=\"")
+                .append(labelValue.replace("\\", "\\\\").replace("\"", "\\\""))
+                .append("\"} ");
+        value(builder, value);
+    }
+
+    private static void value(StringBuilder builder, double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            builder.append((long) value);
+        } else {
+            builder.append(String.format(Locale.ROOT, "%.4f", value));
+        }
+        builder.append('\n');
+    }
+}
@@ -0,0 +1,147 @@
+package cc.kasumi.uhc.packets;
+
+import cc.kasumi.uhc.UHC;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.logging.Level;
+
+/**
+ * Builds an announcement packet once and hands the same instance to every recipient.
+ * NMS chat and title packets are immutable once constructed, so only the per-player
+ * write is repeated. Bukkit's broadcastMessage builds a new chat packet per player.
+ * Packets are never deferred, so broadcasts and player.sendMessage calls arrive in call order.
+ */
+public final class BroadcastPackets {
+
+    private static boolean initialized = false;
+    private static boolean available = false;
+
+    // CraftChatMessage.fromString(String) -> IChatBaseComponent[]
+    private static MethodHandle fromString;
+    private static MethodHandle chatConstructor;
+    private static MethodHandle titleConstructor;
+    private static MethodHandle timesConstructor;
+    private static Object titleAction;
+    private static Object subtitleAction;
+
+    private BroadcastPackets() {
+    }
+
+    /**
+     * Sends a chat message to every online player and the console, like Bukkit.broadcastMessage
+     */
+    public static void broadcastMessage(String message) {
+        Bukkit.getConsoleSender().sendMessage(message);
+
+        Object[] packets = chatPackets(message);
+        if (packets == null) {
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                player.sendMessage(message);
+            }
+            return;
+        }
+
+        broadcast(Bukkit.getOnlinePlayers(), packets);
+    }
+
+    /**
+     * Shows a title and subtitle to the given players
+     *
+     * @return false if title packets are not available on this server
+     */
+    public static boolean sendTitle(Collection<? extends Player> players, String title, String subtitle,
+                                    int fadeIn, int stay, int fadeOut) {
+        if (!init() || titleConstructor == null) {
+            return false;
+        }
+
+        try {
+            Object times = timesConstructor.invoke(fadeIn, stay, fadeOut);
+            Object subtitlePacket = titleConstructor.invoke(subtitleAction, component(subtitle));
+            Object titlePacket = titleConstructor.invoke(titleAction, component(title));
+
+            broadcast(players, times, subtitlePacket, titlePacket);
+            return true;
+        } catch (Throwable e) {
+            UHC.getInstance().getLogger().log(Level.WARNING, "Failed to build title packets", e);
+            return false;
+        }
+    }
+
+    /**
+     * Sends prebuilt packets, in order, to each player immediately
+     */
+    public static void broadcast(Collection<? extends Player> players, Object... packets) {
+        for (Player player : players) {
+            for (Object packet : packets) {
+                PacketAccessor.sendPacketNow(player, packet, "broadcast");
+            }
+        }
+    }
+
+    private static Object[] chatPackets(String message) {
+        if (!init()) {
+            return null;
+        }
+
+        try {
+            // One component per line, same as CraftPlayer.sendMessage
+            Object components = fromString.invoke(message);
+            int length = Array.getLength(components);
+            Object[] packets = new Object[length];
+
+            for (int i = 0; i < length; i++) {
+                packets[i] = chatConstructor.invoke(Array.get(components, i));
+            }
+
+            return packets;
+        } catch (Throwable e) {
+            UHC.getInstance().getLogger().log(Level.WARNING, "Failed to build chat packet", e);
+            return null;
+        }
+    }
+
+    private static Object component(String text) throws Throwable {
+        Object components = fromString.invoke(text == null ? "" : text);
+        return Array.getLength(components) > 0 ? Array.get(components, 0) : null;
+    }
+
+    private static boolean init() {
+        if (initialized) {
+            return available;
+        }
+
+        initialized = true;
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            String nms = "net.minecraft.server." + PacketAccessor.VERSION + ".";
+
+            Class<?> chatComponent = Class.forName(nms + "IChatBaseComponent");
+            fromString = lookup.unreflect(Class.forName("org.bukkit.craftbukkit." + PacketAccessor.VERSION + ".util.CraftChatMessage")
+                    .getMethod("fromString", String.class));
+            chatConstructor = lookup.findConstructor(Class.forName(nms + "PacketPlayOutChat"),
+                    MethodType.methodType(void.class, chatComponent));
+            available = true;
+
+            // Titles only exist from 1.8
+            Class<?> titlePacket = Class.forName(nms + "PacketPlayOutTitle");
+            Class<?> actionClass = Class.forName(nms + "PacketPlayOutTitle$EnumTitleAction");
+
+            timesConstructor = lookup.findConstructor(titlePacket, MethodType.methodType(void.class, int.class, int.class, int.class));
+            titleAction = actionClass.getField("TITLE").get(null);
+            subtitleAction = actionClass.getField("SUBTITLE").get(null);
+            titleConstructor = lookup.findConstructor(titlePacket, MethodType.methodType(void.class, actionClass, chatComponent));
+        } catch (Exception e) {
+            UHC.getInstance().getLogger().info("Shared broadcast packets " + (available ? "available without titles" : "unavailable") + ": " + e.getMessage());
+        }
+
+        return available;
+    }
+}
@@ -3,8 +3,9 @@ package cc.kasumi.uhc.packets;
 import cc.kasumi.uhc.UHC;
 import cc.kasumi.uhc.team.TeamManager;
 import cc.kasumi.uhc.team.UHCTeam;
+import cc.kasumi.uhc.util.TickProfiler;
+import cc.kasumi.uhc.util.TimingWheel;
 import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 
 import java.util.*;
@@ -14,333 +15,324 @@ import java.util.*;
  * - Teammates see each other in green
  * - Enemies see each other in red
  * - Players see themselves normally
+ *
+ * Colour only depends on the relation, so every viewer gets three client-side teams
+ * (self, teammate, enemy) and targets are moved between them with member add/remove packets.
+ * Updates mark state dirty and are reconciled against what was last sent once per tick.
  */
 public class NameTagCreator {
 
-    private static final Map<UUID, Map<UUID, String>> activeTeams = new HashMap<>();
-    private static final String TEAM_PREFIX = "t"; // Shortened prefix
+    // Viewer -> target name -> relation the viewer should currently see
+    private static final Map<UUID, Map<String, NameTagRelation>> desiredRelations = new HashMap<>();
+    // Viewer -> target name -> relation last sent to that viewer
+    private static final Map<UUID, Map<String, NameTagRelation>> sentRelations = new HashMap<>();
 
-    // Team colors
-    private static final String TEAMMATE_COLOR = ChatColor.GREEN.toString();
-    private static final String ENEMY_COLOR = ChatColor.RED.toString();
-    private static final String SELF_COLOR = ChatColor.WHITE.toString();
+    // Changes are only marked here and reconciled once per tick
+    private static final Set<UUID> dirtyViewers = new HashSet<>();
+    private static final Set<UUID> dirtyTargets = new HashSet<>();
+    private static final Set<UUID> pendingDiffViewers = new HashSet<>();
+    private static boolean allDirty = false;
+    private static TimingWheel.Timeout flushTimeout;
+    private static final Runnable FLUSH_TASK = TickProfiler.wrap("nametags", NameTagCreator::flush);
 
     /**
      * Update nametags for all players based on current team configuration
      */
     public static void updateAllNameTags() {
-        try {
-            UHC uhc = UHC.getInstance();
-            if (uhc == null || uhc.getGame() == null) {
-                return;
-            }
+        allDirty = true;
+        requestFlush();
+    }
 
-            TeamManager teamManager = uhc.getGame().getTeamManager();
-            if (teamManager == null) {
-                return;
-            }
+    /**
+     * Update how a specific player sees everyone else
+     */
+    public static void updateNameTagsForPlayer(Player viewer) {
+        dirtyViewers.add(viewer.getUniqueId());
+        requestFlush();
+    }
 
-            // Clear existing team configurations
-            clearAllTeams();
+    /**
+     * Update nametags when a player joins or changes team.
+     * The player's own view is recomputed, everyone else only recomputes that one target.
+     */
+    public static void updateNameTagsForTeamChange(Player player) {
+        dirtyViewers.add(player.getUniqueId());
+        dirtyTargets.add(player.getUniqueId());
+        requestFlush();
+    }
 
-            // Update nametags for each player
-            for (Player viewer : Bukkit.getOnlinePlayers()) {
-                try {
-                    updateNameTagsForPlayer(viewer, teamManager);
-                } catch (Exception e) {
-                    UHC.getInstance().getLogger().warning("Failed to update nametags for " + viewer.getName() + ": " + e.getMessage());
-                }
+    /**
+     * Clean up nametags when a player leaves
+     */
+    public static void cleanupPlayer(Player player) {
+        UUID playerUuid = player.getUniqueId();
+        String playerName = player.getName();
+
+        desiredRelations.remove(playerUuid);
+        sentRelations.remove(playerUuid);
+        dirtyViewers.remove(playerUuid);
+        dirtyTargets.remove(playerUuid);
+        pendingDiffViewers.remove(playerUuid);
+
+        // Drop this player from every other view, the removal packets go out with the next flush
+        for (Map.Entry<UUID, Map<String, NameTagRelation>> entry : desiredRelations.entrySet()) {
+            if (entry.getValue().remove(playerName) != null) {
+                pendingDiffViewers.add(entry.getKey());
             }
-        } catch (Exception e) {
-            UHC.getInstance().getLogger().severe("Critical error in updateAllNameTags: " + e.getMessage());
-            e.printStackTrace();
+        }
+
+        if (!pendingDiffViewers.isEmpty()) {
+            requestFlush();
         }
     }
 
     /**
-     * Update nametags for a specific player (when they join)
+     * Delete every viewer's teams right away and forget all state
      */
-    public static void updateNameTagsForPlayer(Player viewer, TeamManager teamManager) {
-        UUID viewerUuid = viewer.getUniqueId();
-        UHCTeam viewerTeam = teamManager.getPlayerTeam(viewerUuid);
-
-        // Create teams for this viewer
-        Map<UUID, String> viewerTeams = new HashMap<>();
-        activeTeams.put(viewerUuid, viewerTeams);
+    public static void clearAll() {
+        try {
+            for (UUID viewerUuid : sentRelations.keySet()) {
+                Player viewer = Bukkit.getPlayer(viewerUuid);
+                if (viewer != null && viewer.isOnline()) {
+                    deleteTeamsForViewer(viewer);
+                }
+            }
+        } catch (Exception e) {
+            // Ignore cleanup errors
+        }
 
-        for (Player target : Bukkit.getOnlinePlayers()) {
-            UUID targetUuid = target.getUniqueId();
-            UHCTeam targetTeam = teamManager.getPlayerTeam(targetUuid);
+        desiredRelations.clear();
+        sentRelations.clear();
+        dirtyViewers.clear();
+        dirtyTargets.clear();
+        pendingDiffViewers.clear();
+        allDirty = false;
 
-            String teamName = getTeamNameForViewer(viewerUuid, targetUuid);
-            String color = determineColor(viewerTeam, targetTeam, viewerUuid, targetUuid);
+        if (flushTimeout != null) {
+            flushTimeout.cancel();
+            flushTimeout = null;
+        }
+    }
 
-            // Create team packet for this viewer (including for themselves)
-            createTeamForViewer(viewer, target, teamName, color);
-            viewerTeams.put(targetUuid, teamName);
+    private static void requestFlush() {
+        // A reset of the wheel drops the pending flush, so check the handle rather than a flag
+        if (flushTimeout == null || !flushTimeout.isPending()) {
+            flushTimeout = TimingWheel.getInstance().schedule(FLUSH_TASK, 1L);
         }
     }
 
     /**
-     * Update nametags when teams change
+     * Recompute the dirty part of the desired state, then send the difference to the sent state in one batch
      */
-    public static void updateNameTagsForTeamChange(Player player) {
+    private static void flush() {
+        flushTimeout = null;
+
         try {
-            UHC uhc = UHC.getInstance();
-            if (uhc == null || uhc.getGame() == null) {
+            TeamManager teamManager = getTeamManager();
+            if (teamManager == null) {
                 return;
             }
 
-            TeamManager teamManager = uhc.getGame().getTeamManager();
-            if (teamManager == null) {
-                return;
+            Collection<? extends Player> online = Bukkit.getOnlinePlayers();
+            Set<UUID> changedViewers = new HashSet<>(pendingDiffViewers);
+
+            List<Player> changedTargets = new ArrayList<>();
+            for (UUID targetUuid : dirtyTargets) {
+                Player target = Bukkit.getPlayer(targetUuid);
+                if (target != null) {
+                    changedTargets.add(target);
+                }
             }
 
-            // Clean up old nametag data for this player first
-            cleanupPlayer(player);
-
-            // Update how this player sees others (complete refresh)
-            updateNameTagsForPlayer(player, teamManager);
-
-            // Update how others see this player (complete refresh for all other players)
-            for (Player other : Bukkit.getOnlinePlayers()) {
-                if (!other.equals(player)) {
-                    try {
-                        // Clean up and refresh the other player's view
-                        UUID otherUuid = other.getUniqueId();
-                        UUID playerUuid = player.getUniqueId();
-
-                        // Remove old team relationship if it exists
-                        Map<UUID, String> otherTeams = activeTeams.get(otherUuid);
-                        if (otherTeams != null && otherTeams.containsKey(playerUuid)) {
-                            String oldTeamName = otherTeams.get(playerUuid);
-                            removePlayerFromTeam(other, player, oldTeamName);
-                            otherTeams.remove(playerUuid);
-                        }
-
-                        // Create new team relationship
-                        updateSingleNameTag(other, player, teamManager);
-
-                    } catch (Exception e) {
-                        UHC.getInstance().getLogger().warning("Failed to update " + other.getName() +
-                                "'s view of " + player.getName() + ": " + e.getMessage());
+            for (Player viewer : online) {
+                UUID viewerUuid = viewer.getUniqueId();
+                UHCTeam viewerTeam = teamManager.getPlayerTeam(viewerUuid);
+
+                if (allDirty || dirtyViewers.contains(viewerUuid) || !desiredRelations.containsKey(viewerUuid)) {
+                    Map<String, NameTagRelation> row = new HashMap<>();
+                    for (Player target : online) {
+                        UHCTeam targetTeam = teamManager.getPlayerTeam(target.getUniqueId());
+                        row.put(target.getName(), determineRelation(viewerTeam, targetTeam, viewerUuid, target.getUniqueId()));
                     }
+
+                    desiredRelations.put(viewerUuid, row);
+                    changedViewers.add(viewerUuid);
+                } else if (!changedTargets.isEmpty()) {
+                    Map<String, NameTagRelation> row = desiredRelations.get(viewerUuid);
+                    for (Player target : changedTargets) {
+                        UHCTeam targetTeam = teamManager.getPlayerTeam(target.getUniqueId());
+                        row.put(target.getName(), determineRelation(viewerTeam, targetTeam, viewerUuid, target.getUniqueId()));
+                    }
+
+                    changedViewers.add(viewerUuid);
+                }
+            }
+
+            for (UUID viewerUuid : changedViewers) {
+                Player viewer = Bukkit.getPlayer(viewerUuid);
+                Map<String, NameTagRelation> desired = desiredRelations.get(viewerUuid);
+
+                if (viewer == null || !viewer.isOnline() || desired == null) {
+                    continue;
+                }
+
+                try {
+                    sendDiff(viewer, desired);
+                } catch (Exception e) {
+                    UHC.getInstance().getLogger().warning("Failed to update nametags for " + viewer.getName() + ": " + e.getMessage());
                 }
             }
         } catch (Exception e) {
-            UHC.getInstance().getLogger().severe("Critical error in updateNameTagsForTeamChange for " +
-                    player.getName() + ": " + e.getMessage());
+            UHC.getInstance().getLogger().severe("Critical error while flushing nametags: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            allDirty = false;
+            dirtyViewers.clear();
+            dirtyTargets.clear();
+            pendingDiffViewers.clear();
         }
     }
 
     /**
-     * Update a single nametag relationship between viewer and target
+     * Send the minimal member add/remove packets to bring a viewer's sent state to the desired state
      */
-    private static void updateSingleNameTag(Player viewer, Player target, TeamManager teamManager) {
+    private static void sendDiff(Player viewer, Map<String, NameTagRelation> desired) {
         UUID viewerUuid = viewer.getUniqueId();
-        UUID targetUuid = target.getUniqueId();
-
-        UHCTeam viewerTeam = teamManager.getPlayerTeam(viewerUuid);
-        UHCTeam targetTeam = teamManager.getPlayerTeam(targetUuid);
-
-        String teamName = getTeamNameForViewer(viewerUuid, targetUuid);
-        String color = determineColor(viewerTeam, targetTeam, viewerUuid, targetUuid);
+        Map<String, NameTagRelation> sent = sentRelations.get(viewerUuid);
 
-        // Remove old team if exists
-        Map<UUID, String> viewerTeams = activeTeams.get(viewerUuid);
-        if (viewerTeams != null && viewerTeams.containsKey(targetUuid)) {
-            String oldTeamName = viewerTeams.get(targetUuid);
-            removePlayerFromTeam(viewer, target, oldTeamName);
+        if (sent == null) {
+            // First time for this viewer, create the three teams with their members in one go
+            createTeamsForViewer(viewer, desired);
+            sentRelations.put(viewerUuid, new HashMap<>(desired));
+            return;
         }
 
-        // Create new team
-        createTeamForViewer(viewer, target, teamName, color);
+        EnumMap<NameTagRelation, List<String>> removals = new EnumMap<>(NameTagRelation.class);
+        EnumMap<NameTagRelation, List<String>> additions = new EnumMap<>(NameTagRelation.class);
 
-        // Update tracking
-        if (viewerTeams == null) {
-            viewerTeams = new HashMap<>();
-            activeTeams.put(viewerUuid, viewerTeams);
-        }
-        viewerTeams.put(targetUuid, teamName);
-    }
+        for (Map.Entry<String, NameTagRelation> entry : desired.entrySet()) {
+            NameTagRelation old = sent.put(entry.getKey(), entry.getValue());
+            if (old == entry.getValue()) {
+                continue;
+            }
 
-    /**
-     * Clean up nametags when a player leaves or needs refresh
-     */
-    public static void cleanupPlayer(Player player) {
-        try {
-            UUID playerUuid = player.getUniqueId();
-
-            // Remove this player from all other players' teams
-            for (Player other : Bukkit.getOnlinePlayers()) {
-                if (!other.equals(player) && other.isOnline()) {
-                    try {
-                        Map<UUID, String> otherTeams = activeTeams.get(other.getUniqueId());
-                        if (otherTeams != null && otherTeams.containsKey(playerUuid)) {
-                            String teamName = otherTeams.get(playerUuid);
-                            removePlayerFromTeam(other, player, teamName);
-                            otherTeams.remove(playerUuid);
-                        }
-                    } catch (Exception e) {
-                        // Continue cleanup for other players even if one fails
-                        UHC.getInstance().getLogger().warning("Failed to cleanup nametag for " +
-                                other.getName() + " -> " + player.getName() + ": " + e.getMessage());
-                    }
-                }
+            if (old != null) {
+                removals.computeIfAbsent(old, relation -> new ArrayList<>()).add(entry.getKey());
             }
+            additions.computeIfAbsent(entry.getValue(), relation -> new ArrayList<>()).add(entry.getKey());
+        }
 
-            // Remove this player's team tracking
-            Map<UUID, String> playerTeams = activeTeams.remove(playerUuid);
-            if (playerTeams != null) {
-                // Clean up any remaining team packets for this player
-                for (Map.Entry<UUID, String> entry : playerTeams.entrySet()) {
-                    try {
-                        Player target = Bukkit.getPlayer(entry.getKey());
-                        if (target != null && target.isOnline()) {
-                            removePlayerFromTeam(player, target, entry.getValue());
-                        }
-                    } catch (Exception e) {
-                        // Continue cleanup even if individual removals fail
-                    }
-                }
+        // Targets that are no longer wanted
+        Iterator<Map.Entry<String, NameTagRelation>> iterator = sent.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, NameTagRelation> entry = iterator.next();
+            if (!desired.containsKey(entry.getKey())) {
+                removals.computeIfAbsent(entry.getValue(), relation -> new ArrayList<>()).add(entry.getKey());
+                iterator.remove();
             }
-        } catch (Exception e) {
-            UHC.getInstance().getLogger().warning("Error during player cleanup for " +
-                    player.getName() + ": " + e.getMessage());
         }
+
+        sendMembershipChanges(viewer, removals, 4);
+        sendMembershipChanges(viewer, additions, 3);
     }
 
     /**
-     * Determine the color for target based on team relationship
+     * Determine the relation between viewer and target based on teams
      */
-    private static String determineColor(UHCTeam viewerTeam, UHCTeam targetTeam, UUID viewerUuid, UUID targetUuid) {
+    private static NameTagRelation determineRelation(UHCTeam viewerTeam, UHCTeam targetTeam, UUID viewerUuid, UUID targetUuid) {
         // If viewer is viewing themselves, show green if they're on a team
         if (viewerUuid.equals(targetUuid)) {
-            return viewerTeam != null ? TEAMMATE_COLOR : SELF_COLOR;
+            return viewerTeam != null ? NameTagRelation.TEAMMATE : NameTagRelation.SELF;
         }
 
         // If either player is not on a team, show as enemy
         if (viewerTeam == null || targetTeam == null) {
-            return ENEMY_COLOR;
+            return NameTagRelation.ENEMY;
         }
 
-        // If they're on the same team, show as teammate
-        if (viewerTeam.equals(targetTeam)) {
-            return TEAMMATE_COLOR;
-        }
-
-        // Different teams = enemies
-        return ENEMY_COLOR;
+        // Same team = teammate, different teams = enemies
+        return viewerTeam.equals(targetTeam) ? NameTagRelation.TEAMMATE : NameTagRelation.ENEMY;
     }
 
     /**
-     * Generate a unique team name for viewer-target relationship
-     * Limited to 16 characters for 1.8.8 compatibility
+     * Create the three relation teams for a viewer, with their initial members
      */
-    private static String getTeamNameForViewer(UUID viewerUuid, UUID targetUuid) {
-        // Create a shorter deterministic team name based on viewer and target
-        // Use hashCode to create shorter, unique identifiers
-        int viewerHash = Math.abs(viewerUuid.hashCode()) % 1000;
-        int targetHash = Math.abs(targetUuid.hashCode()) % 1000;
-
-        // Format: "u" + 3-digit viewer hash + 3-digit target hash = max 7 chars
-        return String.format("u%03d%03d", viewerHash, targetHash);
+    private static void createTeamsForViewer(Player viewer, Map<String, NameTagRelation> relations) {
+        EnumMap<NameTagRelation, List<String>> members = new EnumMap<>(NameTagRelation.class);
+        for (NameTagRelation relation : NameTagRelation.values()) {
+            members.put(relation, new ArrayList<>());
+        }
+
+        for (Map.Entry<String, NameTagRelation> entry : relations.entrySet()) {
+            members.get(entry.getValue()).add(entry.getKey());
+        }
+
+        for (NameTagRelation relation : NameTagRelation.values()) {
+            try {
+                PacketWrapper teamPacket = new PacketWrapper(
+                        relation.getTeamName(),   // Team name (max 16 chars)
+                        relation.getPrefix(),     // Prefix (color) (max 16 chars)
+                        "",                       // Suffix (empty)
+                        0,                        // Create team
+                        members.get(relation),    // Members
+                        true                      // Visible
+                );
+
+                // Send only to the viewer
+                teamPacket.send(viewer);
+            } catch (Exception e) {
+                UHC.getInstance().getLogger().warning("Failed to create " + relation.getTeamName() +
+                        " team for " + viewer.getName() + ": " + e.getMessage());
+            }
+        }
     }
 
     /**
-     * Create a team packet for a specific viewer-target relationship
+     * Delete the three relation teams for a viewer
      */
-    private static void createTeamForViewer(Player viewer, Player target, String teamName, String color) {
-        try {
-            // Validate team name length for 1.8.8 compatibility
-            if (teamName.length() > 16) {
-                UHC.getInstance().getLogger().warning("Team name too long: " + teamName + " (length: " + teamName.length() + ")");
-                return;
-            }
-
-            // Validate color string length
-            if (color.length() > 16) {
-                UHC.getInstance().getLogger().warning("Color prefix too long: " + color + " (length: " + color.length() + ")");
-                color = color.substring(0, 16); // Truncate if too long
+    private static void deleteTeamsForViewer(Player viewer) {
+        for (NameTagRelation relation : NameTagRelation.values()) {
+            try {
+                PacketWrapper deletePacket = new PacketWrapper(relation.getTeamName(), "", "", 1, new ArrayList<>(), false);
+                deletePacket.send(viewer);
+            } catch (Exception e) {
+                // Ignore delete errors - they're not critical
             }
+        }
+    }
 
-            // Create team with target player as member
-            List<String> members = Arrays.asList(target.getName());
-
-            PacketWrapper teamPacket = new PacketWrapper(
-                    teamName,           // Team name (max 16 chars)
-                    color,              // Prefix (color) (max 16 chars)
-                    "",                 // Suffix (empty)
-                    0,                  // Create team
-                    members,            // Members
-                    true                // Visible
-            );
-
-            // Send only to the viewer
-            teamPacket.send(viewer);
-
-        } catch (Exception e) {
-            UHC.getInstance().getLogger().warning("Failed to create team packet for " +
-                    viewer.getName() + " -> " + target.getName() + ": " + e.getMessage());
-            e.printStackTrace();
+    private static void sendMembershipChanges(Player viewer, EnumMap<NameTagRelation, List<String>> changes, int param) {
+        for (Map.Entry<NameTagRelation, List<String>> entry : changes.entrySet()) {
+            sendMembers(viewer, entry.getKey(), param, entry.getValue());
         }
     }
 
     /**
-     * Remove a player from a team for a specific viewer
-     * Fixed to avoid constructor validation issues
+     * Add (param 3) or remove (param 4) members from a viewer's relation team
      */
-    private static void removePlayerFromTeam(Player viewer, Player target, String teamName) {
-        try {
-            if (viewer == null || !viewer.isOnline() || target == null || teamName == null || teamName.isEmpty()) {
-                return;
-            }
-
-            // Just remove the player from the team using param=4 (leave)
-            // Don't try to delete the team as that causes constructor validation errors
-            List<String> members = Arrays.asList(target.getName());
-            PacketWrapper removePacket = new PacketWrapper(teamName, 4, members);
-            removePacket.send(viewer);
+    private static void sendMembers(Player viewer, NameTagRelation relation, int param, List<String> members) {
+        if (viewer == null || !viewer.isOnline() || members.isEmpty()) {
+            return;
+        }
 
+        try {
+            new PacketWrapper(relation.getTeamName(), param, members).send(viewer);
         } catch (Exception e) {
             // Log the error but don't spam - this is a common occurrence during player disconnects
             if (UHC.getInstance().getLogger().isLoggable(java.util.logging.Level.FINE)) {
-                UHC.getInstance().getLogger().fine("Failed to remove " +
-                        (target != null ? target.getName() : "null") + " from team " + teamName +
-                        " for viewer " + (viewer != null ? viewer.getName() : "null") + ": " + e.getMessage());
+                UHC.getInstance().getLogger().fine("Failed to update " + relation.getTeamName() +
+                        " members for viewer " + viewer.getName() + ": " + e.getMessage());
             }
         }
     }
 
-    /**
-     * Clear all active teams - more robust cleanup method
-     */
-    private static void clearAllTeams() {
-        try {
-            // Instead of trying to delete individual teams (which causes errors),
-            // just clear our tracking and let the client handle cleanup
-            for (Map.Entry<UUID, Map<UUID, String>> entry : activeTeams.entrySet()) {
-                Player viewer = Bukkit.getPlayer(entry.getKey());
-                if (viewer == null || !viewer.isOnline()) {
-                    continue;
-                }
-
-                // Try to delete each team using the full constructor
-                for (String teamName : entry.getValue().values()) {
-                    try {
-                        PacketWrapper deletePacket = new PacketWrapper(teamName, "", "", 1, new ArrayList<>(), false);
-                        deletePacket.send(viewer);
-                    } catch (Exception e) {
-                        // Ignore delete errors - they're not critical
-                    }
-                }
-            }
-        } catch (Exception e) {
-            // Ignore cleanup errors
+    private static TeamManager getTeamManager() {
+        UHC uhc = UHC.getInstance();
+        if (uhc == null || uhc.getGame() == null) {
+            return null;
         }
 
-        activeTeams.clear();
+        return uhc.getGame().getTeamManager();
     }
 
     /**
@@ -349,17 +341,22 @@ public class NameTagCreator {
     public static String getDebugInfo() {
         StringBuilder info = new StringBuilder();
         info.append("Active NameTag Teams:\n");
+        info.append("Pending: ").append(allDirty ? "all" : dirtyViewers.size() + " viewers, " + dirtyTargets.size() + " targets").append("\n");
 
-        for (Map.Entry<UUID, Map<UUID, String>> entry : activeTeams.entrySet()) {
+        for (Map.Entry<UUID, Map<String, NameTagRelation>> entry : sentRelations.entrySet()) {
             Player viewer = Bukkit.getPlayer(entry.getKey());
             String viewerName = viewer != null ? viewer.getName() : "Unknown";
 
-            info.append("Viewer: ").append(viewerName).append(" (").append(entry.getValue().size()).append(" teams)\n");
+            EnumMap<NameTagRelation, Integer> counts = new EnumMap<>(NameTagRelation.class);
+            for (NameTagRelation relation : entry.getValue().values()) {
+                counts.merge(relation, 1, Integer::sum);
+            }
+
+            info.append("Viewer: ").append(viewerName).append(" (").append(entry.getValue().size()).append(" targets)\n");
 
-            for (Map.Entry<UUID, String> teamEntry : entry.getValue().entrySet()) {
-                Player target = Bukkit.getPlayer(teamEntry.getKey());
-                String targetName = target != null ? target.getName() : "Unknown";
-                info.append("  -> ").append(targetName).append(" (").append(teamEntry.getValue()).append(")\n");
+            for (NameTagRelation relation : NameTagRelation.values()) {
+                info.append("  -> ").append(relation.getTeamName()).append(": ")
+                        .append(counts.getOrDefault(relation, 0)).append("\n");
             }
         }
 
@@ -373,24 +370,12 @@ public class NameTagCreator {
         try {
             UHC.getInstance().getLogger().info("Force refreshing all nametags...");
 
-            // Step 1: Clear all existing teams
-            clearAllTeams();
-
-            // Step 2: Wait a tick then update
-            Bukkit.getScheduler().runTaskLater(UHC.getInstance(), () -> {
-                try {
-                    updateAllNameTags();
-                    UHC.getInstance().getLogger().info("Force refresh completed for " +
-                            Bukkit.getOnlinePlayers().size() + " players");
-                } catch (Exception e) {
-                    UHC.getInstance().getLogger().severe("Error during force refresh: " + e.getMessage());
-                    e.printStackTrace();
-                }
-            }, 2L);
-
+            // Delete everything now, the teams are recreated on the next flush
+            clearAll();
+            updateAllNameTags();
         } catch (Exception e) {
             UHC.getInstance().getLogger().severe("Critical error in forceRefreshAll: " + e.getMessage());
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import cc.kasumi.uhc.UHC;
 import cc.kasumi.uhc.game.Game;
 import cc.kasumi.uhc.packets.NameTagCreator;
 import cc.kasumi.uhc.team.TeamManager;
+import cc.kasumi.uhc.util.TickProfiler;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -11,7 +12,6 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
-import org.bukkit.scheduler.BukkitRunnable;
 
 /**
  * Manages nametag updates throughout the game
@@ -26,7 +26,7 @@ public class NameTagManager implements Listener {
         this.game = game;
 
         // Register this as a listener
-        Bukkit.getPluginManager().registerEvents(this, UHC.getInstance());
+        TickProfiler.getInstance().registerEvents(this, UHC.getInstance(), "NameTagManager");
     }
 
     /**
@@ -39,14 +39,9 @@ public class NameTagManager implements Listener {
 
         nameTagsEnabled = true;
 
-        // Update all existing players
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                NameTagCreator.updateAllNameTags();
-                UHC.getInstance().getLogger().info("Team nametags enabled and updated for all players");
-            }
-        }.runTaskLater(UHC.getInstance(), 1L);
+        // Update all existing players on the next flush
+        NameTagCreator.updateAllNameTags();
+        UHC.getInstance().getLogger().info("Team nametags enabled and updated for all players");
     }
 
     /**
@@ -60,13 +55,8 @@ public class NameTagManager implements Listener {
         nameTagsEnabled = false;
 
         // Clear all nametags
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                clearAllNameTags();
-                UHC.getInstance().getLogger().info("Team nametags disabled and cleared for all players");
-            }
-        }.runTaskLater(UHC.getInstance(), 1L);
+        NameTagCreator.clearAll();
+        UHC.getInstance().getLogger().info("Team nametags disabled and cleared for all players");
     }
 
     /**
@@ -77,13 +67,8 @@ public class NameTagManager implements Listener {
             return;
         }
 
-        // Delay the update to ensure team data is properly set
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                NameTagCreator.updateNameTagsForTeamChange(player);
-            }
-        }.runTaskLater(UHC.getInstance(), 2L);
+        // Marked dirty, sent with the next flush once team data is set
+        NameTagCreator.updateNameTagsForTeamChange(player);
     }
 
     /**
@@ -94,13 +79,8 @@ public class NameTagManager implements Listener {
             return;
         }
 
-        // Delay the update to ensure team data is properly updated
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                NameTagCreator.updateNameTagsForTeamChange(player);
-            }
-        }.runTaskLater(UHC.getInstance(), 2L);
+        // Marked dirty, sent with the next flush once team data is updated
+        NameTagCreator.updateNameTagsForTeamChange(player);
     }
 
     /**
@@ -111,13 +91,8 @@ public class NameTagManager implements Listener {
             return;
         }
 
-        // Full refresh for major team changes
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                NameTagCreator.updateAllNameTags();
-            }
-        }.runTaskLater(UHC.getInstance(), 2L);
+        // Full recompute for major team changes, only changed relations are sent
+        NameTagCreator.updateAllNameTags();
     }
 
     /**
@@ -129,33 +104,9 @@ public class NameTagManager implements Listener {
             return;
         }
 
-        Player player = event.getPlayer();
-
-        // Delay to ensure player is fully loaded
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                // Step 1: Update nametags for the joining player (how they see others)
-                NameTagCreator.updateNameTagsForPlayer(player, game.getTeamManager());
-
-                // Step 2: Update how ALL existing players see the joining player
-                // This is crucial - we need to refresh the entire nametag system
-                for (Player other : Bukkit.getOnlinePlayers()) {
-                    if (!other.equals(player)) {
-                        try {
-                            // Force refresh how this other player sees everyone (including the new joiner)
-                            NameTagCreator.updateNameTagsForPlayer(other, game.getTeamManager());
-                        } catch (Exception e) {
-                            UHC.getInstance().getLogger().warning("Failed to update nametags for " +
-                                    other.getName() + " after " + player.getName() + " joined: " + e.getMessage());
-                        }
-                    }
-                }
-
-                UHC.getInstance().getLogger().info("Updated nametags for all players after " +
-                        player.getName() + " joined");
-            }
-        }.runTaskLater(UHC.getInstance(), 5L); // Increased delay to 5 ticks for better stability
+        // Joining player gets their three teams, everyone else only gets the joiner added.
+        // A join storm is coalesced into one flush per tick.
+        NameTagCreator.updateNameTagsForTeamChange(event.getPlayer());
     }
 
     /**
@@ -173,15 +124,6 @@ public class NameTagManager implements Listener {
         NameTagCreator.cleanupPlayer(player);
     }
 
-    /**
-     * Clear all nametags for all players
-     */
-    private void clearAllNameTags() {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            NameTagCreator.cleanupPlayer(player);
-        }
-    }
-
     /**
      * Check if nametags are currently enabled
      */
@@ -197,12 +139,7 @@ public class NameTagManager implements Listener {
             return;
         }
 
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                NameTagCreator.forceRefreshAll();
-            }
-        }.runTaskLater(UHC.getInstance(), 1L);
+        NameTagCreator.forceRefreshAll();
     }
 
     /**
@@ -0,0 +1,23 @@
+package cc.kasumi.uhc.packets;
+
+import lombok.Getter;
+import org.bukkit.ChatColor;
+
+/**
+ * How a viewer relates to a target, each relation is one client-side team per viewer
+ */
+@Getter
+public enum NameTagRelation {
+
+    SELF("uhc_self", ChatColor.WHITE),
+    TEAMMATE("uhc_mate", ChatColor.GREEN),
+    ENEMY("uhc_enemy", ChatColor.RED);
+
+    private final String teamName;
+    private final String prefix;
+
+    NameTagRelation(String teamName, ChatColor color) {
+        this.teamName = teamName;
+        this.prefix = color.toString();
+    }
+}
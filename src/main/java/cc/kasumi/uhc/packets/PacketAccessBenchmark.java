@@ -0,0 +1,159 @@
+package cc.kasumi.uhc.packets;
+
+import cc.kasumi.uhc.barapi.nms.FakeDragon;
+import cc.kasumi.uhc.barapi.nms.v1_8;
+import cc.kasumi.uhc.util.ReflectionUtil;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-server comparison of the old reflective packet paths against the cached MethodHandles.
+ * The reflective side repeats what PacketAccessor, ReflectionUtil.sendPacket and the 1.8
+ * fake dragon did per packet before. Nothing is sent, packets are only built and resolved.
+ */
+public final class PacketAccessBenchmark {
+
+    // Keeps results reachable so the JIT can't drop the measured work
+    private static volatile int sink;
+
+    private PacketAccessBenchmark() {
+    }
+
+    /**
+     * Runs every case that applies to this server and returns one result line per case
+     *
+     * @param player used to resolve the connection chain, may be null to skip that case
+     */
+    public static List<String> run(int iterations, Player player) {
+        List<String> results = new ArrayList<>();
+
+        try {
+            benchTeamPacket(iterations, results);
+        } catch (Throwable e) {
+            results.add("team packet: skipped (" + e + ")");
+        }
+
+        if (player != null) {
+            try {
+                benchConnection(iterations, player, results);
+            } catch (Throwable e) {
+                results.add("player connection: skipped (" + e + ")");
+            }
+        } else {
+            results.add("player connection: skipped (needs an online player)");
+        }
+
+        if (ReflectionUtil.fakeDragonClass == v1_8.class && player != null) {
+            try {
+                benchDragonTeleport(iterations, player.getLocation(), results);
+            } catch (Throwable e) {
+                results.add("dragon teleport: skipped (" + e + ")");
+            }
+        } else {
+            results.add("dragon teleport: skipped (1.8 dragon only, needs an online player)");
+        }
+
+        return results;
+    }
+
+    // Scoreboard team packet, created and given a name, mode and member list
+
+    private static void benchTeamPacket(int iterations, List<String> results) throws Throwable {
+        Class<?> packetClass = PacketAccessor.createPacket().getClass();
+        Field teamName = PacketAccessor.TEAM_NAME.field();
+        Field paramInt = PacketAccessor.PARAM_INT.field();
+        Field members = PacketAccessor.MEMBERS.field();
+
+        // The old allocation path, Unsafe through Method.invoke on 1.17+
+        Field theUnsafe = Class.forName("sun.misc.Unsafe").getDeclaredField("theUnsafe");
+        theUnsafe.setAccessible(true);
+        Object unsafe = theUnsafe.get(null);
+        Method allocateInstance = unsafe.getClass().getMethod("allocateInstance", Class.class);
+        Constructor<?> constructor = PacketAccessor.isParamsVersion() ? null : packetClass.getDeclaredConstructor();
+
+        long reflection = time(iterations, () -> {
+            Object packet = constructor != null ? constructor.newInstance() : allocateInstance.invoke(unsafe, packetClass);
+            teamName.set(packet, "bench");
+            paramInt.set(packet, 0);
+            members.set(packet, new ArrayList<String>());
+            sink += packet.hashCode();
+        });
+
+        long handles = time(iterations, () -> {
+            Object packet = PacketAccessor.createPacket();
+            PacketAccessor.TEAM_NAME.set(packet, "bench");
+            PacketAccessor.PARAM_INT.set(packet, 0);
+            PacketAccessor.MEMBERS.set(packet, new ArrayList<String>());
+            sink += packet.hashCode();
+        });
+
+        results.add(format("team packet, reflection", reflection));
+        results.add(format("team packet, handles", handles));
+    }
+
+    // getHandle -> playerConnection -> sendPacket lookup, without sending
+
+    private static void benchConnection(int iterations, Player player, List<String> results) throws Throwable {
+        long reflection = time(iterations, () -> {
+            Object nmsPlayer = ReflectionUtil.getMethod(player.getClass(), "getHandle").invoke(player);
+            Object connection = nmsPlayer.getClass().getField("playerConnection").get(nmsPlayer);
+            Method send = ReflectionUtil.getMethod(connection.getClass(), "sendPacket");
+            sink += connection.hashCode() + send.hashCode();
+        });
+
+        long handles = time(iterations, () -> sink += PacketAccessor.getConnection(player).hashCode());
+
+        results.add(format("player connection, reflection", reflection));
+        results.add(format("player connection, handles", handles));
+    }
+
+    // Boss bar dragon teleport packet, sent every few ticks per player
+
+    private static void benchDragonTeleport(int iterations, Location location, List<String> results) throws Throwable {
+        FakeDragon dragon = ReflectionUtil.newDragon("bench", location);
+        byte yaw = (byte) ((int) location.getYaw() * 256 / 360);
+        byte pitch = (byte) ((int) location.getPitch() * 256 / 360);
+
+        long reflection = time(iterations, () -> {
+            Class<?> teleportClass = ReflectionUtil.getCraftClass("PacketPlayOutEntityTeleport");
+            Object packet = teleportClass.getConstructor(int.class, int.class, int.class, int.class, byte.class, byte.class, boolean.class)
+                    .newInstance(0, location.getBlockX() * 32, location.getBlockY() * 32, location.getBlockZ() * 32, yaw, pitch, false);
+            sink += packet.hashCode();
+        });
+
+        long handles = time(iterations, () -> sink += dragon.getTeleportPacket(location).hashCode());
+
+        results.add(format("dragon teleport, reflection", reflection));
+        results.add(format("dragon teleport, handles", handles));
+    }
+
+    /**
+     * Mean nanoseconds per operation after a warmup pass of the same length
+     */
+    private static long time(int iterations, Operation operation) throws Throwable {
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        return (System.nanoTime() - start) / Math.max(1, iterations);
+    }
+
+    private static String format(String label, long nanos) {
+        return String.format("%-30s %,8d ns/op", label, nanos);
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run() throws Throwable;
+    }
+}
@@ -3,6 +3,9 @@ package cc.kasumi.uhc.packets;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Arrays;
@@ -18,25 +21,31 @@ class PacketAccessor {
     private static boolean CAULDRON_SERVER = false;
     private static boolean LEGACY_SERVER = false;
 
-    private static Object UNSAFE;
-    private static Method ALLOCATE_INSTANCE;
-
-    static Field MEMBERS;
-    static Field PREFIX;
-    static Field SUFFIX;
-    static Field TEAM_NAME;
-    static Field PARAM_INT;
-    static Field PACK_OPTION;
-    static Field DISPLAY_NAME;
-    static Field TEAM_COLOR;
-    static Field PUSH;
-    static Field VISIBILITY;
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    // Unsafe#allocateInstance bound to the Unsafe instance, (Class)Object
+    private static MethodHandle ALLOCATE_INSTANCE;
+
+    static FieldHandle MEMBERS;
+    static FieldHandle PREFIX;
+    static FieldHandle SUFFIX;
+    static FieldHandle TEAM_NAME;
+    static FieldHandle PARAM_INT;
+    static FieldHandle PACK_OPTION;
+    static FieldHandle DISPLAY_NAME;
+    static FieldHandle TEAM_COLOR;
+    static FieldHandle PUSH;
+    static FieldHandle VISIBILITY;
     // 1.17+
-    static Field PARAMS;
+    static FieldHandle PARAMS;
 
-    private static Method getHandle;
-    private static Method sendPacket;
-    private static Field playerConnection;
+    // Bound once and adapted to Object signatures so the send path can use invokeExact
+    private static MethodHandle getHandle;
+    private static MethodHandle sendPacket;
+    private static MethodHandle playerConnection;
+    private static MethodHandle packetConstructor;
 
     private static Class<?> packetClass;
     // 1.17+
@@ -54,27 +63,31 @@ class PacketAccessor {
             Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
             Field theUnsafeField = unsafeClass.getDeclaredField("theUnsafe");
             theUnsafeField.setAccessible(true);
-            UNSAFE = theUnsafeField.get(null);
-            ALLOCATE_INSTANCE = UNSAFE.getClass().getMethod("allocateInstance", Class.class);
+            Object unsafe = theUnsafeField.get(null);
+            ALLOCATE_INSTANCE = LOOKUP.unreflect(unsafe.getClass().getMethod("allocateInstance", Class.class))
+                    .bindTo(unsafe)
+                    .asType(MethodType.methodType(Object.class, Class.class));
 
             if (legacyVersions.contains(VERSION))
                 LEGACY_SERVER = true;
 
             Class<?> typeCraftPlayer = Class.forName("org.bukkit.craftbukkit." + VERSION + ".entity.CraftPlayer");
-            getHandle = typeCraftPlayer.getMethod("getHandle");
+            Method getHandleMethod = typeCraftPlayer.getMethod("getHandle");
+            Field playerConnectionField;
+            Method sendPacketMethod;
 
             if (CAULDRON_SERVER) {
                 packetClass = Class.forName("net.minecraft.server.v1_7_R4.PacketPlayOutScoreboardTeam");
                 Class<?> typeNMSPlayer = Class.forName("net.minecraft.server.v1_7_R4.EntityPlayer");
                 Class<?> typePlayerConnection = Class.forName("net.minecraft.server.v1_7_R4.PlayerConnection");
-                playerConnection = typeNMSPlayer.getField("field_71135_a");
-                sendPacket = typePlayerConnection.getMethod("func_147359_a", Class.forName("net.minecraft.server.v1_7_R4.Packet"));
+                playerConnectionField = typeNMSPlayer.getField("field_71135_a");
+                sendPacketMethod = typePlayerConnection.getMethod("func_147359_a", Class.forName("net.minecraft.server.v1_7_R4.Packet"));
             } else if (!isParamsVersion()) {
                 packetClass = Class.forName("net.minecraft.server." + VERSION + ".PacketPlayOutScoreboardTeam");
                 Class<?> typeNMSPlayer = Class.forName("net.minecraft.server." + VERSION + ".EntityPlayer");
                 Class<?> typePlayerConnection = Class.forName("net.minecraft.server." + VERSION + ".PlayerConnection");
-                playerConnection = typeNMSPlayer.getField("playerConnection");
-                sendPacket = typePlayerConnection.getMethod("sendPacket", Class.forName("net.minecraft.server." + VERSION + ".Packet"));
+                playerConnectionField = typeNMSPlayer.getField("playerConnection");
+                sendPacketMethod = typePlayerConnection.getMethod("sendPacket", Class.forName("net.minecraft.server." + VERSION + ".Packet"));
             } else {
                 // 1.17+
                 packetClass = Class.forName("net.minecraft.network.protocol.game.PacketPlayOutScoreboardTeam");
@@ -83,17 +96,26 @@ class PacketAccessor {
                 Class<?> typePlayerConnection = Class.forName("net.minecraft.server.network.PlayerConnection");
                 if (MINOR_VERSION >= 20) {
                     // 1.20
-                    playerConnection = typeNMSPlayer.getField("c");
+                    playerConnectionField = typeNMSPlayer.getField("c");
                 } else {
                     // 1.17-1.19
-                    playerConnection = typeNMSPlayer.getField("b");
+                    playerConnectionField = typeNMSPlayer.getField("b");
                 }
                 Class<?>[] sendPacketParameters = new Class[]{Class.forName("net.minecraft.network.protocol.Packet")};
-                sendPacket = Arrays.stream(typePlayerConnection.getMethods())
+                sendPacketMethod = Arrays.stream(typePlayerConnection.getMethods())
                         .filter(method -> Arrays.equals(method.getParameterTypes(), sendPacketParameters))
                         .findFirst().orElseThrow(NoSuchMethodException::new);
             }
 
+            getHandle = LOOKUP.unreflect(getHandleMethod).asType(GETTER_TYPE);
+            playerConnection = LOOKUP.unreflectGetter(playerConnectionField).asType(GETTER_TYPE);
+            sendPacket = LOOKUP.unreflect(sendPacketMethod).asType(SETTER_TYPE);
+
+            if (!isParamsVersion()) {
+                packetConstructor = LOOKUP.findConstructor(packetClass, MethodType.methodType(void.class))
+                        .asType(MethodType.methodType(Object.class));
+            }
+
             PacketData currentVersion = null;
             for (PacketData packetData : PacketData.values()) {
                 if (VERSION.contains(packetData.name())) {
@@ -163,27 +185,23 @@ class PacketAccessor {
         return MINOR_VERSION >= 8;
     }
 
-    private static Field getNMS(String path) throws Exception {
-        Field field = packetClass.getDeclaredField(path);
-        field.setAccessible(true);
-        return field;
+    private static FieldHandle getNMS(String path) throws Exception {
+        return new FieldHandle(packetClass.getDeclaredField(path));
     }
 
     // 1.17+
-    private static Field getParamNMS(String path) throws Exception {
-        Field field = packetParamsClass.getDeclaredField(path);
-        field.setAccessible(true);
-        return field;
+    private static FieldHandle getParamNMS(String path) throws Exception {
+        return new FieldHandle(packetParamsClass.getDeclaredField(path));
     }
 
     static Object createPacket() {
         try {
             if (!isParamsVersion()) {
-                return packetClass.newInstance();
+                return (Object) packetConstructor.invokeExact();
             } else {
-                return ALLOCATE_INSTANCE.invoke(UNSAFE, packetClass);
+                return (Object) ALLOCATE_INSTANCE.invokeExact(packetClass);
             }
-        } catch (Exception e) {
+        } catch (Throwable e) {
             e.printStackTrace();
             return null;
         }
@@ -195,9 +213,9 @@ class PacketAccessor {
             if (!isParamsVersion()) {
                 return null;
             } else {
-                return ALLOCATE_INSTANCE.invoke(UNSAFE, packetParamsClass);
+                return (Object) ALLOCATE_INSTANCE.invokeExact(packetParamsClass);
             }
-        } catch (Exception e) {
+        } catch (Throwable e) {
             e.printStackTrace();
             return null;
         }
@@ -210,13 +228,76 @@ class PacketAccessor {
     }
 
     static void sendPacket(Player player, Object packet) {
+        sendPacket(player, packet, "nametags");
+    }
+
+    static void sendPacket(Player player, Object packet, String subsystem) {
+        PacketOutbox.getInstance().recordSent(subsystem);
+        if (PacketOutbox.getInstance().queue(player, packet)) {
+            return;
+        }
+
+        writePacket(player, packet);
+    }
+
+    /**
+     * Sends through the player connection right away, in order with Bukkit's own sendMessage
+     */
+    static void sendPacketNow(Player player, Object packet, String subsystem) {
+        PacketOutbox.getInstance().recordSent(subsystem);
+        PacketOutbox.getInstance().flush(player);
+        writePacket(player, packet);
+    }
+
+    private static void writePacket(Player player, Object packet) {
         try {
-            Object nmsPlayer = getHandle.invoke(player);
-            Object connection = playerConnection.get(nmsPlayer);
-            sendPacket.invoke(connection, packet);
-        } catch (Exception e) {
+            sendPacket.invokeExact(getConnection(player), packet);
+        } catch (Throwable e) {
             e.printStackTrace();
         }
     }
 
+    static Object getConnection(Player player) throws Throwable {
+        Object nmsPlayer = (Object) getHandle.invokeExact((Object) player);
+        return (Object) playerConnection.invokeExact(nmsPlayer);
+    }
+
+    /**
+     * Getter and setter handles for a packet field, unreflected once at class init
+     */
+    static final class FieldHandle {
+
+        // Kept for PacketAccessBenchmark's reflective baseline
+        private final Field field;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private FieldHandle(Field field) throws IllegalAccessException {
+            field.setAccessible(true);
+            this.field = field;
+            this.getter = LOOKUP.unreflectGetter(field).asType(GETTER_TYPE);
+            this.setter = LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+        }
+
+        Field field() {
+            return field;
+        }
+
+        Object get(Object target) {
+            try {
+                return (Object) getter.invokeExact(target);
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void set(Object target, Object value) {
+            try {
+                setter.invokeExact(target, value);
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
 }
@@ -0,0 +1,297 @@
+package cc.kasumi.uhc.packets;
+
+import cc.kasumi.uhc.UHC;
+import cc.kasumi.uhc.util.ProfiledRunnable;
+import cc.kasumi.uhc.util.ReflectionUtil;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.*;
+import java.util.logging.Level;
+
+/**
+ * Per-player packet queue written straight to the Netty channel with one flush per tick.
+ * Vanilla flushes every packet on its own, so a refresh touching hundreds of players
+ * otherwise costs one syscall per packet instead of one per player.
+ * Only packets that may arrive late and out of order with vanilla's are queued: scoreboard
+ * team and entity metadata updates, and fake entity updates that carry a coalesce key.
+ * Everything else is sent directly by the caller, after this player's queue is flushed,
+ * so plugin packets stay in order among themselves.
+ * Main thread only, anything else falls back to an immediate send.
+ */
+public class PacketOutbox {
+
+    private static PacketOutbox instance;
+
+    private final Map<UUID, Outbox> outboxes = new HashMap<>();
+    // Packets sent per plugin subsystem, queued or not
+    private final Map<String, long[]> sentBySubsystem = new HashMap<>();
+    // Whether packets of a class are order-insensitive, by class so the name check runs once
+    private final Map<Class<?>, Boolean> batchable = new HashMap<>();
+    private BukkitTask flushTask;
+
+    // io.netty.channel.Channel write/flush/isOpen, Netty is not on the compile classpath
+    private MethodHandle channelWrite;
+    private MethodHandle channelFlush;
+    private MethodHandle channelIsOpen;
+    private boolean unsupported = false;
+
+    @Getter
+    private long packetsQueued = 0;
+
+    @Getter
+    private long packetsCoalesced = 0;
+
+    @Getter
+    private long flushes = 0;
+
+    public static PacketOutbox getInstance() {
+        if (instance == null) {
+            instance = new PacketOutbox();
+        }
+        return instance;
+    }
+
+    private PacketOutbox() {
+        try {
+            Class<?> channelClass = Class.forName("io.netty.channel.Channel");
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+            channelWrite = lookup.unreflect(channelClass.getMethod("write", Object.class))
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            channelFlush = lookup.unreflect(channelClass.getMethod("flush"))
+                    .asType(MethodType.methodType(void.class, Object.class));
+            channelIsOpen = lookup.unreflect(channelClass.getMethod("isOpen"))
+                    .asType(MethodType.methodType(boolean.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            unsupported = true;
+            UHC.getInstance().getLogger().warning("Netty channel not available, packets will be sent unbatched");
+        }
+
+        start();
+    }
+
+    /**
+     * Starts the flush task, replacing any previous one.
+     * Called again after Bukkit's cancelTasks, which also kills the flush task.
+     */
+    public void start() {
+        if (flushTask != null) {
+            flushTask.cancel();
+        }
+
+        flushTask = new ProfiledRunnable("packet-flush") {
+            @Override
+            protected void tick() {
+                flush();
+            }
+        }.runTaskTimer(UHC.getInstance(), 1L, 1L);
+    }
+
+    /**
+     * Flushes everything still queued and stops the flush task (call in onDisable)
+     */
+    public void stop() {
+        flush();
+
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+
+        outboxes.clear();
+    }
+
+    /**
+     * Queues a packet for the next flush if it is order-insensitive
+     *
+     * @return false if the packet was not queued and the caller has to send it directly
+     */
+    public boolean queue(Player player, Object packet) {
+        return queue(player, packet, null);
+    }
+
+    /**
+     * Queues a packet for the next flush. A still-queued packet with the same coalesce key
+     * is dropped, so only the latest one (e.g. a teleport of the same fake entity) is written.
+     * Passing a key marks the packet as safe to delay.
+     *
+     * @return false if the packet was not queued and the caller has to send it directly,
+     * anything already queued for the player has been flushed by then
+     */
+    public boolean queue(Player player, Object packet, Object coalesceKey) {
+        if (unsupported || flushTask == null || player == null || packet == null || !Bukkit.isPrimaryThread()) {
+            return false;
+        }
+
+        if (coalesceKey == null && !isBatchable(packet)) {
+            // Keep earlier queued packets ahead of the one the caller sends now
+            flush(player);
+            return false;
+        }
+
+        Outbox outbox = getOutbox(player);
+        if (outbox == null) {
+            return false;
+        }
+
+        if (coalesceKey != null) {
+            Integer previous = outbox.coalesced.put(coalesceKey, outbox.packets.size());
+            if (previous != null) {
+                outbox.packets.set(previous, null);
+                packetsCoalesced++;
+            }
+        }
+
+        outbox.packets.add(packet);
+        packetsQueued++;
+        return true;
+    }
+
+    /**
+     * Writes anything queued for the player now, call before sending a packet around the outbox
+     */
+    public void flush(Player player) {
+        if (player == null || !Bukkit.isPrimaryThread()) {
+            return;
+        }
+
+        Outbox outbox = outboxes.get(player.getUniqueId());
+        if (outbox != null && outbox.player == player && !outbox.packets.isEmpty()) {
+            writeAndFlush(outbox);
+        }
+    }
+
+    /**
+     * Counts a packet sent by the given subsystem (main thread only, other threads are not counted)
+     */
+    public void recordSent(String subsystem) {
+        if (Bukkit.isPrimaryThread()) {
+            sentBySubsystem.computeIfAbsent(subsystem, key -> new long[1])[0]++;
+        }
+    }
+
+    public Map<String, Long> getSentBySubsystem() {
+        Map<String, Long> copy = new HashMap<>();
+        for (Map.Entry<String, long[]> entry : sentBySubsystem.entrySet()) {
+            copy.put(entry.getKey(), entry.getValue()[0]);
+        }
+        return copy;
+    }
+
+    /**
+     * Players with a bound outbox
+     */
+    public int getOutboxCount() {
+        return outboxes.size();
+    }
+
+    private boolean isBatchable(Object packet) {
+        return batchable.computeIfAbsent(packet.getClass(), type -> {
+            String name = type.getSimpleName();
+            return name.equals("PacketPlayOutScoreboardTeam") || name.equals("PacketPlayOutEntityMetadata");
+        });
+    }
+
+    private Outbox getOutbox(Player player) {
+        Outbox outbox = outboxes.get(player.getUniqueId());
+
+        // A rejoin creates a new Player and a new channel
+        if (outbox != null && outbox.player == player) {
+            return outbox;
+        }
+
+        if (outbox != null) {
+            writeAndFlush(outbox);
+        }
+
+        Object channel = resolveChannel(player);
+        if (channel == null) {
+            outboxes.remove(player.getUniqueId());
+            return null;
+        }
+
+        outbox = new Outbox(player, channel);
+        outboxes.put(player.getUniqueId(), outbox);
+        return outbox;
+    }
+
+    private Object resolveChannel(Player player) {
+        try {
+            Object nmsPlayer = ReflectionUtil.getHandle(player);
+            Object connection = nmsPlayer.getClass().getField("playerConnection").get(nmsPlayer);
+            Object networkManager = connection.getClass().getField("networkManager").get(connection);
+            return networkManager.getClass().getField("channel").get(networkManager);
+        } catch (Exception e) {
+            unsupported = true;
+            UHC.getInstance().getLogger().log(Level.WARNING, "Could not resolve player channel, packets will be sent unbatched", e);
+            return null;
+        }
+    }
+
+    private void flush() {
+        if (outboxes.isEmpty()) {
+            return;
+        }
+
+        Iterator<Outbox> iterator = outboxes.values().iterator();
+        while (iterator.hasNext()) {
+            Outbox outbox = iterator.next();
+
+            if (!writeAndFlush(outbox)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Writes the queued packets and flushes the channel once
+     *
+     * @return false if the channel is closed and the outbox can be dropped
+     */
+    private boolean writeAndFlush(Outbox outbox) {
+        try {
+            if (!(boolean) channelIsOpen.invokeExact(outbox.channel)) {
+                return false;
+            }
+
+            if (outbox.packets.isEmpty()) {
+                return outbox.player.isOnline();
+            }
+
+            for (Object packet : outbox.packets) {
+                if (packet != null) {
+                    channelWrite.invokeExact(outbox.channel, packet);
+                }
+            }
+
+            channelFlush.invokeExact(outbox.channel);
+            flushes++;
+        } catch (Throwable e) {
+            UHC.getInstance().getLogger().log(Level.WARNING, "Error flushing packets for " + outbox.player.getName(), e);
+        } finally {
+            outbox.packets.clear();
+            outbox.coalesced.clear();
+        }
+
+        return true;
+    }
+
+    private static final class Outbox {
+
+        private final Player player;
+        private final Object channel;
+        private final List<Object> packets = new ArrayList<>();
+        private final Map<Object, Integer> coalesced = new HashMap<>();
+
+        private Outbox(Player player, Object channel) {
+            this.player = player;
+            this.channel = channel;
+        }
+    }
+}
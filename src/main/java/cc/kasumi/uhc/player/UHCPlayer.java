@@ -1,5 +1,7 @@
 package cc.kasumi.uhc.player;
 
+import cc.kasumi.uhc.UHC;
+import cc.kasumi.uhc.game.Game;
 import cc.kasumi.uhc.inventory.CachedInventory;
 import lombok.Getter;
 import lombok.Setter;
@@ -19,7 +21,6 @@ public class UHCPlayer {
 
     private int kills = 0;
 
-    @Setter
     private PlayerState state = PlayerState.SPECTATING;
     @Setter
     private CachedInventory cachedInventory;
@@ -44,9 +45,24 @@ public class UHCPlayer {
         return Bukkit.getPlayer(this.uuid);
     }
 
-    public void setPlayerStateAndManage(PlayerState state) {
+    /**
+     * Changes the state and lets the game update anything derived from it
+     */
+    public void setState(PlayerState state) {
+        PlayerState previous = this.state;
         this.state = state;
 
+        if (previous != state) {
+            Game game = UHC.getInstance().getGame();
+            if (game != null) {
+                game.handlePlayerStateChange(this, previous);
+            }
+        }
+    }
+
+    public void setPlayerStateAndManage(PlayerState state) {
+        setState(state);
+
         if (state == PlayerState.SPECTATING) {
             manageSpectator(getPlayer());
         } else if (state == PlayerState.ALIVE) {
@@ -0,0 +1,213 @@
+package cc.kasumi.uhc.scenario;
+
+import cc.kasumi.uhc.util.TickProfiler;
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredListener;
+
+import java.util.*;
+import java.util.logging.Level;
+
+/**
+ * Single Bukkit listener for all scenarios. Each event type and priority used by any scenario
+ * is registered once, and holds a copy-on-write array of the enabled scenarios' handlers.
+ * Toggling a scenario only swaps those arrays, so Bukkit's HandlerLists are never rebaked
+ * mid-game, and an event nobody is enabled for costs one array length check.
+ */
+public class ScenarioDispatcher implements Listener {
+
+    private static final Handler[] NO_HANDLERS = new Handler[0];
+
+    private final Plugin plugin;
+    private final String sectionPrefix;
+
+    // In registration order, so handlers run in the order scenarios were added
+    private final Map<Scenario, Map<Slot, List<Handler>>> scenarios = new LinkedHashMap<>();
+    private final Map<Class<? extends Event>, EnumMap<EventPriority, Slot>> slots = new LinkedHashMap<>();
+
+    private boolean registered = false;
+
+    public ScenarioDispatcher(Plugin plugin) {
+        this(plugin, "scenario");
+    }
+
+    /**
+     * @param sectionPrefix TickProfiler section prefix, handlers are timed as prefix:Name/EventType
+     */
+    public ScenarioDispatcher(Plugin plugin, String sectionPrefix) {
+        this.plugin = plugin;
+        this.sectionPrefix = sectionPrefix;
+    }
+
+    /**
+     * Collects the scenario's handler methods, enabled or not, so its event types are known up front
+     */
+    public void addScenario(Scenario scenario) {
+        if (scenarios.containsKey(scenario)) {
+            return;
+        }
+
+        Map<Slot, List<Handler>> handlers = new HashMap<>();
+        Map<Class<? extends Event>, Set<RegisteredListener>> created = plugin.getPluginLoader().createRegisteredListeners(scenario.getListener(), plugin);
+
+        for (Map.Entry<Class<? extends Event>, Set<RegisteredListener>> entry : created.entrySet()) {
+            TickProfiler.Section section = TickProfiler.getInstance().section(sectionPrefix + ":" + scenario.getName() + "/" + entry.getKey().getSimpleName());
+
+            for (RegisteredListener registeredListener : entry.getValue()) {
+                Slot slot = slot(entry.getKey(), registeredListener.getPriority());
+                handlers.computeIfAbsent(slot, ignored -> new ArrayList<>()).add(new Handler(scenario, registeredListener, section));
+            }
+        }
+
+        scenarios.put(scenario, handlers);
+        rebuild(handlers.keySet());
+    }
+
+    /**
+     * Re-reads whether the scenario is enabled and swaps the handler arrays it takes part in
+     */
+    public void refresh(Scenario scenario) {
+        Map<Slot, List<Handler>> handlers = scenarios.get(scenario);
+        if (handlers != null) {
+            rebuild(handlers.keySet());
+        }
+    }
+
+    /**
+     * Registers one executor per event type and priority with Bukkit
+     */
+    public void register() {
+        if (registered) {
+            return;
+        }
+
+        for (EnumMap<EventPriority, Slot> byPriority : slots.values()) {
+            for (Slot slot : byPriority.values()) {
+                registerSlot(slot);
+            }
+        }
+
+        registered = true;
+    }
+
+    public void unregister() {
+        if (!registered) {
+            return;
+        }
+
+        HandlerList.unregisterAll(this);
+        registered = false;
+    }
+
+    public boolean isRegistered() {
+        return registered;
+    }
+
+    public int getSlotCount() {
+        int count = 0;
+        for (EnumMap<EventPriority, Slot> byPriority : slots.values()) {
+            count += byPriority.size();
+        }
+        return count;
+    }
+
+    private Slot slot(Class<? extends Event> eventClass, EventPriority priority) {
+        EnumMap<EventPriority, Slot> byPriority = slots.computeIfAbsent(eventClass, ignored -> new EnumMap<>(EventPriority.class));
+        Slot slot = byPriority.get(priority);
+
+        if (slot == null) {
+            slot = new Slot(eventClass, priority);
+            byPriority.put(priority, slot);
+
+            // A scenario added after registration brings its own event types
+            if (registered) {
+                registerSlot(slot);
+            }
+        }
+
+        return slot;
+    }
+
+    private void registerSlot(Slot slot) {
+        try {
+            Bukkit.getPluginManager().registerEvent(slot.eventClass, this, slot.priority,
+                    (ignored, event) -> slot.dispatch(event), plugin, false);
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Could not register scenario dispatch for " + slot.eventClass.getSimpleName(), e);
+        }
+    }
+
+    private void rebuild(Collection<Slot> affected) {
+        for (Slot slot : affected) {
+            List<Handler> enabled = new ArrayList<>();
+
+            for (Map.Entry<Scenario, Map<Slot, List<Handler>>> entry : scenarios.entrySet()) {
+                if (!entry.getKey().isEnabled()) {
+                    continue;
+                }
+
+                List<Handler> handlers = entry.getValue().get(slot);
+                if (handlers != null) {
+                    enabled.addAll(handlers);
+                }
+            }
+
+            slot.handlers = enabled.isEmpty() ? NO_HANDLERS : enabled.toArray(new Handler[0]);
+        }
+    }
+
+    /**
+     * One event type at one priority
+     */
+    private final class Slot {
+
+        private final Class<? extends Event> eventClass;
+        private final EventPriority priority;
+
+        // Replaced as a whole on toggle, never mutated
+        private volatile Handler[] handlers = NO_HANDLERS;
+
+        private Slot(Class<? extends Event> eventClass, EventPriority priority) {
+            this.eventClass = eventClass;
+            this.priority = priority;
+        }
+
+        private void dispatch(Event event) {
+            Handler[] current = handlers;
+            if (current.length == 0) {
+                return;
+            }
+
+            for (Handler handler : current) {
+                long start = handler.section.start();
+                try {
+                    // Still does the event subtype and ignoreCancelled checks of the handler method
+                    handler.registered.callEvent(event);
+                } catch (Throwable t) {
+                    // Same isolation as separate registrations, one failing scenario doesn't stop the rest
+                    plugin.getLogger().log(Level.SEVERE, "Could not pass event " + event.getEventName() +
+                            " to scenario " + handler.scenario.getName(), t);
+                } finally {
+                    handler.section.stop(start);
+                }
+            }
+        }
+    }
+
+    private static final class Handler {
+
+        private final Scenario scenario;
+        private final RegisteredListener registered;
+        private final TickProfiler.Section section;
+
+        private Handler(Scenario scenario, RegisteredListener registered, TickProfiler.Section section) {
+            this.scenario = scenario;
+            this.registered = registered;
+            this.section = section;
+        }
+    }
+}
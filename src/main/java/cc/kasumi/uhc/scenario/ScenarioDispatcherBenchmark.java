@@ -0,0 +1,161 @@
+package cc.kasumi.uhc.scenario;
+
+import cc.kasumi.uhc.UHC;
+import cc.kasumi.uhc.util.TickProfiler;
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.PluginManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-server comparison of per-scenario Bukkit listeners against the ScenarioDispatcher,
+ * using throwaway scenarios that handle a private event. Runs on the main thread and
+ * leaves nothing registered or profiled afterwards.
+ */
+public final class ScenarioDispatcherBenchmark {
+
+    public static final int SCENARIOS = 30;
+
+    // Each scenario toggled twice, every toggle of the listener layout rebakes the HandlerList
+    private static final int TOGGLES = SCENARIOS * 2;
+
+    // The dispatcher names its sections prefix:Name/Event, so this covers both layouts
+    private static final String SECTION_PREFIX = "bench:";
+
+    private ScenarioDispatcherBenchmark() {
+    }
+
+    /**
+     * Runs every case and returns one result line per case. Lobby use only, it blocks the main thread.
+     */
+    public static List<String> run(int iterations) {
+        UHC plugin = UHC.getInstance();
+        PluginManager pluginManager = Bukkit.getPluginManager();
+        List<String> results = new ArrayList<>();
+
+        List<BenchScenario> scenarios = new ArrayList<>();
+        for (int i = 0; i < SCENARIOS; i++) {
+            BenchScenario scenario = new BenchScenario(i);
+            scenario.setEnabled(true);
+            scenarios.add(scenario);
+        }
+
+        BenchEvent event = new BenchEvent();
+        ScenarioDispatcher dispatcher = new ScenarioDispatcher(plugin, "bench");
+
+        try {
+            // Old layout, every enabled scenario is its own registered listener
+            for (BenchScenario scenario : scenarios) {
+                TickProfiler.getInstance().registerEvents(scenario.getListener(), plugin, SECTION_PREFIX + scenario.getName());
+            }
+            results.add(format("listeners, " + SCENARIOS + " enabled", time(pluginManager, event, iterations)));
+
+            long start = System.nanoTime();
+            for (int i = 0; i < TOGGLES; i++) {
+                Listener listener = scenarios.get(i % SCENARIOS).getListener();
+                HandlerList.unregisterAll(listener);
+                TickProfiler.getInstance().registerEvents(listener, plugin, SECTION_PREFIX + scenarios.get(i % SCENARIOS).getName());
+                pluginManager.callEvent(event);
+            }
+            results.add(format("listeners, toggle + call", (System.nanoTime() - start) / TOGGLES));
+
+            for (BenchScenario scenario : scenarios) {
+                HandlerList.unregisterAll(scenario.getListener());
+            }
+            results.add(format("listeners, none registered", time(pluginManager, event, iterations)));
+
+            // Dispatcher layout, one registration and a handler array
+            for (BenchScenario scenario : scenarios) {
+                dispatcher.addScenario(scenario);
+            }
+            dispatcher.register();
+
+            results.add(format("dispatcher, " + SCENARIOS + " enabled", time(pluginManager, event, iterations)));
+
+            start = System.nanoTime();
+            for (int i = 0; i < TOGGLES; i++) {
+                BenchScenario scenario = scenarios.get(i % SCENARIOS);
+                scenario.setEnabled(!scenario.isEnabled());
+                dispatcher.refresh(scenario);
+                pluginManager.callEvent(event);
+            }
+            results.add(format("dispatcher, toggle + call", (System.nanoTime() - start) / TOGGLES));
+
+            for (BenchScenario scenario : scenarios) {
+                scenario.setEnabled(false);
+                dispatcher.refresh(scenario);
+            }
+            results.add(format("dispatcher, 0 enabled", time(pluginManager, event, iterations)));
+        } finally {
+            for (BenchScenario scenario : scenarios) {
+                HandlerList.unregisterAll(scenario.getListener());
+            }
+            dispatcher.unregister();
+
+            // Both layouts time into profiler sections, don't leave them in /uhc profile
+            TickProfiler.getInstance().removeSections(SECTION_PREFIX);
+        }
+
+        return results;
+    }
+
+    /**
+     * Mean nanoseconds per callEvent after a warmup pass of the same length
+     */
+    private static long time(PluginManager pluginManager, BenchEvent event, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            pluginManager.callEvent(event);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            pluginManager.callEvent(event);
+        }
+        return (System.nanoTime() - start) / Math.max(1, iterations);
+    }
+
+    private static String format(String label, long nanos) {
+        return String.format("%-28s %,8d ns", label, nanos);
+    }
+
+    public static final class BenchEvent extends Event {
+
+        private static final HandlerList HANDLERS = new HandlerList();
+
+        private long hits = 0;
+
+        @Override
+        public HandlerList getHandlers() {
+            return HANDLERS;
+        }
+
+        public static HandlerList getHandlerList() {
+            return HANDLERS;
+        }
+    }
+
+    private static final class BenchScenario extends AbstractScenario {
+
+        private BenchScenario(int index) {
+            super(String.format("Bench%02d", index), "Benchmark scenario");
+        }
+
+        @Override
+        protected Listener createListener() {
+            return new BenchListener();
+        }
+    }
+
+    public static final class BenchListener implements Listener {
+
+        @EventHandler
+        public void onBench(BenchEvent event) {
+            event.hits++;
+        }
+    }
+}
@@ -4,19 +4,20 @@ import cc.kasumi.uhc.UHC;
 import cc.kasumi.uhc.game.Game;
 import cc.kasumi.uhc.scenario.type.CutCleanScenario;
 import cc.kasumi.uhc.scenario.type.NoFallScenario;
+import cc.kasumi.uhc.scenario.type.TimberScenario;
+import cc.kasumi.uhc.scenario.type.VeinMinerScenario;
 import lombok.Getter;
 import org.bukkit.Bukkit;
-import org.bukkit.event.HandlerList;
 
 import java.util.*;
 
 @Getter
 public class ScenarioManager {
 
-    private final Map<String, Scenario> scenarios = new HashMap<>();
-    private final Set<Scenario> activeScenarios = new HashSet<>();
+    private final Map<String, Scenario> scenarios = new LinkedHashMap<>();
+    private final Set<Scenario> activeScenarios = new LinkedHashSet<>();
     private final Game game;
-    private boolean listenersRegistered = false;
+    private final ScenarioDispatcher dispatcher = new ScenarioDispatcher(UHC.getInstance());
 
     public ScenarioManager(Game game) {
         this.game = game;
@@ -28,11 +29,14 @@ public class ScenarioManager {
         // Register all available scenarios
         addScenario(new CutCleanScenario());
         addScenario(new NoFallScenario());
+        addScenario(new TimberScenario());
+        addScenario(new VeinMinerScenario());
         // Add more scenarios here as you create them
     }
 
     private void addScenario(Scenario scenario) {
         scenarios.put(scenario.getName().toLowerCase(), scenario);
+        dispatcher.addScenario(scenario);
     }
 
     /**
@@ -53,10 +57,8 @@ public class ScenarioManager {
             activeScenarios.add(scenario);
             scenario.onActivate(game);
 
-            // Register listener if scenarios are active
-            if (listenersRegistered) {
-                Bukkit.getPluginManager().registerEvents(scenario.getListener(), UHC.getInstance());
-            }
+            // Only swaps the dispatcher's handler arrays, no HandlerList rebake mid-game
+            dispatcher.refresh(scenario);
 
             Bukkit.getLogger().info("Enabled scenario: " + scenario.getName());
         }
@@ -69,33 +71,27 @@ public class ScenarioManager {
             activeScenarios.remove(scenario);
             scenario.onDeactivate(game);
 
-            // Unregister listener
-            HandlerList.unregisterAll(scenario.getListener());
+            dispatcher.refresh(scenario);
 
             Bukkit.getLogger().info("Disabled scenario: " + scenario.getName());
         }
     }
 
+    /**
+     * Starts dispatching events to enabled scenarios, scenarios toggled later take effect immediately
+     */
     public void registerAllListeners() {
-        if (listenersRegistered) return;
-
-        for (Scenario scenario : activeScenarios) {
-            Bukkit.getPluginManager().registerEvents(scenario.getListener(), UHC.getInstance());
-        }
+        if (dispatcher.isRegistered()) return;
 
-        listenersRegistered = true;
-        Bukkit.getLogger().info("Registered " + activeScenarios.size() + " scenario listeners");
+        dispatcher.register();
+        Bukkit.getLogger().info("Registered scenario dispatcher (" + dispatcher.getSlotCount() + " event slots, " + activeScenarios.size() + " enabled scenarios)");
     }
 
     public void unregisterAllListeners() {
-        if (!listenersRegistered) return;
-
-        for (Scenario scenario : activeScenarios) {
-            HandlerList.unregisterAll(scenario.getListener());
-        }
+        if (!dispatcher.isRegistered()) return;
 
-        listenersRegistered = false;
-        Bukkit.getLogger().info("Unregistered all scenario listeners");
+        dispatcher.unregister();
+        Bukkit.getLogger().info("Unregistered scenario dispatcher");
     }
 
     public List<Scenario> getAllScenarios() {
@@ -1,11 +1,16 @@
 package cc.kasumi.uhc.scenario.type;
 
+import cc.kasumi.uhc.UHC;
+import cc.kasumi.uhc.game.Game;
 import cc.kasumi.uhc.scenario.AbstractScenario;
 import cc.kasumi.uhc.scenario.type.listener.CutCleanListener;
+import cc.kasumi.uhc.util.SmeltingTable;
 import org.bukkit.event.Listener;
 
 public class CutCleanScenario extends AbstractScenario {
 
+    private SmeltingTable smeltingTable;
+
     public CutCleanScenario() {
         super("CutClean", "All ores and food are automatically smelted/cooked when mined/killed");
     }
@@ -14,4 +19,36 @@ public class CutCleanScenario extends AbstractScenario {
     protected Listener createListener() {
         return new CutCleanListener(this);
     }
+
+    @Override
+    public void onActivate(Game game) {
+        rebuildSmeltingTable();
+    }
+
+    @Override
+    public void onDeactivate(Game game) {
+        smeltingTable = null;
+    }
+
+    /**
+     * Returns the smelting table, building it first if recipes changed since the last build
+     */
+    public SmeltingTable getSmeltingTable() {
+        if (smeltingTable == null) {
+            rebuildSmeltingTable();
+        }
+        return smeltingTable;
+    }
+
+    /**
+     * Marks the table stale, it's rebuilt on the next lookup
+     */
+    public void invalidateSmeltingTable() {
+        smeltingTable = null;
+    }
+
+    private void rebuildSmeltingTable() {
+        smeltingTable = SmeltingTable.build();
+        UHC.getInstance().getLogger().info("Built CutClean smelting table with " + smeltingTable.size() + " furnace recipes");
+    }
 }
@@ -0,0 +1,42 @@
+package cc.kasumi.uhc.scenario.type;
+
+import cc.kasumi.uhc.UHC;
+import cc.kasumi.uhc.game.Game;
+import cc.kasumi.uhc.scenario.AbstractScenario;
+import cc.kasumi.uhc.scenario.type.listener.TimberListener;
+import cc.kasumi.uhc.util.BlockBreakQueue;
+import lombok.Getter;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.event.Listener;
+
+public class TimberScenario extends AbstractScenario {
+
+    @Getter
+    private int maxLogs = 256;
+
+    public TimberScenario() {
+        super("Timber", "Breaking a log fells the whole tree");
+    }
+
+    @Override
+    protected Listener createListener() {
+        return new TimberListener(this);
+    }
+
+    @Override
+    public void onActivate(Game game) {
+        UHC plugin = UHC.getInstance();
+        FileConfiguration config = plugin.getConfig();
+
+        config.addDefault("scenarios.timber.max-logs", 256);
+        config.options().copyDefaults(true);
+        plugin.saveConfig();
+
+        maxLogs = Math.max(1, config.getInt("scenarios.timber.max-logs"));
+    }
+
+    @Override
+    public void onDeactivate(Game game) {
+        BlockBreakQueue.getInstance().cancel(name);
+    }
+}
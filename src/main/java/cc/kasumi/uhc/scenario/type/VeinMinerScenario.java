@@ -0,0 +1,42 @@
+package cc.kasumi.uhc.scenario.type;
+
+import cc.kasumi.uhc.UHC;
+import cc.kasumi.uhc.game.Game;
+import cc.kasumi.uhc.scenario.AbstractScenario;
+import cc.kasumi.uhc.scenario.type.listener.VeinMinerListener;
+import cc.kasumi.uhc.util.BlockBreakQueue;
+import lombok.Getter;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.event.Listener;
+
+public class VeinMinerScenario extends AbstractScenario {
+
+    @Getter
+    private int maxBlocks = 64;
+
+    public VeinMinerScenario() {
+        super("VeinMiner", "Sneak while mining an ore to mine the whole vein");
+    }
+
+    @Override
+    protected Listener createListener() {
+        return new VeinMinerListener(this);
+    }
+
+    @Override
+    public void onActivate(Game game) {
+        UHC plugin = UHC.getInstance();
+        FileConfiguration config = plugin.getConfig();
+
+        config.addDefault("scenarios.veinminer.max-blocks", 64);
+        config.options().copyDefaults(true);
+        plugin.saveConfig();
+
+        maxBlocks = Math.max(1, config.getInt("scenarios.veinminer.max-blocks"));
+    }
+
+    @Override
+    public void onDeactivate(Game game) {
+        BlockBreakQueue.getInstance().cancel(name);
+    }
+}
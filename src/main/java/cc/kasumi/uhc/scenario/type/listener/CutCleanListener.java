@@ -2,8 +2,8 @@ package cc.kasumi.uhc.scenario.type.listener;
 
 import cc.kasumi.commons.util.ItemBuilder;
 import cc.kasumi.uhc.scenario.BaseScenarioListener;
-import cc.kasumi.uhc.scenario.Scenario;
-import org.bukkit.Bukkit;
+import cc.kasumi.uhc.scenario.type.CutCleanScenario;
+import cc.kasumi.uhc.util.SmeltingTable;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
@@ -17,19 +17,23 @@ import org.bukkit.event.entity.EntityDeathEvent;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.server.PluginEnableEvent;
 import org.bukkit.inventory.*;
 
-import java.util.Iterator;
+import java.util.List;
 
 public class CutCleanListener extends BaseScenarioListener {
 
+    private final CutCleanScenario cutClean;
     private final ItemStack lapis;
 
     private boolean unlimitedLapis = true;
     private boolean checkTool = false;
 
-    public CutCleanListener(Scenario scenario) {
+    public CutCleanListener(CutCleanScenario scenario) {
         super(scenario);
+        this.cutClean = scenario;
         lapis = new ItemBuilder(Material.LAPIS_ORE, 64).build();
     }
 
@@ -37,35 +41,31 @@ public class CutCleanListener extends BaseScenarioListener {
     public void onEntityDeath(EntityDeathEvent e) {
         // Hmm, this means that Donkey/Mule chest drops will smelt too...
         // Then again, not the biggest issue, we can just say it's "intended".
-        for(int i = 0 ; i < e.getDrops().size(); i++) {
-            // Cloned because we may end up having to mutate it, see below
-            final ItemStack drop = e.getDrops().get(i).clone();
-            // Note: On modern Minecraft versions, we could probably use Server#craftItem,
-            // but it doesn't exist on older game versions such as 1.8.8.
-            for (Iterator<Recipe> recipes = Bukkit.recipeIterator(); recipes.hasNext();) {
-                final Recipe recipe = recipes.next();
-                if (recipe instanceof FurnaceRecipe) {
-                    // Note: getInputChoice would be more future-proof, but it doesn't exist on
-                    // older Minecraft versions such as 1.8.8. Should be fine to ignore it for now.
-                    final ItemStack smeltInput = ((FurnaceRecipe) recipe).getInput();
-                    // Note	: On older game versions such as 1.8.8, the recipe input ItemStack
-                    // may have a damage value of 32767, i.e. Short.MAX_VALUE (for a special reason),
-                    // so ItemStack#isSimilar will always return false.
-                    // For reference, see: https://www.spigotmc.org/threads/malformed-itemstack.60990/#post-677215
-                    if (smeltInput.getDurability() == Short.MAX_VALUE) {
-                        drop.setDurability(Short.MAX_VALUE);
-                    }
-
-                    if (smeltInput.isSimilar(drop)) {
-                        final ItemStack smeltResult = recipe.getResult();
-                        smeltResult.setAmount(drop.getAmount());
-                        e.getDrops().set(i, smeltResult);
-                    }
-                }
+        List<ItemStack> drops = e.getDrops();
+        if (drops.isEmpty()) {
+            return;
+        }
+
+        SmeltingTable table = cutClean.getSmeltingTable();
+        for (int i = 0; i < drops.size(); i++) {
+            ItemStack smelted = table.smelt(drops.get(i));
+            if (smelted != null) {
+                drops.set(i, smelted);
             }
         }
     }
 
+    // Plugins register recipes on enable, so the table may be out of date after one loads
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginEnable(PluginEnableEvent event) {
+        cutClean.invalidateSmeltingTable();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginDisable(PluginDisableEvent event) {
+        cutClean.invalidateSmeltingTable();
+    }
+
     @EventHandler(priority = EventPriority.HIGH)
     public void onBlockBreak(BlockBreakEvent event) {
         if (event.isCancelled()) return;
@@ -13,8 +13,6 @@ public class NoFallListener extends BaseScenarioListener {
 
     @EventHandler
     public void onEntityDamage(EntityDamageEvent event) {
-        if (!isScenarioActive()) return;
-
         if (event.getCause() == EntityDamageEvent.DamageCause.FALL) {
             event.setCancelled(true);
         }
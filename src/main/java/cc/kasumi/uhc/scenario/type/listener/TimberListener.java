@@ -0,0 +1,51 @@
+package cc.kasumi.uhc.scenario.type.listener;
+
+import cc.kasumi.uhc.scenario.BaseScenarioListener;
+import cc.kasumi.uhc.scenario.type.TimberScenario;
+import cc.kasumi.uhc.util.BlockBreakQueue;
+import cc.kasumi.uhc.util.ConnectedBlockSearch;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.block.BlockBreakEvent;
+
+public class TimberListener extends BaseScenarioListener {
+
+    // Enough for giant jungle and dark oak branches
+    private static final int HORIZONTAL_RADIUS = 10;
+    private static final int VERTICAL_RADIUS = 32;
+
+    @SuppressWarnings("deprecation")
+    private static final int LOG = Material.LOG.getId();
+    @SuppressWarnings("deprecation")
+    private static final int LOG_2 = Material.LOG_2.getId();
+
+    private final TimberScenario timber;
+
+    public TimberListener(TimberScenario scenario) {
+        super(scenario);
+        this.timber = scenario;
+    }
+
+    @SuppressWarnings("deprecation")
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        BlockBreakQueue queue = BlockBreakQueue.getInstance();
+        if (queue.isBreaking()) return;
+
+        Block block = event.getBlock();
+        if (!isLog(block.getTypeId())) return;
+
+        Player player = event.getPlayer();
+        long[] logs = ConnectedBlockSearch.search(block.getWorld(), block.getX(), block.getY(), block.getZ(),
+                TimberListener::isLog, timber.getMaxLogs(), HORIZONTAL_RADIUS, VERTICAL_RADIUS, true);
+
+        queue.submit(player, timber.getName(), block.getWorld(), logs, player.getItemInHand(), TimberListener::isLog);
+    }
+
+    private static boolean isLog(int typeId) {
+        return typeId == LOG || typeId == LOG_2;
+    }
+}
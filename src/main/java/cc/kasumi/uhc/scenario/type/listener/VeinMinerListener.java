@@ -0,0 +1,83 @@
+package cc.kasumi.uhc.scenario.type.listener;
+
+import cc.kasumi.uhc.scenario.BaseScenarioListener;
+import cc.kasumi.uhc.scenario.type.VeinMinerScenario;
+import cc.kasumi.uhc.util.BlockBreakQueue;
+import cc.kasumi.uhc.util.ConnectedBlockSearch;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.block.BlockBreakEvent;
+
+import java.util.function.IntPredicate;
+
+public class VeinMinerListener extends BaseScenarioListener {
+
+    private static final int HORIZONTAL_RADIUS = 8;
+    private static final int VERTICAL_RADIUS = 8;
+
+    @SuppressWarnings("deprecation")
+    private static final int REDSTONE_ORE = Material.REDSTONE_ORE.getId();
+    @SuppressWarnings("deprecation")
+    private static final int GLOWING_REDSTONE_ORE = Material.GLOWING_REDSTONE_ORE.getId();
+
+    private static final boolean[] ORES = createOres();
+
+    private final VeinMinerScenario veinMiner;
+
+    public VeinMinerListener(VeinMinerScenario scenario) {
+        super(scenario);
+        this.veinMiner = scenario;
+    }
+
+    // Before CutClean (HIGH), which cancels iron and gold breaks to drop ingots itself
+    @SuppressWarnings("deprecation")
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        BlockBreakQueue queue = BlockBreakQueue.getInstance();
+        if (queue.isBreaking()) return;
+
+        Player player = event.getPlayer();
+        if (!player.isSneaking()) return;
+
+        Block block = event.getBlock();
+        int typeId = block.getTypeId();
+        if (typeId >= ORES.length || !ORES[typeId]) return;
+
+        IntPredicate sameOre = sameOre(typeId);
+        long[] vein = ConnectedBlockSearch.search(block.getWorld(), block.getX(), block.getY(), block.getZ(),
+                sameOre, veinMiner.getMaxBlocks(), HORIZONTAL_RADIUS, VERTICAL_RADIUS, true);
+
+        queue.submit(player, veinMiner.getName(), block.getWorld(), vein, player.getItemInHand(), sameOre);
+    }
+
+    private static IntPredicate sameOre(int typeId) {
+        // Redstone ore turns into its glowing variant when touched
+        if (typeId == REDSTONE_ORE || typeId == GLOWING_REDSTONE_ORE) {
+            return id -> id == REDSTONE_ORE || id == GLOWING_REDSTONE_ORE;
+        }
+        return id -> id == typeId;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static boolean[] createOres() {
+        Material[] ores = {
+                Material.COAL_ORE, Material.IRON_ORE, Material.GOLD_ORE, Material.DIAMOND_ORE,
+                Material.EMERALD_ORE, Material.LAPIS_ORE, Material.REDSTONE_ORE,
+                Material.GLOWING_REDSTONE_ORE, Material.QUARTZ_ORE
+        };
+
+        int max = 0;
+        for (Material ore : ores) {
+            max = Math.max(max, ore.getId());
+        }
+
+        boolean[] lookup = new boolean[max + 1];
+        for (Material ore : ores) {
+            lookup[ore.getId()] = true;
+        }
+        return lookup;
+    }
+}
@@ -1,25 +1,18 @@
 package cc.kasumi.uhc.spectator;
 
-import cc.kasumi.commons.menu.Button;
-import cc.kasumi.commons.menu.Menu;
 import cc.kasumi.uhc.UHC;
 import cc.kasumi.uhc.game.Game;
 import cc.kasumi.uhc.player.PlayerState;
 import cc.kasumi.uhc.player.UHCPlayer;
 import lombok.Getter;
-import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.inventory.ClickType;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.UUID;
 
 /**
  * Manages all spectator functionality including visibility, teleportation, and state management
@@ -30,11 +23,15 @@ public class SpectatorManager {
     private final UHC plugin;
     private final Game game;
     private final SpectatorConfiguration config;
+    private final SpectatorVisibility visibility;
+    private final SpectatorTeleportMenu teleportMenu;
 
     public SpectatorManager(UHC plugin, Game game) {
         this.plugin = plugin;
         this.game = game;
         this.config = new SpectatorConfiguration();
+        this.visibility = new SpectatorVisibility(game, config);
+        this.teleportMenu = new SpectatorTeleportMenu(game, this);
     }
 
     /**
@@ -68,7 +65,7 @@ public class SpectatorManager {
         setupSpectatorMode(player);
 
         // Hide spectator from alive players
-        hideSpectatorFromAlivePlayers(player);
+        visibility.markDirty(player.getUniqueId());
 
         // Give spectator tools
         giveSpectatorTools(player);
@@ -98,9 +95,6 @@ public class SpectatorManager {
         // Cleanup spectator mode
         cleanupSpectator(player);
 
-        // Show player to all other players
-        showPlayerToAllPlayers(player);
-
         // Send message
         player.sendMessage(ChatColor.GREEN + "You are no longer spectating!");
 
@@ -144,52 +138,17 @@ public class SpectatorManager {
         player.setFlying(false);
 
         // Show player to all other players
-        showPlayerToAllPlayers(player);
-    }
-
-    /**
-     * Hide spectator from alive players using player.hidePlayer()
-     */
-    private void hideSpectatorFromAlivePlayers(Player spectator) {
-        for (Player onlinePlayer : Bukkit.getOnlinePlayers()) {
-            if (onlinePlayer.equals(spectator)) continue;
-
-            UHCPlayer uhcPlayer = game.getUHCPlayer(onlinePlayer.getUniqueId());
-            if (uhcPlayer != null && uhcPlayer.getState() == PlayerState.ALIVE) {
-                // Hide spectator from alive player
-                onlinePlayer.hidePlayer(spectator);
-            } else if (uhcPlayer != null && uhcPlayer.isSpectator() && config.isSpectatorsCanSeeEachOther()) {
-                // Show spectator to other spectators if configured
-                onlinePlayer.showPlayer(spectator);
-            }
-        }
+        visibility.markDirty(player.getUniqueId());
     }
 
     /**
-     * Show player to all other players using player.showPlayer()
-     */
-    private void showPlayerToAllPlayers(Player player) {
-        for (Player onlinePlayer : Bukkit.getOnlinePlayers()) {
-            if (!onlinePlayer.equals(player)) {
-                onlinePlayer.showPlayer(player);
-            }
-        }
-    }
-
-    /**
-     * Update spectator visibility when a player's state changes
+     * Update spectator visibility when a player's state changes.
+     * Only the pairs involving this player that actually changed are applied, on the next tick.
      */
     public void updateSpectatorVisibility(Player player) {
         if (player == null) return;
 
-        UHCPlayer uhcPlayer = game.getUHCPlayer(player.getUniqueId());
-        if (uhcPlayer == null) return;
-
-        if (uhcPlayer.isSpectator()) {
-            hideSpectatorFromAlivePlayers(player);
-        } else {
-            showPlayerToAllPlayers(player);
-        }
+        visibility.markDirty(player.getUniqueId());
     }
 
     /**
@@ -236,13 +195,7 @@ public class SpectatorManager {
     public boolean teleportSpectatorToRandomPlayer(Player spectator) {
         if (spectator == null || !isSpectator(spectator)) return false;
 
-        List<Player> alivePlayers = new ArrayList<>();
-        for (Player onlinePlayer : Bukkit.getOnlinePlayers()) {
-            UHCPlayer uhcPlayer = game.getUHCPlayer(onlinePlayer.getUniqueId());
-            if (uhcPlayer != null && uhcPlayer.getState() == PlayerState.ALIVE) {
-                alivePlayers.add(onlinePlayer);
-            }
-        }
+        List<Player> alivePlayers = getAlivePlayers();
 
         if (alivePlayers.isEmpty()) {
             spectator.sendMessage(ChatColor.RED + "No alive players to teleport to!");
@@ -257,24 +210,20 @@ public class SpectatorManager {
      * Get list of alive players for spectator teleportation
      */
     public List<Player> getAlivePlayers() {
-        List<Player> alivePlayers = new ArrayList<>();
-        for (Player onlinePlayer : Bukkit.getOnlinePlayers()) {
-            UHCPlayer uhcPlayer = game.getUHCPlayer(onlinePlayer.getUniqueId());
-            if (uhcPlayer != null && uhcPlayer.getState() == PlayerState.ALIVE) {
-                alivePlayers.add(onlinePlayer);
-            }
-        }
-        return alivePlayers;
+        return getOnlinePlayersInState(PlayerState.ALIVE);
     }
 
     /**
      * Handle player join for spectators
      */
     public void handlePlayerJoin(Player player) {
+        // Every player is a viewer, so everyone gets a slot in the visibility matrix
+        updateSpectatorVisibility(player);
+        teleportMenu.update(player.getUniqueId());
+
         UHCPlayer uhcPlayer = game.getUHCPlayer(player.getUniqueId());
         if (uhcPlayer != null && uhcPlayer.isSpectator()) {
             setupSpectatorMode(player);
-            updateSpectatorVisibility(player);
             giveSpectatorTools(player);
         }
     }
@@ -284,26 +233,23 @@ public class SpectatorManager {
      */
     public void handlePlayerQuit(Player player) {
         // player.hidePlayer() cleanup is handled automatically by Bukkit on quit
-        // Additional cleanup if needed can be added here
+        visibility.removePlayer(player.getUniqueId());
+        teleportMenu.remove(player.getUniqueId());
     }
 
     /**
      * Update all spectator visibilities (useful for when states change)
      */
     public void updateAllSpectatorVisibilities() {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            updateSpectatorVisibility(player);
-        }
+        visibility.markAllDirty();
     }
 
     /**
      * Send message to all spectators
      */
     public void sendMessageToSpectators(String message) {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            if (isSpectator(player)) {
-                player.sendMessage(message);
-            }
+        for (Player player : getOnlineSpectators()) {
+            player.sendMessage(message);
         }
     }
 
@@ -311,13 +257,21 @@ public class SpectatorManager {
      * Get all online spectators
      */
     public List<Player> getOnlineSpectators() {
-        List<Player> spectators = new ArrayList<>();
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            if (isSpectator(player)) {
-                spectators.add(player);
+        return getOnlinePlayersInState(PlayerState.SPECTATING);
+    }
+
+    /**
+     * Online players from the game's state index, no full online-player scan
+     */
+    private List<Player> getOnlinePlayersInState(PlayerState state) {
+        List<Player> result = new ArrayList<>();
+        for (UHCPlayer uhcPlayer : game.getPlayersInState(state)) {
+            Player player = uhcPlayer.getPlayer();
+            if (player != null) {
+                result.add(player);
             }
         }
-        return spectators;
+        return result;
     }
 
     /**
@@ -326,69 +280,17 @@ public class SpectatorManager {
     public void openTeleportationMenu(Player spectator) {
         if (!isSpectator(spectator)) return;
 
-        List<Player> alivePlayers = getAlivePlayers();
-        if (alivePlayers.isEmpty()) {
+        if (teleportMenu.getAliveCount() == 0) {
             spectator.sendMessage(ChatColor.RED + "No alive players to teleport to!");
             return;
         }
 
         try {
-            Menu menu = new Menu() {
-                @Override
-                public String getTitle(Player player) {
-                    return ChatColor.GOLD + "Teleport to Player";
-                }
-
-                @Override
-                public Map<Integer, Button> getButtons(Player player) {
-                    Map<Integer, Button> buttons = new HashMap<>();
-                    
-                    int slot = 0;
-                    for (Player alivePlayer : alivePlayers) {
-                        if (slot >= 54) break; // Max inventory size
-                        
-                        buttons.put(slot, new Button() {
-                            @Override
-                            public ItemStack getButtonItem(Player player) {
-                                ItemStack skull = new ItemStack(Material.SKULL_ITEM, 1, (short) 3);
-                                ItemMeta meta = skull.getItemMeta();
-                                meta.setDisplayName(ChatColor.GREEN + alivePlayer.getName());
-                                
-                                List<String> lore = new ArrayList<>();
-                                lore.add(ChatColor.GRAY + "Click to teleport to " + alivePlayer.getName());
-                                UHCPlayer uhcPlayer = game.getUHCPlayer(alivePlayer.getUniqueId());
-                                if (uhcPlayer != null) {
-                                    lore.add(ChatColor.YELLOW + "Kills: " + uhcPlayer.getKills());
-                                }
-                                meta.setLore(lore);
-                                
-                                skull.setItemMeta(meta);
-                                return skull;
-                            }
-
-                            @Override
-                            public void clicked(Player player, int slot, ClickType clickType, int hotbarButton) {
-                                if (alivePlayer.isOnline()) {
-                                    teleportSpectatorToPlayer(spectator, alivePlayer);
-                                    player.closeInventory();
-                                } else {
-                                    player.sendMessage(ChatColor.RED + alivePlayer.getName() + " is no longer online!");
-                                    openTeleportationMenu(spectator); // Refresh menu
-                                }
-                            }
-                        });
-                        slot++;
-                    }
-                    
-                    return buttons;
-                }
-            };
-
-            menu.openMenu(spectator);
+            teleportMenu.open(spectator, 0);
         } catch (Exception e) {
             // Fallback if commons menu system is not available or has different interface
             spectator.sendMessage(ChatColor.RED + "Teleportation menu is not available. Use /spec tp <player> instead.");
             plugin.getLogger().warning("Could not open teleportation menu: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,250 @@
+package cc.kasumi.uhc.spectator;
+
+import cc.kasumi.commons.menu.Button;
+import cc.kasumi.commons.menu.Menu;
+import cc.kasumi.uhc.game.Game;
+import cc.kasumi.uhc.player.PlayerState;
+import cc.kasumi.uhc.player.UHCPlayer;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.*;
+
+/**
+ * Shared, paginated model of the spectator teleport menu.
+ * Alive players are kept current by state changes, kills, joins and quits instead of being
+ * rescanned on every open. Skull items are cached per player and only rebuilt when their kills
+ * change, pages are only re-laid out when someone is added or removed.
+ */
+public class SpectatorTeleportMenu {
+
+    private static final int PAGE_SIZE = 45;
+    private static final int PREVIOUS_SLOT = 45;
+    private static final int INFO_SLOT = 49;
+    private static final int NEXT_SLOT = 53;
+
+    private final Game game;
+    private final SpectatorManager spectatorManager;
+
+    private final Map<UUID, Entry> entries = new LinkedHashMap<>();
+    private final List<Map<Integer, Button>> pages = new ArrayList<>();
+    private boolean pagesDirty = true;
+
+    public SpectatorTeleportMenu(Game game, SpectatorManager spectatorManager) {
+        this.game = game;
+        this.spectatorManager = spectatorManager;
+    }
+
+    /**
+     * Adds or removes the player depending on whether they are online and alive
+     */
+    public void update(UUID uuid) {
+        Player player = Bukkit.getPlayer(uuid);
+        UHCPlayer uhcPlayer = game.getUHCPlayer(uuid);
+
+        if (player == null || uhcPlayer == null || uhcPlayer.getState() != PlayerState.ALIVE) {
+            remove(uuid);
+            return;
+        }
+
+        Entry entry = entries.get(uuid);
+        if (entry == null) {
+            entries.put(uuid, new Entry(uuid, player.getName()));
+            pagesDirty = true;
+        } else {
+            entry.item = null;
+        }
+    }
+
+    /**
+     * Rebuilds the cached skull on next open, e.g. after a kill
+     */
+    public void refresh(UUID uuid) {
+        Entry entry = entries.get(uuid);
+        if (entry != null) {
+            entry.item = null;
+        }
+    }
+
+    public void remove(UUID uuid) {
+        if (entries.remove(uuid) != null) {
+            pagesDirty = true;
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+        pages.clear();
+        pagesDirty = true;
+    }
+
+    public int getAliveCount() {
+        return entries.size();
+    }
+
+    public int getPageCount() {
+        rebuildPages();
+        return pages.size();
+    }
+
+    /**
+     * Opens the given page (0 based) for a spectator, the page's buttons are shared by every viewer
+     */
+    public void open(Player spectator, int page) {
+        rebuildPages();
+
+        int pageCount = pages.size();
+        int pageIndex = Math.max(0, Math.min(page, pageCount - 1));
+        Map<Integer, Button> buttons = pages.get(pageIndex);
+
+        Menu menu = new Menu() {
+            @Override
+            public String getTitle(Player player) {
+                return ChatColor.GOLD + "Teleport to Player" + (pageCount > 1 ? ChatColor.GRAY + " (" + (pageIndex + 1) + "/" + pageCount + ")" : "");
+            }
+
+            @Override
+            public Map<Integer, Button> getButtons(Player player) {
+                return new HashMap<>(buttons);
+            }
+        };
+
+        menu.openMenu(spectator);
+    }
+
+    private void rebuildPages() {
+        if (!pagesDirty) {
+            return;
+        }
+
+        pages.clear();
+
+        List<Entry> alive = new ArrayList<>(entries.values());
+        int pageCount = Math.max(1, (alive.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+
+        for (int page = 0; page < pageCount; page++) {
+            Map<Integer, Button> buttons = new HashMap<>();
+
+            int start = page * PAGE_SIZE;
+            int end = Math.min(start + PAGE_SIZE, alive.size());
+            for (int i = start; i < end; i++) {
+                Entry entry = alive.get(i);
+                entry.page = page;
+                buttons.put(i - start, entry.button);
+            }
+
+            if (pageCount > 1) {
+                if (page > 0) {
+                    buttons.put(PREVIOUS_SLOT, createPageButton(page - 1, "Previous Page"));
+                }
+                if (page < pageCount - 1) {
+                    buttons.put(NEXT_SLOT, createPageButton(page + 1, "Next Page"));
+                }
+                buttons.put(INFO_SLOT, createInfoButton(alive.size()));
+            }
+
+            pages.add(buttons);
+        }
+
+        pagesDirty = false;
+    }
+
+    private Button createPageButton(int targetPage, String name) {
+        ItemStack item = createItem(Material.ARROW, (short) 0, ChatColor.YELLOW + name, null);
+
+        return new Button() {
+            @Override
+            public ItemStack getButtonItem(Player player) {
+                return item;
+            }
+
+            @Override
+            public void clicked(Player player, int slot, ClickType clickType, int hotbarButton) {
+                open(player, targetPage);
+            }
+        };
+    }
+
+    private static Button createInfoButton(int aliveCount) {
+        ItemStack item = createItem(Material.PAPER, (short) 0, ChatColor.GOLD + "Alive Players: " + ChatColor.WHITE + aliveCount, null);
+
+        return new Button() {
+            @Override
+            public ItemStack getButtonItem(Player player) {
+                return item;
+            }
+
+            @Override
+            public void clicked(Player player, int slot, ClickType clickType, int hotbarButton) {
+            }
+        };
+    }
+
+    private static ItemStack createItem(Material material, short data, String name, List<String> lore) {
+        ItemStack item = new ItemStack(material, 1, data);
+        ItemMeta meta = item.getItemMeta();
+        meta.setDisplayName(name);
+        if (lore != null) {
+            meta.setLore(lore);
+        }
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    /**
+     * One alive player, the skull is built lazily and reused until invalidated
+     */
+    private final class Entry {
+
+        private final UUID uuid;
+        private final String name;
+        private ItemStack item;
+        private int page;
+
+        private final Button button = new Button() {
+            @Override
+            public ItemStack getButtonItem(Player player) {
+                return getItem();
+            }
+
+            @Override
+            public void clicked(Player player, int slot, ClickType clickType, int hotbarButton) {
+                Player target = Bukkit.getPlayer(uuid);
+
+                if (target != null) {
+                    spectatorManager.teleportSpectatorToPlayer(player, target);
+                    player.closeInventory();
+                } else {
+                    player.sendMessage(ChatColor.RED + name + " is no longer online!");
+                    open(player, page); // Refresh menu
+                }
+            }
+        };
+
+        private Entry(UUID uuid, String name) {
+            this.uuid = uuid;
+            this.name = name;
+        }
+
+        private ItemStack getItem() {
+            if (item == null) {
+                List<String> lore = new ArrayList<>();
+                lore.add(ChatColor.GRAY + "Click to teleport to " + name);
+
+                UHCPlayer uhcPlayer = game.getUHCPlayer(uuid);
+                if (uhcPlayer != null) {
+                    lore.add(ChatColor.YELLOW + "Kills: " + uhcPlayer.getKills());
+                }
+
+                item = createItem(Material.SKULL_ITEM, (short) 3, ChatColor.GREEN + name, lore);
+            }
+
+            return item;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package cc.kasumi.uhc.spectator;
+
+import cc.kasumi.uhc.game.Game;
+import cc.kasumi.uhc.player.PlayerState;
+import cc.kasumi.uhc.player.UHCPlayer;
+import cc.kasumi.uhc.util.TickProfiler;
+import cc.kasumi.uhc.util.TimingWheel;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+
+/**
+ * Who-sees-whom matrix for spectator hiding.
+ * Every online player gets a dense slot, each viewer has a bitset of the targets it currently sees.
+ * State transitions only mark the player dirty, once per tick the dirty rows and columns are
+ * compared against the matrix and only the pairs that actually changed get hidePlayer/showPlayer.
+ */
+public class SpectatorVisibility {
+
+    private final Game game;
+    private final SpectatorConfiguration config;
+
+    private final Map<UUID, Integer> slots = new HashMap<>();
+    private final BitSet usedSlots = new BitSet();
+    private Player[] players = new Player[64];
+    // seen[viewer].get(target) -> viewer currently sees target
+    private BitSet[] seen = new BitSet[64];
+
+    private final BitSet alive = new BitSet();
+    private final BitSet spectators = new BitSet();
+
+    private final Set<UUID> dirty = new LinkedHashSet<>();
+    private boolean allDirty = false;
+    private TimingWheel.Timeout flushTimeout;
+    private final Runnable flushTask = TickProfiler.wrap("spectator-visibility", this::flush);
+
+    @Getter
+    private long pairsChanged = 0;
+
+    public SpectatorVisibility(Game game, SpectatorConfiguration config) {
+        this.game = game;
+        this.config = config;
+    }
+
+    /**
+     * Recompute this player's row and column on the next flush
+     */
+    public void markDirty(UUID uuid) {
+        dirty.add(uuid);
+        requestFlush();
+    }
+
+    /**
+     * Recompute every pair on the next flush, e.g. after a configuration change
+     */
+    public void markAllDirty() {
+        allDirty = true;
+        requestFlush();
+    }
+
+    /**
+     * Forget a player that left, Bukkit drops their own hidden set with the Player object
+     */
+    public void removePlayer(UUID uuid) {
+        Integer slot = slots.remove(uuid);
+        dirty.remove(uuid);
+
+        if (slot == null) {
+            return;
+        }
+
+        usedSlots.clear(slot);
+        alive.clear(slot);
+        spectators.clear(slot);
+        players[slot] = null;
+        seen[slot] = null;
+    }
+
+    /**
+     * Drops all state and any pending flush
+     */
+    public void clear() {
+        slots.clear();
+        usedSlots.clear();
+        alive.clear();
+        spectators.clear();
+        Arrays.fill(players, null);
+        Arrays.fill(seen, null);
+        dirty.clear();
+        allDirty = false;
+
+        if (flushTimeout != null) {
+            flushTimeout.cancel();
+            flushTimeout = null;
+        }
+    }
+
+    public int getTrackedCount() {
+        return slots.size();
+    }
+
+    private void requestFlush() {
+        if (flushTimeout == null || !flushTimeout.isPending()) {
+            flushTimeout = TimingWheel.getInstance().schedule(flushTask, 1L);
+        }
+    }
+
+    private void flush() {
+        flushTimeout = null;
+
+        if (allDirty) {
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                dirty.add(player.getUniqueId());
+            }
+            allDirty = false;
+        }
+
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        // Refresh every dirty player's state first so a pair of two dirty players uses both new states
+        BitSet dirtySlots = new BitSet();
+        for (UUID uuid : dirty) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player == null) continue;
+
+            int slot = getOrCreateSlot(player);
+            updateState(slot, uuid);
+            dirtySlots.set(slot);
+        }
+        dirty.clear();
+
+        for (int slot = dirtySlots.nextSetBit(0); slot >= 0; slot = dirtySlots.nextSetBit(slot + 1)) {
+            applyRow(slot);
+            applyColumn(slot);
+        }
+    }
+
+    /**
+     * What the viewer should see: everyone online except itself, minus spectators for alive
+     * viewers and for spectators when they shouldn't see each other
+     */
+    private void applyRow(int viewer) {
+        BitSet changed = (BitSet) usedSlots.clone();
+        changed.clear(viewer);
+
+        boolean hideSpectators = spectators.get(viewer) ? !config.isSpectatorsCanSeeEachOther() : alive.get(viewer);
+        if (hideSpectators) {
+            changed.andNot(spectators);
+        }
+
+        changed.xor(seen[viewer]);
+
+        for (int target = changed.nextSetBit(0); target >= 0; target = changed.nextSetBit(target + 1)) {
+            apply(viewer, target, !seen[viewer].get(target));
+        }
+    }
+
+    /**
+     * Who should see the target, only differs from the default when the target is a spectator
+     */
+    private void applyColumn(int target) {
+        boolean targetSpectator = spectators.get(target);
+
+        for (int viewer = usedSlots.nextSetBit(0); viewer >= 0; viewer = usedSlots.nextSetBit(viewer + 1)) {
+            if (viewer == target) continue;
+
+            boolean visible = !targetSpectator ||
+                    (spectators.get(viewer) ? config.isSpectatorsCanSeeEachOther() : !alive.get(viewer));
+
+            if (visible != seen[viewer].get(target)) {
+                apply(viewer, target, visible);
+            }
+        }
+    }
+
+    private void apply(int viewer, int target, boolean visible) {
+        Player viewerPlayer = players[viewer];
+        Player targetPlayer = players[target];
+
+        if (visible) {
+            viewerPlayer.showPlayer(targetPlayer);
+        } else {
+            viewerPlayer.hidePlayer(targetPlayer);
+        }
+
+        seen[viewer].set(target, visible);
+        pairsChanged++;
+    }
+
+    private void updateState(int slot, UUID uuid) {
+        UHCPlayer uhcPlayer = game.getUHCPlayer(uuid);
+        PlayerState state = uhcPlayer != null ? uhcPlayer.getState() : null;
+
+        alive.set(slot, state == PlayerState.ALIVE);
+        spectators.set(slot, uhcPlayer != null && uhcPlayer.isSpectator());
+    }
+
+    private int getOrCreateSlot(Player player) {
+        Integer existing = slots.get(player.getUniqueId());
+
+        // A rejoin creates a new Player object with its own hidden set, so it is re-seeded
+        if (existing != null && players[existing] == player) {
+            return existing;
+        }
+
+        if (existing != null) {
+            removePlayer(player.getUniqueId());
+        }
+
+        int slot = usedSlots.nextClearBit(0);
+        if (slot >= players.length) {
+            int size = players.length * 2;
+            players = Arrays.copyOf(players, size);
+            seen = Arrays.copyOf(seen, size);
+        }
+
+        // Seed the new row and column from what Bukkit actually has applied
+        BitSet row = new BitSet();
+        for (int other = usedSlots.nextSetBit(0); other >= 0; other = usedSlots.nextSetBit(other + 1)) {
+            Player otherPlayer = players[other];
+
+            row.set(other, player.canSee(otherPlayer));
+            seen[other].set(slot, otherPlayer.canSee(player));
+        }
+
+        slots.put(player.getUniqueId(), slot);
+        usedSlots.set(slot);
+        players[slot] = player;
+        seen[slot] = row;
+
+        return slot;
+    }
+}
@@ -5,6 +5,7 @@ import cc.kasumi.uhc.game.Game;
 import cc.kasumi.uhc.game.state.ActiveGameState;
 import cc.kasumi.uhc.player.PlayerState;
 import cc.kasumi.uhc.player.UHCPlayer;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -26,6 +27,12 @@ public class TeamManager {
     private final Map<UUID, UUID> playerToTeam; // Player UUID -> Team UUID
     private final TeamConfiguration config;
 
+    // Kept in step by UHCTeam on every eliminate/revive so end-game checks never scan all teams
+    @Getter(AccessLevel.NONE)
+    private final Set<UHCTeam> liveTeams = new LinkedHashSet<>();
+    private int alivePlayerCount = 0;
+    private int totalKills = 0;
+
     // Available team colors
     private static final ChatColor[] TEAM_COLORS = {
             ChatColor.RED, ChatColor.BLUE, ChatColor.GREEN, ChatColor.YELLOW,
@@ -61,6 +68,7 @@ public class TeamManager {
 
         UHCTeam team = new UHCTeam(teamName, color);
         teams.put(team.getTeamId(), team);
+        team.setManager(this);
 
         UHC.getInstance().getLogger().info("Created team: " + teamName + " with color " + color.name());
         return team;
@@ -81,7 +89,7 @@ public class TeamManager {
             removePlayerFromTeam(playerUuid);
         }
 
-        teams.remove(teamId);
+        unregisterTeam(teams.remove(teamId));
         UHC.getInstance().getLogger().info("Deleted team: " + team.getTeamName());
         return true;
     }
@@ -182,7 +190,7 @@ public class TeamManager {
 
         // Delete team if empty and auto-deletion is enabled
         if (config.isAutoDeleteEmptyTeams() && team.getSize() == 0) {
-            teams.remove(teamId);
+            unregisterTeam(teams.remove(teamId));
             UHC.getInstance().getLogger().info("Auto-deleted empty team: " + team.getTeamName());
 
             // NameTag Integration - Notify nametag manager of team data change
@@ -254,9 +262,52 @@ public class TeamManager {
      * Get all alive teams (teams with at least one alive member)
      */
     public List<UHCTeam> getAliveTeams() {
-        return teams.values().stream()
-                .filter(team -> !team.isEliminated())
-                .collect(Collectors.toList());
+        return new ArrayList<>(liveTeams);
+    }
+
+    /**
+     * Number of teams with at least one alive member
+     */
+    public int getAliveTeamCount() {
+        return liveTeams.size();
+    }
+
+    /**
+     * Number of teams without alive members
+     */
+    public int getEliminatedTeamCount() {
+        return teams.size() - liveTeams.size();
+    }
+
+    /**
+     * The last team standing, or null while zero or several teams are alive
+     */
+    public UHCTeam getSoleAliveTeam() {
+        return liveTeams.size() == 1 ? liveTeams.iterator().next() : null;
+    }
+
+    /**
+     * Called by UHCTeam whenever a member is added to or removed from its alive set
+     */
+    void onAliveMembersChanged(UHCTeam team, int delta) {
+        alivePlayerCount += delta;
+
+        if (team.isEliminated()) {
+            liveTeams.remove(team);
+        } else {
+            liveTeams.add(team);
+        }
+    }
+
+    private void unregisterTeam(UHCTeam team) {
+        if (team == null) {
+            return;
+        }
+
+        team.setManager(null);
+        if (liveTeams.remove(team)) {
+            alivePlayerCount -= team.getAliveSize();
+        }
     }
 
     /**
@@ -352,8 +403,15 @@ public class TeamManager {
      * Clear all teams - Enhanced with NameTag integration
      */
     public void clearAllTeams() {
+        for (UHCTeam team : teams.values()) {
+            team.setManager(null);
+        }
+
         teams.clear();
         playerToTeam.clear();
+        liveTeams.clear();
+        alivePlayerCount = 0;
+        totalKills = 0;
         colorIndex = 0;
 
         // NameTag Integration - Notify nametag manager of major change
@@ -379,8 +437,8 @@ public class TeamManager {
     public TeamStats getTeamStats() {
         TeamStats stats = new TeamStats();
         stats.totalTeams = teams.size();
-        stats.aliveTeams = getAliveTeams().size();
-        stats.eliminatedTeams = getEliminatedTeams().size();
+        stats.aliveTeams = getAliveTeamCount();
+        stats.eliminatedTeams = getEliminatedTeamCount();
         stats.totalPlayers = playerToTeam.size();
 
         if (!teams.isEmpty()) {
@@ -525,6 +583,8 @@ public class TeamManager {
 
             if (uhcKiller != null) {
                 uhcKiller.addKill();
+                totalKills++;
+                game.getSpectatorManager().getTeleportMenu().refresh(killer.getUniqueId());
 
                 // Send kill confirmation to killer
                 killer.sendMessage(ChatColor.GREEN + "You killed " + victim.getName() +
@@ -553,17 +613,8 @@ public class TeamManager {
      * Check if game should end based on team states
      */
     public boolean shouldGameEnd() {
-        List<UHCTeam> aliveTeams = getAliveTeams();
-
-        if (aliveTeams.isEmpty()) {
-            return true; // No teams left
-        }
-
-        if (aliveTeams.size() == 1) {
-            return true; // Only one team left
-        }
-
-        return false; // Multiple teams still alive
+        // No teams left, or only one team left
+        return liveTeams.size() <= 1;
     }
 
     /**
@@ -573,23 +624,10 @@ public class TeamManager {
         List<UHCTeam> aliveTeams = getAliveTeams();
         List<UHCTeam> eliminatedTeams = getEliminatedTeams();
 
-        int totalKills = 0;
-        int totalPlayers = 0;
-
-        for (UHCTeam team : getAllTeams()) {
-            totalPlayers += team.getSize();
-            for (UUID memberUuid : team.getMembers()) {
-                UHCPlayer player = game.getUHCPlayer(memberUuid);
-                if (player != null) {
-                    totalKills += player.getKills();
-                }
-            }
-        }
-
         return new TeamEndGameStats(
                 aliveTeams.size(),
                 eliminatedTeams.size(),
-                totalPlayers,
+                playerToTeam.size(),
                 totalKills,
                 aliveTeams,
                 eliminatedTeams
@@ -1,5 +1,6 @@
 package cc.kasumi.uhc.team;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.bukkit.Bukkit;
@@ -29,6 +30,11 @@ public class UHCTeam {
 
     private final long createdTime;
 
+    // Owning manager, told about every alive-set change so its counters stay exact
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.PACKAGE)
+    private TeamManager manager;
+
     public UHCTeam(String teamName, ChatColor teamColor) {
         this.teamId = UUID.randomUUID();
         this.teamName = teamName;
@@ -57,7 +63,7 @@ public class UHCTeam {
 
         boolean added = members.add(playerUuid);
         if (added) {
-            aliveMembers.add(playerUuid);
+            addAlive(playerUuid);
 
             // Set first member as team leader if no leader exists
             if (teamLeader == null) {
@@ -73,7 +79,7 @@ public class UHCTeam {
     public boolean removeMember(UUID playerUuid) {
         boolean removed = members.remove(playerUuid);
         if (removed) {
-            aliveMembers.remove(playerUuid);
+            removeAlive(playerUuid);
 
             // If the leader was removed, assign a new one
             if (playerUuid.equals(teamLeader) && !members.isEmpty()) {
@@ -89,7 +95,7 @@ public class UHCTeam {
      * Mark a player as eliminated (dead)
      */
     public void eliminatePlayer(UUID playerUuid) {
-        aliveMembers.remove(playerUuid);
+        removeAlive(playerUuid);
 
         // If the leader died, assign a new one from alive members
         if (playerUuid.equals(teamLeader) && !aliveMembers.isEmpty()) {
@@ -105,7 +111,19 @@ public class UHCTeam {
      */
     public void revivePlayer(UUID playerUuid) {
         if (members.contains(playerUuid)) {
-            aliveMembers.add(playerUuid);
+            addAlive(playerUuid);
+        }
+    }
+
+    private void addAlive(UUID playerUuid) {
+        if (aliveMembers.add(playerUuid) && manager != null) {
+            manager.onAliveMembersChanged(this, 1);
+        }
+    }
+
+    private void removeAlive(UUID playerUuid) {
+        if (aliveMembers.remove(playerUuid) && manager != null) {
+            manager.onAliveMembersChanged(this, -1);
         }
     }
 
@@ -0,0 +1,288 @@
+package cc.kasumi.uhc.util;
+
+import cc.kasumi.uhc.UHC;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.Sound;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.ExperienceOrb;
+import org.bukkit.entity.Player;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntPredicate;
+
+/**
+ * Breaks queued blocks for players over several ticks, e.g. the rest of a tree or ore vein.
+ * Each player has their own queue and a global per-tick block budget is shared round-robin
+ * between them, so one giant tree can't stall the tick or starve other players.
+ * Every block still goes through a BlockBreakEvent, so CutClean and other handlers apply,
+ * drops ore experience like vanilla and wears down the held tool until it breaks.
+ */
+public class BlockBreakQueue {
+
+    private static BlockBreakQueue instance;
+
+    private final Map<UUID, ArrayDeque<Job>> queues = new LinkedHashMap<>();
+    private final Runnable hook = TickProfiler.wrap("block-break-queue", this::tick);
+    private final int blocksPerTick;
+
+    private boolean hooked = false;
+
+    // True while a queued block's BlockBreakEvent is being called, so scenarios don't chain off it
+    @Getter
+    private boolean breaking = false;
+
+    public static BlockBreakQueue getInstance() {
+        if (instance == null) {
+            instance = new BlockBreakQueue();
+        }
+        return instance;
+    }
+
+    private BlockBreakQueue() {
+        UHC plugin = UHC.getInstance();
+        FileConfiguration config = plugin.getConfig();
+
+        config.addDefault("scenarios.block-break-budget", 64);
+        config.options().copyDefaults(true);
+        plugin.saveConfig();
+
+        blocksPerTick = Math.max(1, config.getInt("scenarios.block-break-budget"));
+    }
+
+    /**
+     * Queues the packed positions to be broken by the player with the given tool (call on the main thread)
+     *
+     * @param source      name of the scenario, used to cancel its work
+     * @param tool         the tool used, a damageable one is then worn down in the player's hand
+     * @param stillMatches re-checked against the block type id right before breaking
+     */
+    public void submit(Player player, String source, World world, long[] positions, ItemStack tool, IntPredicate stillMatches) {
+        if (positions.length == 0) {
+            return;
+        }
+
+        ItemStack toolCopy = tool != null ? tool.clone() : null;
+        queues.computeIfAbsent(player.getUniqueId(), ignored -> new ArrayDeque<>())
+                .add(new Job(source, world, positions, toolCopy, stillMatches));
+
+        if (!hooked) {
+            TickCounter.getInstance().addTickHook(hook);
+            hooked = true;
+        }
+    }
+
+    /**
+     * Drops all queued work submitted by the source
+     */
+    public void cancel(String source) {
+        Iterator<ArrayDeque<Job>> iterator = queues.values().iterator();
+        while (iterator.hasNext()) {
+            ArrayDeque<Job> queue = iterator.next();
+            queue.removeIf(job -> job.source.equals(source));
+            if (queue.isEmpty()) {
+                iterator.remove();
+            }
+        }
+        unhookIfIdle();
+    }
+
+    public void cancel(UUID uuid) {
+        queues.remove(uuid);
+        unhookIfIdle();
+    }
+
+    public int getPending() {
+        int pending = 0;
+        for (ArrayDeque<Job> queue : queues.values()) {
+            for (Job job : queue) {
+                pending += job.positions.length - job.index;
+            }
+        }
+        return pending;
+    }
+
+    private void tick() {
+        // Back off while the server is lagging
+        int budget = TickCounter.getInstance().scaleBudget(blocksPerTick);
+
+        while (budget > 0 && !queues.isEmpty()) {
+            int share = Math.max(1, budget / queues.size());
+
+            Iterator<Map.Entry<UUID, ArrayDeque<Job>>> iterator = queues.entrySet().iterator();
+            while (budget > 0 && iterator.hasNext()) {
+                Map.Entry<UUID, ArrayDeque<Job>> entry = iterator.next();
+                Player player = Bukkit.getPlayer(entry.getKey());
+                ArrayDeque<Job> queue = entry.getValue();
+
+                if (player == null || !player.isOnline()) {
+                    iterator.remove();
+                    continue;
+                }
+
+                int limit = Math.min(share, budget);
+                int used = 0;
+                while (used < limit && !queue.isEmpty()) {
+                    Job job = queue.peek();
+                    used += job.process(player, limit - used);
+                    if (job.isDone()) {
+                        queue.poll();
+                    }
+                }
+
+                budget -= used;
+                if (queue.isEmpty()) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        unhookIfIdle();
+    }
+
+    private void unhookIfIdle() {
+        if (hooked && queues.isEmpty()) {
+            TickCounter.getInstance().removeTickHook(hook);
+            hooked = false;
+        }
+    }
+
+    /**
+     * Vanilla 1.8 experience for an ore broken without Silk Touch
+     */
+    private static int rollExp(Material type) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        switch (type) {
+            case COAL_ORE:
+                return random.nextInt(3);
+            case DIAMOND_ORE:
+            case EMERALD_ORE:
+                return 3 + random.nextInt(5);
+            case LAPIS_ORE:
+            case QUARTZ_ORE:
+                return 2 + random.nextInt(4);
+            case REDSTONE_ORE:
+            case GLOWING_REDSTONE_ORE:
+                return 1 + random.nextInt(5);
+            default:
+                return 0;
+        }
+    }
+
+    private final class Job {
+
+        private final String source;
+        private final World world;
+        private final long[] positions;
+        private final ItemStack tool;
+        private final IntPredicate stillMatches;
+        private int index = 0;
+
+        private Job(String source, World world, long[] positions, ItemStack tool, IntPredicate stillMatches) {
+            this.source = source;
+            this.world = world;
+            this.positions = positions;
+            this.tool = tool;
+            this.stillMatches = stillMatches;
+        }
+
+        /**
+         * Breaks up to limit blocks, returns how many positions were used up
+         */
+        @SuppressWarnings("deprecation")
+        private int process(Player player, int limit) {
+            int used = 0;
+            boolean damageable = tool != null && tool.getType().getMaxDurability() > 0;
+            boolean silkTouch = tool != null && tool.getEnchantmentLevel(Enchantment.SILK_TOUCH) > 0;
+
+            while (used < limit && index < positions.length) {
+                // Stop when the tool broke or was put away, vanilla wouldn't break the rest with a fist
+                ItemStack hand = player.getItemInHand();
+                if (damageable && (hand == null || hand.getType() != tool.getType())) {
+                    index = positions.length;
+                    break;
+                }
+
+                long packed = positions[index++];
+                used++;
+
+                int x = ConnectedBlockSearch.unpackX(packed);
+                int y = ConnectedBlockSearch.unpackY(packed);
+                int z = ConnectedBlockSearch.unpackZ(packed);
+
+                // The chunk may have unloaded or the block changed since the search
+                if (!world.isChunkLoaded(x >> 4, z >> 4) || !stillMatches.test(world.getBlockTypeIdAt(x, y, z))) {
+                    continue;
+                }
+
+                Block block = world.getBlockAt(x, y, z);
+                BlockBreakEvent event = new BlockBreakEvent(block, player);
+                event.setExpToDrop(silkTouch ? 0 : rollExp(block.getType()));
+
+                breaking = true;
+                try {
+                    Bukkit.getPluginManager().callEvent(event);
+                } finally {
+                    breaking = false;
+                }
+
+                // Cancelled either by protection or by a handler that already broke it (CutClean)
+                if (event.isCancelled()) {
+                    if (damageable && block.getType() == Material.AIR && damageTool(player, hand)) {
+                        index = positions.length;
+                        break;
+                    }
+                    continue;
+                }
+
+                block.breakNaturally(damageable ? hand : tool);
+
+                if (event.getExpToDrop() > 0) {
+                    ExperienceOrb orb = world.spawn(block.getLocation().add(0.5D, 0.5D, 0.5D), ExperienceOrb.class);
+                    orb.setExperience(event.getExpToDrop());
+                }
+
+                if (damageable && damageTool(player, hand)) {
+                    index = positions.length;
+                    break;
+                }
+            }
+
+            return used;
+        }
+
+        /**
+         * Takes one durability off the held tool, Unbreaking skips it with chance level / (level + 1)
+         *
+         * @return true if the tool broke
+         */
+        private boolean damageTool(Player player, ItemStack hand) {
+            int unbreaking = hand.getEnchantmentLevel(Enchantment.DURABILITY);
+            if (unbreaking > 0 && ThreadLocalRandom.current().nextInt(unbreaking + 1) > 0) {
+                return false;
+            }
+
+            short durability = (short) (hand.getDurability() + 1);
+            if (durability <= hand.getType().getMaxDurability()) {
+                hand.setDurability(durability);
+                return false;
+            }
+
+            player.setItemInHand(null);
+            player.playSound(player.getLocation(), Sound.ITEM_BREAK, 1.0F, 1.0F);
+            return true;
+        }
+
+        private boolean isDone() {
+            return index >= positions.length;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package cc.kasumi.uhc.util;
+
+import cc.kasumi.uhc.jfr.ChunkLoadEvent;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Single entry point for synchronous chunk loads done by plugin code, counted per source
+ * and recorded as a JFR event. Main thread only.
+ */
+public final class ChunkLoadTracker {
+
+    private static final Map<String, long[]> loadsBySource = new HashMap<>();
+
+    private ChunkLoadTracker() {
+    }
+
+    /**
+     * Gets the chunk, loading or generating it synchronously if needed
+     */
+    public static Chunk load(World world, int chunkX, int chunkZ, String source) {
+        ChunkLoadEvent event = new ChunkLoadEvent();
+        event.begin();
+
+        // getChunkAt already loads, so check first to know whether this call did the work
+        boolean wasLoaded = world.isChunkLoaded(chunkX, chunkZ);
+        Chunk chunk = world.getChunkAt(chunkX, chunkZ);
+
+        if (!chunk.isLoaded()) {
+            chunk.load(true);
+        }
+
+        if (!wasLoaded) {
+            record(source);
+            commit(event, world, chunkX, chunkZ, source);
+        }
+
+        return chunk;
+    }
+
+    /**
+     * Loads a chunk handle that may have been unloaded since it was obtained
+     */
+    public static void load(Chunk chunk, String source) {
+        if (!chunk.isLoaded()) {
+            ChunkLoadEvent event = new ChunkLoadEvent();
+            event.begin();
+            chunk.load(true);
+            record(source);
+            commit(event, chunk.getWorld(), chunk.getX(), chunk.getZ(), source);
+        }
+    }
+
+    /**
+     * Chunks loaded so far per source
+     */
+    public static Map<String, Long> getLoadsBySource() {
+        Map<String, Long> copy = new HashMap<>();
+        for (Map.Entry<String, long[]> entry : loadsBySource.entrySet()) {
+            copy.put(entry.getKey(), entry.getValue()[0]);
+        }
+        return copy;
+    }
+
+    private static void commit(ChunkLoadEvent event, World world, int chunkX, int chunkZ, String source) {
+        if (event.shouldCommit()) {
+            event.world = world.getName();
+            event.chunkX = chunkX;
+            event.chunkZ = chunkZ;
+            event.source = source;
+            event.commit();
+        }
+    }
+
+    private static void record(String source) {
+        loadsBySource.computeIfAbsent(source, key -> new long[1])[0]++;
+    }
+}
@@ -0,0 +1,86 @@
+package cc.kasumi.uhc.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bit set indexed by non-negative ints such as entity ids, readable from any thread without locking.
+ * Writes are expected from one thread (the main thread); growing copies the words and publishes
+ * the new array, so a reader may briefly miss a bit set during a resize.
+ */
+public final class ConcurrentBitSet {
+
+    private volatile AtomicLongArray words;
+
+    public ConcurrentBitSet(int initialBits) {
+        this.words = new AtomicLongArray(Math.max(1, (initialBits + 63) >>> 6));
+    }
+
+    public boolean get(int index) {
+        if (index < 0) {
+            return false;
+        }
+
+        AtomicLongArray current = words;
+        int word = index >>> 6;
+        return word < current.length() && (current.get(word) & (1L << index)) != 0;
+    }
+
+    public void set(int index, boolean value) {
+        if (value) {
+            set(index);
+        } else {
+            clear(index);
+        }
+    }
+
+    public void set(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("index < 0: " + index);
+        }
+
+        int word = index >>> 6;
+        long mask = 1L << index;
+        ensureCapacity(word).getAndAccumulate(word, mask, (previous, bit) -> previous | bit);
+    }
+
+    public void clear(int index) {
+        AtomicLongArray current = words;
+        int word = index >>> 6;
+
+        if (index >= 0 && word < current.length()) {
+            long mask = ~(1L << index);
+            current.getAndAccumulate(word, mask, (previous, keep) -> previous & keep);
+        }
+    }
+
+    public void clearAll() {
+        AtomicLongArray current = words;
+        for (int i = 0; i < current.length(); i++) {
+            current.set(i, 0L);
+        }
+    }
+
+    public int cardinality() {
+        AtomicLongArray current = words;
+        int count = 0;
+        for (int i = 0; i < current.length(); i++) {
+            count += Long.bitCount(current.get(i));
+        }
+        return count;
+    }
+
+    private AtomicLongArray ensureCapacity(int word) {
+        AtomicLongArray current = words;
+        if (word < current.length()) {
+            return current;
+        }
+
+        AtomicLongArray grown = new AtomicLongArray(Math.max(word + 1, current.length() * 2));
+        for (int i = 0; i < current.length(); i++) {
+            grown.set(i, current.get(i));
+        }
+
+        words = grown;
+        return grown;
+    }
+}
@@ -0,0 +1,134 @@
+package cc.kasumi.uhc.util;
+
+import org.bukkit.World;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+
+/**
+ * Bounded breadth-first search over connected blocks of matching type ids, used by Timber and VeinMiner.
+ * Positions are packed into longs and queued in a plain array, and every position read is marked in a
+ * bit set over the search box, so nothing is allocated per block and no block is read twice.
+ */
+public final class ConnectedBlockSearch {
+
+    private static final int[][] FACES = {
+            {1, 0, 0}, {-1, 0, 0}, {0, 1, 0}, {0, -1, 0}, {0, 0, 1}, {0, 0, -1}
+    };
+
+    private static final int[][] ALL_NEIGHBOURS = createAllNeighbours();
+
+    private ConnectedBlockSearch() {
+    }
+
+    /**
+     * Searches outwards from the origin, which is not included in the result
+     *
+     * @param matches           tested against block type ids
+     * @param maxBlocks         most positions returned
+     * @param horizontalRadius  how far the search may go from the origin on x and z
+     * @param verticalRadius    how far the search may go from the origin on y
+     * @param diagonal          whether blocks touching only at edges or corners are connected
+     * @return packed positions in search order, nearest first
+     */
+    @SuppressWarnings("deprecation")
+    public static long[] search(World world, int originX, int originY, int originZ, IntPredicate matches,
+                                int maxBlocks, int horizontalRadius, int verticalRadius, boolean diagonal) {
+        if (maxBlocks <= 0) {
+            return new long[0];
+        }
+
+        int width = horizontalRadius * 2 + 1;
+        int height = verticalRadius * 2 + 1;
+        int maxY = world.getMaxHeight() - 1;
+        int[][] neighbours = diagonal ? ALL_NEIGHBOURS : FACES;
+
+        BitSet visited = new BitSet(width * height * width);
+        visited.set(index(0, 0, 0, horizontalRadius, verticalRadius, width, height));
+
+        // The queue is never compacted, so everything after the origin is also the result
+        long[] queue = new long[maxBlocks + 1];
+        queue[0] = pack(originX, originY, originZ);
+        int head = 0;
+        int tail = 1;
+
+        search:
+        while (head < tail) {
+            long current = queue[head++];
+            int x = unpackX(current);
+            int y = unpackY(current);
+            int z = unpackZ(current);
+
+            for (int[] offset : neighbours) {
+                int dx = x + offset[0] - originX;
+                int dy = y + offset[1] - originY;
+                int dz = z + offset[2] - originZ;
+
+                if (Math.abs(dx) > horizontalRadius || Math.abs(dz) > horizontalRadius || Math.abs(dy) > verticalRadius) {
+                    continue;
+                }
+
+                int nx = originX + dx;
+                int ny = originY + dy;
+                int nz = originZ + dz;
+                if (ny < 0 || ny > maxY) {
+                    continue;
+                }
+
+                int bit = index(dx, dy, dz, horizontalRadius, verticalRadius, width, height);
+                if (visited.get(bit)) {
+                    continue;
+                }
+                visited.set(bit);
+
+                // Never load chunks for a search
+                if (!world.isChunkLoaded(nx >> 4, nz >> 4) || !matches.test(world.getBlockTypeIdAt(nx, ny, nz))) {
+                    continue;
+                }
+
+                queue[tail++] = pack(nx, ny, nz);
+                if (tail == queue.length) {
+                    break search;
+                }
+            }
+        }
+
+        return Arrays.copyOfRange(queue, 1, tail);
+    }
+
+    public static long pack(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFFL) << 38 | ((long) z & 0x3FFFFFFL) << 12 | (y & 0xFFFL);
+    }
+
+    public static int unpackX(long packed) {
+        return (int) (packed >> 38);
+    }
+
+    public static int unpackY(long packed) {
+        return (int) (packed & 0xFFFL);
+    }
+
+    public static int unpackZ(long packed) {
+        return (int) (packed << 26 >> 38);
+    }
+
+    private static int index(int dx, int dy, int dz, int horizontalRadius, int verticalRadius, int width, int height) {
+        return ((dx + horizontalRadius) * height + (dy + verticalRadius)) * width + (dz + horizontalRadius);
+    }
+
+    private static int[][] createAllNeighbours() {
+        int[][] offsets = new int[26][];
+        int i = 0;
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    if (dx != 0 || dy != 0 || dz != 0) {
+                        offsets[i++] = new int[]{dx, dy, dz};
+                    }
+                }
+            }
+        }
+        return offsets;
+    }
+}
@@ -9,7 +9,6 @@ import org.bukkit.block.Biome;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.*;
 
@@ -388,13 +387,19 @@ public class GameUtil {
             return null;
         }
 
+        return calculateSafeBorderPoint(entity.getLocation());
+    }
+
+    /**
+     * Calculate safe border point for a location using game border settings
+     */
+    public static Location calculateSafeBorderPoint(Location playerLoc) {
         Game game = UHC.getInstance().getGame();
         if (game == null) {
             UHC.getInstance().getLogger().severe("Game instance is null - cannot calculate border point!");
             return null;
         }
 
-        Location playerLoc = entity.getLocation();
         World world = playerLoc.getWorld();
 
         // Use game border settings - assuming world center is 0,0
@@ -523,9 +528,9 @@ public class GameUtil {
         }
 
         // Optional: Add progress logging every few seconds
-        new BukkitRunnable() {
+        new ProfiledRunnable("wall-progress") {
             @Override
-            public void run() {
+            protected void tick() {
                 if (builder.isCancelled()) {
                     cancel();
                     return;
@@ -576,13 +581,23 @@ public class GameUtil {
             return true;
         }
 
-        Location entityLocation = entity.getLocation();
+        return isLocationInBorder(entity.getLocation());
+    }
+
+    /**
+     * Location in border check using game border settings
+     */
+    public static boolean isLocationInBorder(Location location) {
+        Game game = UHC.getInstance().getGame();
+        if (game == null) {
+            return true;
+        }
 
         // Use game border settings consistently - assuming center at 0,0
         double radius = game.getEffectiveBorderRadius();
 
-        double deltaX = Math.abs(entityLocation.getX());
-        double deltaZ = Math.abs(entityLocation.getZ());
+        double deltaX = Math.abs(location.getX());
+        double deltaZ = Math.abs(location.getZ());
 
         return deltaX <= radius && deltaZ <= radius;
     }
@@ -0,0 +1,309 @@
+package cc.kasumi.uhc.util;
+
+import cc.kasumi.uhc.UHC;
+import cc.kasumi.uhc.game.Game;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.logging.Level;
+
+/**
+ * Watchdog thread that polls the TickCounter heartbeat and, when a tick runs longer than the
+ * threshold, samples the main thread's stack until the tick ends. Samples are attributed to
+ * UHC subsystems by package and each incident is appended to a rotating lag log together
+ * with the game phase and player count.
+ */
+public class LagWatchdog {
+
+    private static final String PLUGIN_PACKAGE = "cc.kasumi.uhc.";
+    private static final int MAX_STACK_FRAMES = 40;
+    private static final int TOP_FRAMES = 5;
+
+    // Shared plumbing that runs other subsystems' work, attributed to the caller instead
+    private static final Set<String> PASS_THROUGH = new HashSet<>(Arrays.asList(
+            "cc.kasumi.uhc.util.ChunkLoadTracker",
+            "cc.kasumi.uhc.util.ProfiledRunnable",
+            "cc.kasumi.uhc.util.TickProfiler",
+            "cc.kasumi.uhc.util.TickCounter",
+            "cc.kasumi.uhc.util.TimingWheel"
+    ));
+
+    private static LagWatchdog instance;
+
+    private final Runnable contextHook = this::updateContext;
+
+    private Thread thread;
+    private Thread mainThread;
+    private volatile boolean running = false;
+
+    private long thresholdNanos;
+    private long sampleIntervalMillis;
+    private int maxSamples;
+    private int logFiles;
+    private long maxLogBytes;
+    private File logFolder;
+
+    // Written on the main thread once a second, read by the watchdog when an incident is logged
+    private volatile String gamePhase = "none";
+    private volatile int playerCount = 0;
+
+    @Getter
+    private volatile int incidentCount = 0;
+
+    public static LagWatchdog getInstance() {
+        if (instance == null) {
+            instance = new LagWatchdog();
+        }
+        return instance;
+    }
+
+    private LagWatchdog() {
+    }
+
+    /**
+     * Starts the watchdog thread if watchdog.enabled is set (call on the main thread)
+     */
+    public void start() {
+        UHC plugin = UHC.getInstance();
+        FileConfiguration config = plugin.getConfig();
+
+        config.addDefault("watchdog.enabled", true);
+        config.addDefault("watchdog.threshold-ms", 500);
+        config.addDefault("watchdog.sample-interval-ms", 50);
+        config.addDefault("watchdog.max-samples", 20);
+        config.addDefault("watchdog.log-files", 5);
+        config.addDefault("watchdog.max-log-kb", 512);
+        config.options().copyDefaults(true);
+        plugin.saveConfig();
+
+        if (running || !config.getBoolean("watchdog.enabled")) {
+            return;
+        }
+
+        thresholdNanos = Math.max(100L, config.getLong("watchdog.threshold-ms")) * 1_000_000L;
+        sampleIntervalMillis = Math.max(5L, config.getLong("watchdog.sample-interval-ms"));
+        maxSamples = Math.max(1, config.getInt("watchdog.max-samples"));
+        logFiles = Math.max(1, config.getInt("watchdog.log-files"));
+        maxLogBytes = Math.max(16L, config.getLong("watchdog.max-log-kb")) * 1024L;
+        logFolder = new File(plugin.getDataFolder(), "watchdog");
+
+        mainThread = Thread.currentThread();
+        TickCounter.getInstance().addTickHook(contextHook);
+
+        running = true;
+        thread = new Thread(this::watch, "UHC-Watchdog");
+        thread.setDaemon(true);
+        thread.start();
+
+        plugin.getLogger().info("Lag watchdog started (threshold " + thresholdNanos / 1_000_000L + " ms)");
+    }
+
+    public void stop() {
+        running = false;
+        TickCounter.getInstance().removeTickHook(contextHook);
+
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    private void updateContext() {
+        if (TickCounter.getInstance().getCurrentTick() % 20 != 0) {
+            return;
+        }
+
+        Game game = UHC.getInstance().getGame();
+        gamePhase = game != null ? game.getState().getClass().getSimpleName() : "none";
+        playerCount = Bukkit.getOnlinePlayers().size();
+    }
+
+    private void watch() {
+        // Poll often enough to catch the threshold within a sample interval
+        long pollMillis = Math.max(5L, Math.min(sampleIntervalMillis, thresholdNanos / 4_000_000L));
+
+        while (running) {
+            try {
+                long heartbeat = TickCounter.getInstance().getHeartbeatNanos();
+
+                if (heartbeat != 0 && System.nanoTime() - heartbeat >= thresholdNanos) {
+                    Incident incident = sample(heartbeat);
+                    incidentCount++;
+                    write(incident);
+                } else {
+                    Thread.sleep(pollMillis);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                UHC.getInstance().getLogger().log(Level.WARNING, "Error in lag watchdog", e);
+            }
+        }
+    }
+
+    /**
+     * Samples the main thread until the stalled tick finishes
+     */
+    private Incident sample(long heartbeat) throws InterruptedException {
+        Incident incident = new Incident();
+
+        while (running && TickCounter.getInstance().getHeartbeatNanos() == heartbeat) {
+            if (incident.samples < maxSamples) {
+                StackTraceElement[] stack = mainThread.getStackTrace();
+                incident.add(stack);
+            }
+            Thread.sleep(sampleIntervalMillis);
+        }
+
+        long end = TickCounter.getInstance().getHeartbeatNanos();
+        incident.durationNanos = (end != heartbeat ? end : System.nanoTime()) - heartbeat;
+        return incident;
+    }
+
+    /**
+     * Maps a plugin class to its subsystem, e.g. util.ProgressiveScatterManager, world.custom or packets
+     */
+    private static String subsystemOf(String className) {
+        String relative = className.substring(PLUGIN_PACKAGE.length());
+
+        int inner = relative.indexOf('$');
+        if (inner != -1) {
+            relative = relative.substring(0, inner);
+        }
+
+        // The progressive workers each get their own bucket, everything else is grouped by package
+        if (relative.startsWith("util.Progressive")) {
+            return relative;
+        }
+
+        int lastDot = relative.lastIndexOf('.');
+        return lastDot == -1 ? "core" : relative.substring(0, lastDot);
+    }
+
+    private void write(Incident incident) {
+        long millis = incident.durationNanos / 1_000_000L;
+        String top = incident.getTopSubsystem();
+
+        UHC.getInstance().getLogger().warning("Main thread stalled for " + millis + " ms, mostly in " + top +
+                " (see watchdog/lag.log)");
+
+        try {
+            if (!logFolder.exists() && !logFolder.mkdirs()) {
+                throw new IOException("Could not create " + logFolder);
+            }
+
+            File log = new File(logFolder, "lag.log");
+            if (log.length() >= maxLogBytes) {
+                rotate();
+            }
+
+            try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(log, true), StandardCharsets.UTF_8))) {
+                writer.println("=== Lag spike at " + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(incident.wallTime)) + " ===");
+                writer.println("Duration: " + millis + " ms (threshold " + thresholdNanos / 1_000_000L + " ms)");
+                writer.println("Game phase: " + gamePhase + ", players online: " + playerCount);
+                writer.println("Samples: " + incident.samples + " every " + sampleIntervalMillis + " ms");
+
+                writer.println("Subsystems:");
+                for (Map.Entry<String, Integer> entry : sortByCount(incident.subsystems)) {
+                    writer.println(String.format("  %-40s %d/%d", entry.getKey(), entry.getValue(), incident.samples));
+                }
+
+                writer.println("Hottest plugin frames:");
+                List<Map.Entry<String, Integer>> frames = sortByCount(incident.frames);
+                for (int i = 0; i < Math.min(TOP_FRAMES, frames.size()); i++) {
+                    writer.println(String.format("  %dx %s", frames.get(i).getValue(), frames.get(i).getKey()));
+                }
+
+                if (incident.firstStack != null) {
+                    writer.println("First sampled stack:");
+                    for (int i = 0; i < Math.min(MAX_STACK_FRAMES, incident.firstStack.length); i++) {
+                        writer.println("  at " + incident.firstStack[i]);
+                    }
+                }
+
+                writer.println();
+            }
+        } catch (IOException e) {
+            UHC.getInstance().getLogger().log(Level.WARNING, "Failed to write lag incident", e);
+        }
+    }
+
+    // lag.log -> lag.1.log -> ... -> lag.N.log, the oldest is dropped
+    private void rotate() {
+        File oldest = new File(logFolder, "lag." + logFiles + ".log");
+        if (oldest.exists() && !oldest.delete()) {
+            return;
+        }
+
+        for (int i = logFiles - 1; i >= 1; i--) {
+            File file = new File(logFolder, "lag." + i + ".log");
+            if (file.exists()) {
+                file.renameTo(new File(logFolder, "lag." + (i + 1) + ".log"));
+            }
+        }
+
+        new File(logFolder, "lag.log").renameTo(new File(logFolder, "lag.1.log"));
+    }
+
+    private static List<Map.Entry<String, Integer>> sortByCount(Map<String, Integer> counts) {
+        List<Map.Entry<String, Integer>> list = new ArrayList<>(counts.entrySet());
+        list.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+        return list;
+    }
+
+    /**
+     * Stack samples of one stalled tick
+     */
+    private static final class Incident {
+
+        private final long wallTime = System.currentTimeMillis();
+        private final Map<String, Integer> subsystems = new HashMap<>();
+        private final Map<String, Integer> frames = new HashMap<>();
+        private StackTraceElement[] firstStack;
+        private int samples = 0;
+        private long durationNanos;
+
+        private void add(StackTraceElement[] stack) {
+            samples++;
+            if (firstStack == null) {
+                firstStack = stack;
+            }
+
+            // The innermost plugin frame is the code that was running or waiting on the server
+            String subsystem = "server";
+            boolean frameRecorded = false;
+            for (StackTraceElement frame : stack) {
+                String className = frame.getClassName();
+                if (!className.startsWith(PLUGIN_PACKAGE)) {
+                    continue;
+                }
+
+                if (!frameRecorded) {
+                    frames.merge(frame.toString(), 1, Integer::sum);
+                    frameRecorded = true;
+                }
+
+                int inner = className.indexOf('$');
+                if (!PASS_THROUGH.contains(inner == -1 ? className : className.substring(0, inner))) {
+                    subsystem = subsystemOf(className);
+                    break;
+                }
+            }
+
+            subsystems.merge(subsystem, 1, Integer::sum);
+        }
+
+        private String getTopSubsystem() {
+            return subsystems.isEmpty() ? "unknown" : sortByCount(subsystems).get(0).getKey();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package cc.kasumi.uhc.util;
+
+import cc.kasumi.uhc.UHC;
+import cc.kasumi.uhc.game.Game;
+import cc.kasumi.uhc.player.UHCPlayer;
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.events.ListenerPriority;
+import com.comphenix.protocol.events.PacketAdapter;
+import com.comphenix.protocol.events.PacketEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies freeze and spectator flight rules to inbound movement packets on the netty thread.
+ * Player state is kept in bit sets indexed by entity id, written on the main thread and read
+ * lock-free by the packet listener. Only spectators whose flight state may need fixing are
+ * handed to the main thread, where the block lookup happens once per tick at most.
+ */
+public class MovementFilter implements Listener {
+
+    private static MovementFilter instance;
+
+    private final ConcurrentBitSet frozen = new ConcurrentBitSet(4096);
+    private final ConcurrentBitSet spectators = new ConcurrentBitSet(4096);
+
+    // Owner of each packet-frozen player, only looked up when one sends a position
+    private final Map<Integer, PlayerFreezeManager> freezeOwners = new ConcurrentHashMap<>();
+
+    // Filled from the netty thread, drained on the main thread every tick
+    private final Set<UUID> pendingSpectatorChecks = ConcurrentHashMap.newKeySet();
+    private final Runnable drainHook = TickProfiler.wrap("movement-filter", this::drainSpectatorChecks);
+
+    private PacketAdapter packetListener;
+
+    public static MovementFilter getInstance() {
+        if (instance == null) {
+            instance = new MovementFilter();
+        }
+        return instance;
+    }
+
+    private MovementFilter() {
+    }
+
+    /**
+     * Registers the packet listener, join/quit handlers and the drain hook (after ProtocolLib is available)
+     */
+    public void start() {
+        if (packetListener != null || UHC.getProtocolManager() == null) {
+            return;
+        }
+
+        packetListener = new PacketAdapter(UHC.getInstance(), ListenerPriority.HIGHEST,
+                PacketType.Play.Client.FLYING, PacketType.Play.Client.POSITION,
+                PacketType.Play.Client.POSITION_LOOK, PacketType.Play.Client.LOOK) {
+            @Override
+            public void onPacketReceiving(PacketEvent event) {
+                filter(event);
+            }
+        };
+
+        UHC.getProtocolManager().addPacketListener(packetListener);
+        TickProfiler.getInstance().registerEvents(this, UHC.getInstance(), "MovementFilter");
+        TickCounter.getInstance().addTickHook(drainHook);
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            refreshSpectator(player);
+        }
+    }
+
+    public void stop() {
+        if (packetListener == null) {
+            return;
+        }
+
+        UHC.getProtocolManager().removePacketListener(packetListener);
+        packetListener = null;
+        HandlerList.unregisterAll(this);
+        TickCounter.getInstance().removeTickHook(drainHook);
+
+        frozen.clearAll();
+        spectators.clearAll();
+        freezeOwners.clear();
+        pendingSpectatorChecks.clear();
+    }
+
+    /**
+     * Drops the player's position packets until cleared, resyncing through the owner
+     */
+    public void setFrozen(Player player, PlayerFreezeManager owner) {
+        freezeOwners.put(player.getEntityId(), owner);
+        frozen.set(player.getEntityId());
+    }
+
+    public void clearFrozen(Player player) {
+        frozen.clear(player.getEntityId());
+        freezeOwners.remove(player.getEntityId());
+    }
+
+    /**
+     * Re-reads whether the player is a spectator in the current game
+     */
+    public void refreshSpectator(UUID uuid) {
+        Player player = Bukkit.getPlayer(uuid);
+        if (player != null) {
+            refreshSpectator(player);
+        }
+    }
+
+    public void refreshSpectator(Player player) {
+        Game game = UHC.getInstance().getGame();
+        UHCPlayer uhcPlayer = game != null ? game.getUHCPlayer(player.getUniqueId()) : null;
+        spectators.set(player.getEntityId(), uhcPlayer != null && uhcPlayer.isSpectator());
+    }
+
+    public int getFrozenCount() {
+        return frozen.cardinality();
+    }
+
+    public int getSpectatorCount() {
+        return spectators.cardinality();
+    }
+
+    private void filter(PacketEvent event) {
+        if (event.isPlayerTemporary()) {
+            return;
+        }
+
+        Player player = event.getPlayer();
+        int entityId = player.getEntityId();
+
+        if (frozen.get(entityId)) {
+            PacketType type = event.getPacketType();
+            if (type == PacketType.Play.Client.POSITION || type == PacketType.Play.Client.POSITION_LOOK) {
+                // The client should be seated on its fake mount and send no positions at all,
+                // so one arriving means it lost the mount and has to be seated again
+                event.setCancelled(true);
+
+                PlayerFreezeManager owner = freezeOwners.get(entityId);
+                if (owner != null) {
+                    owner.resync(player);
+                }
+            }
+            return;
+        }
+
+        // Flying spectators are already in the right state, the rest need a look at the world
+        if (spectators.get(entityId) && (!player.getAllowFlight() || !player.isFlying())) {
+            pendingSpectatorChecks.add(player.getUniqueId());
+        }
+    }
+
+    private void drainSpectatorChecks() {
+        if (pendingSpectatorChecks.isEmpty()) {
+            return;
+        }
+
+        Iterator<UUID> iterator = pendingSpectatorChecks.iterator();
+        while (iterator.hasNext()) {
+            UUID uuid = iterator.next();
+            iterator.remove();
+
+            Player player = Bukkit.getPlayer(uuid);
+            if (player == null || !spectators.get(player.getEntityId())) {
+                continue;
+            }
+
+            // Ensure spectators can fly and don't trigger pressure plates
+            if (!player.getAllowFlight()) {
+                player.setAllowFlight(true);
+            }
+            if (!player.isFlying() && player.getLocation().getBlock().getType() != Material.AIR) {
+                player.setFlying(true);
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        refreshSpectator(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+        spectators.clear(player.getEntityId());
+        clearFrozen(player);
+    }
+}
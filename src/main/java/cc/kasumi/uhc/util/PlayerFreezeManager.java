@@ -1,9 +1,13 @@
 package cc.kasumi.uhc.util;
 
 import cc.kasumi.uhc.UHC;
+import cc.kasumi.uhc.log.LogSite;
+import cc.kasumi.uhc.packets.PacketOutbox;
 import com.comphenix.protocol.PacketType;
 import com.comphenix.protocol.ProtocolManager;
 import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.wrappers.WrappedDataWatcher;
+import lombok.Getter;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.entity.ArmorStand;
@@ -20,35 +24,85 @@ import org.bukkit.potion.PotionEffectType;
 import org.bukkit.util.Vector;
 
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class PlayerFreezeManager implements Listener {
 
+    private static final LogSite FREEZE_LOG = LogSite.of("freeze.freeze").perSecond(5);
+    private static final LogSite UNFREEZE_LOG = LogSite.of("freeze.unfreeze").perSecond(5);
+
+    private static final int ARMOR_STAND_TYPE_ID = 30;
+    private static final byte FLAG_INVISIBLE = 0x20;
+    private static final byte ARMOR_STAND_SMALL_MARKER = 0x01 | 0x10;
+    private static final long RESYNC_INTERVAL_MILLIS = 1000L;
+
+    // Counts down below the combat-log proxy ids, which start at Integer.MAX_VALUE
+    private static int nextMountEntityId = Integer.MAX_VALUE - 1_000_000;
+
     private static ProtocolManager protocolManager;
     
+    /**
+     * ENTITY spawns a real armor stand and slowness/jump effects per player,
+     * PACKET seats the player on a client-only mount and drops their position packets
+     */
+    public enum FreezeMode {
+        ENTITY,
+        PACKET
+    }
+
+    @Getter
+    private final FreezeMode mode;
+
     private final Map<UUID, ArmorStand> frozenPlayers = new HashMap<>();
+    // Read by the netty thread when MovementFilter asks for a resync
+    private final Map<UUID, PacketFreeze> packetFrozenPlayers = new ConcurrentHashMap<>();
     private final Map<UUID, Location> originalLocations = new HashMap<>();
     private boolean freezeActive = false;
     
     public PlayerFreezeManager() {
         protocolManager = UHC.getProtocolManager();
+        this.mode = readMode();
 
-        UHC.getInstance().getServer().getPluginManager().registerEvents(this, UHC.getInstance());
-        // registerFlyingPacketListener();
+        TickProfiler.getInstance().registerEvents(this, UHC.getInstance(), "PlayerFreezeManager");
+    }
+
+    private static FreezeMode readMode() {
+        UHC plugin = UHC.getInstance();
+        plugin.getConfig().addDefault("freeze.mode", FreezeMode.PACKET.name());
+        plugin.getConfig().options().copyDefaults(true);
+        plugin.saveConfig();
+
+        if (protocolManager == null) {
+            return FreezeMode.ENTITY;
+        }
+
+        try {
+            return FreezeMode.valueOf(plugin.getConfig().getString("freeze.mode").toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Unknown freeze.mode, using " + FreezeMode.PACKET);
+            return FreezeMode.PACKET;
+        }
     }
     
     /**
      * Freeze a player at their current location
      */
     public void freezePlayer(Player player) {
-        if (frozenPlayers.containsKey(player.getUniqueId())) {
+        if (isFrozen(player)) {
             return; // Already frozen
         }
         
         Location loc = player.getLocation();
         originalLocations.put(player.getUniqueId(), loc.clone());
 
+        if (mode == FreezeMode.PACKET) {
+            freezeWithPackets(player, loc);
+            return;
+        }
+
         ArmorStand armorStand = (ArmorStand) player.getWorld().spawnEntity(
                 loc.clone().add(0, 0.0, 0), // Spawn slightly below to align properly
                 EntityType.ARMOR_STAND
@@ -74,9 +128,42 @@ public class PlayerFreezeManager implements Listener {
         // Send freeze message
         player.sendMessage("§e§lYou are frozen during scatter! Please wait...");
         
-        UHC.getInstance().getLogger().info("Froze player " + player.getName() + " at " + formatLocation(loc));
+        FREEZE_LOG.info(() -> "Froze player " + player.getName() + " at " + formatLocation(loc));
     }
     
+    private void freezeWithPackets(Player player, Location loc) {
+        PacketFreeze freeze = new PacketFreeze(nextMountEntityId--);
+
+        sendServerPacket(player, createMountSpawnPacket(freeze.mountEntityId, loc));
+        sendServerPacket(player, createAttachPacket(player.getEntityId(), freeze.mountEntityId));
+
+        // Registered after the mount is sent so the filter never resyncs to a missing entity
+        packetFrozenPlayers.put(player.getUniqueId(), freeze);
+        MovementFilter.getInstance().setFrozen(player, this);
+
+        player.sendMessage("§e§lYou are frozen during scatter! Please wait...");
+
+        FREEZE_LOG.info(() -> "Froze player " + player.getName() + " at " + formatLocation(loc) + " (packet mount)");
+    }
+
+    /**
+     * Seats the player on their mount again, at most once a second (called from the netty thread)
+     */
+    void resync(Player player) {
+        PacketFreeze freeze = packetFrozenPlayers.get(player.getUniqueId());
+        if (freeze == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - freeze.lastResyncMillis < RESYNC_INTERVAL_MILLIS) {
+            return;
+        }
+
+        freeze.lastResyncMillis = now;
+        sendServerPacket(player, createAttachPacket(player.getEntityId(), freeze.mountEntityId));
+    }
+
     /**
      * Unfreeze a player
      */
@@ -90,6 +177,13 @@ public class PlayerFreezeManager implements Listener {
             stand.remove();
         }
 
+        PacketFreeze freeze = packetFrozenPlayers.remove(player.getUniqueId());
+        if (freeze != null) {
+            MovementFilter.getInstance().clearFrozen(player);
+            sendServerPacket(player, createAttachPacket(player.getEntityId(), -1));
+            sendDestroyPacket(player, freeze.mountEntityId);
+        }
+
         // Clear ALL potion effects to ensure clean state
         for (PotionEffect effect : player.getActivePotionEffects()) {
             player.removePotionEffect(effect.getType());
@@ -115,7 +209,7 @@ public class PlayerFreezeManager implements Listener {
 
         player.sendMessage("§a§lYou have been unfrozen! The game is starting!");
 
-        UHC.getInstance().getLogger().info("Unfroze player " + player.getName() + " at " + formatLocation(currentLoc));
+        UNFREEZE_LOG.info(() -> "Unfroze player " + player.getName() + " at " + formatLocation(currentLoc));
     }
     
     /**
@@ -139,6 +233,7 @@ public class PlayerFreezeManager implements Listener {
         
         // Clean up any remaining armor stands
         frozenPlayers.clear();
+        packetFrozenPlayers.clear();
         originalLocations.clear();
     }
     
@@ -146,20 +241,61 @@ public class PlayerFreezeManager implements Listener {
      * Check if a player is frozen
      */
     public boolean isFrozen(Player player) {
-        return frozenPlayers.containsKey(player.getUniqueId());
+        return frozenPlayers.containsKey(player.getUniqueId()) || packetFrozenPlayers.containsKey(player.getUniqueId());
     }
     
     /**
      * Get the number of frozen players
      */
     public int getFrozenCount() {
-        return frozenPlayers.size();
+        return frozenPlayers.size() + packetFrozenPlayers.size();
+    }
+
+    private PacketContainer createMountSpawnPacket(int entityId, Location location) {
+        PacketContainer spawn = protocolManager.createPacket(PacketType.Play.Server.SPAWN_ENTITY_LIVING);
+
+        spawn.getIntegers()
+                .write(0, entityId)
+                .write(1, ARMOR_STAND_TYPE_ID)
+                .write(2, (int) Math.floor(location.getX() * 32.0D))
+                .write(3, (int) Math.floor(location.getY() * 32.0D))
+                .write(4, (int) Math.floor(location.getZ() * 32.0D));
+
+        // 1.8 metadata indices: entity flags, air, armor stand flags
+        WrappedDataWatcher watcher = new WrappedDataWatcher();
+        watcher.setObject(0, FLAG_INVISIBLE);
+        watcher.setObject(1, (short) 300);
+        watcher.setObject(10, ARMOR_STAND_SMALL_MARKER);
+        spawn.getDataWatcherModifier().write(0, watcher);
+
+        return spawn;
+    }
+
+    /**
+     * 1.8 attach packet: leash flag, rider, vehicle (-1 dismounts)
+     */
+    private PacketContainer createAttachPacket(int riderId, int vehicleId) {
+        PacketContainer attach = protocolManager.createPacket(PacketType.Play.Server.ATTACH_ENTITY);
+        attach.getIntegers()
+                .write(0, 0)
+                .write(1, riderId)
+                .write(2, vehicleId);
+        return attach;
     }
 
     private void sendDestroyPacket(Player to, int entityId) {
         PacketContainer destroy = protocolManager.createPacket(PacketType.Play.Server.ENTITY_DESTROY);
         destroy.getIntegerArrays().write(0, new int[]{entityId});
-        protocolManager.sendServerPacket(to, destroy);
+        sendServerPacket(to, destroy);
+    }
+
+    private void sendServerPacket(Player to, PacketContainer packet) {
+        try {
+            protocolManager.sendServerPacket(to, packet);
+            PacketOutbox.getInstance().recordSent("freeze");
+        } catch (Exception e) {
+            UHC.getInstance().getLogger().warning("Failed to send freeze packet to " + to.getName() + ": " + e.getMessage());
+        }
     }
     
     // Event handlers to prevent movement and damage
@@ -194,22 +330,6 @@ public class PlayerFreezeManager implements Listener {
         }
     }
 
-    /*
-    private void registerFlyingPacketListener() {
-        protocolManager.addPacketListener(new PacketAdapter(UHC.getInstance(), ListenerPriority.HIGHEST, PacketType.Play.Client.FLYING, PacketType.Play.Client.POSITION, PacketType.Play.Client.POSITION_LOOK) {
-            @Override
-            public void onPacketReceiving(PacketEvent event) {
-                Player player = event.getPlayer();
-                if (frozenPlayers.containsKey(player.getUniqueId())) {
-                    event.getPacket().getBooleans().write(0, true); // Force onGround = true
-                    Bukkit.broadcastMessage(player.getName() + "yes");
-                }
-            }
-        });
-    }
-
-     */
-    
     /**
      * Clean up all armor stands on disable
      */
@@ -266,4 +386,17 @@ public class PlayerFreezeManager implements Listener {
                !loc.getBlock().getType().isSolid() && 
                !loc.clone().add(0, 1, 0).getBlock().getType().isSolid();
     }
-}
\ No newline at end of file
+
+    /**
+     * Client-only mount of a player frozen in packet mode
+     */
+    private static final class PacketFreeze {
+
+        private final int mountEntityId;
+        private volatile long lastResyncMillis = 0;
+
+        private PacketFreeze(int mountEntityId) {
+            this.mountEntityId = mountEntityId;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package cc.kasumi.uhc.util;
+
+import org.bukkit.scheduler.BukkitRunnable;
+
+/**
+ * BukkitRunnable whose every run is timed under a TickProfiler subsystem.
+ * Subclasses implement tick() instead of run(), scheduling and cancel() work as usual.
+ */
+public abstract class ProfiledRunnable extends BukkitRunnable {
+
+    private final TickProfiler.Section section;
+
+    protected ProfiledRunnable(String subsystem) {
+        this.section = TickProfiler.getInstance().section(subsystem);
+    }
+
+    protected abstract void tick();
+
+    @Override
+    public final void run() {
+        long start = section.start();
+        try {
+            tick();
+        } finally {
+            section.stop(start);
+        }
+    }
+}
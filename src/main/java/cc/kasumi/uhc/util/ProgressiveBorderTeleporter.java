@@ -4,6 +4,7 @@ import cc.kasumi.uhc.UHC;
 import cc.kasumi.uhc.combatlog.CombatLogPlayer;
 import cc.kasumi.uhc.combatlog.CombatLogVillagerManager;
 import cc.kasumi.uhc.game.Game;
+import cc.kasumi.uhc.jfr.BorderTeleportBatchEvent;
 import lombok.Getter;
 import org.bukkit.*;
 import org.bukkit.entity.Player;
@@ -15,7 +16,7 @@ import java.util.*;
 /**
  * Fixed ProgressiveBorderTeleporter that uses game border settings
  */
-public class ProgressiveBorderTeleporter extends BukkitRunnable {
+public class ProgressiveBorderTeleporter extends ProfiledRunnable {
 
     private final WorldBorder worldBorder; // Keep for damage settings
     private final World world;
@@ -65,6 +66,7 @@ public class ProgressiveBorderTeleporter extends BukkitRunnable {
     }
 
     public ProgressiveBorderTeleporter(WorldBorder worldBorder, World world, CombatLogVillagerManager villagerManager) {
+        super("border-teleporter");
         this.worldBorder = worldBorder;
         this.world = world;
         this.villagerManager = villagerManager;
@@ -91,11 +93,15 @@ public class ProgressiveBorderTeleporter extends BukkitRunnable {
     }
 
     @Override
-    public void run() {
+    protected void tick() {
         if (cancelled) {
             return;
         }
 
+        BorderTeleportBatchEvent event = new BorderTeleportBatchEvent();
+        event.begin();
+        TeleportPhase phase = currentPhase;
+
         switch (currentPhase) {
             case FINDING_ENTITIES:
                 findEntitiesOutsideBorder();
@@ -113,6 +119,15 @@ public class ProgressiveBorderTeleporter extends BukkitRunnable {
                 complete();
                 break;
         }
+
+        if (event.shouldCommit()) {
+            event.world = world.getName();
+            event.phase = phase.name();
+            event.players = playersToTeleport.size();
+            event.villagers = villagersToTeleport.size();
+            event.entityIndex = currentEntityIndex;
+            event.commit();
+        }
     }
 
     private void findEntitiesOutsideBorder() {
@@ -325,13 +340,12 @@ public class ProgressiveBorderTeleporter extends BukkitRunnable {
 
     private void preloadChunks() {
         int chunksLoaded = 0;
+        int chunkBudget = TickCounter.getInstance().scaleBudget(CHUNKS_PER_TICK);
 
-        while (chunkIterator.hasNext() && chunksLoaded < CHUNKS_PER_TICK) {
+        while (chunkIterator.hasNext() && chunksLoaded < chunkBudget) {
             Chunk chunk = chunkIterator.next();
 
-            if (!chunk.isLoaded()) {
-                chunk.load(true);
-            }
+            ChunkLoadTracker.load(chunk, "border-teleporter");
 
             chunksLoaded++;
         }
@@ -2,6 +2,10 @@ package cc.kasumi.uhc.util;
 
 import cc.kasumi.uhc.UHC;
 import cc.kasumi.uhc.game.Game;
+import cc.kasumi.uhc.jfr.ScatterPhaseEvent;
+import cc.kasumi.uhc.jfr.ScatterTeamEvent;
+import cc.kasumi.uhc.log.LogSite;
+import cc.kasumi.uhc.packets.BroadcastPackets;
 import cc.kasumi.uhc.team.UHCTeam;
 import lombok.Getter;
 import org.bukkit.*;
@@ -15,7 +19,7 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * Progressive scatter system with chunk preloading and optimized performance
  */
-public class ProgressiveScatterManager extends BukkitRunnable {
+public class ProgressiveScatterManager extends ProfiledRunnable {
 
     private final Game game;
     private final World world;
@@ -30,6 +34,16 @@ public class ProgressiveScatterManager extends BukkitRunnable {
     private final Set<ChunkCoordinate> chunksToPreload = ConcurrentHashMap.newKeySet();
     private final Set<ChunkCoordinate> preloadedChunks = ConcurrentHashMap.newKeySet();
     
+    // Hot-path log sites, rate limited and written off the main thread
+    private static final LogSite LOCATION_FOUND = LogSite.of("scatter.location-found").perSecond(5);
+    // Failures are never rate limited, each one is a team that didn't get a location
+    private static final LogSite LOCATION_FAILED = LogSite.of("scatter.location-failed");
+    private static final LogSite LOCATION_SEARCH = LogSite.of("scatter.location-search").perSecond(10);
+    private static final LogSite LOCATION_REJECTED = LogSite.of("scatter.location-rejected").perSecond(5);
+    private static final LogSite CHUNK_PRELOAD = LogSite.of("scatter.chunk-preload").perSecond(1);
+    private static final LogSite TEAM_TELEPORTED = LogSite.of("scatter.team-teleported").perSecond(5);
+    private static final LogSite TEAM_SKIPPED = LogSite.of("scatter.team-skipped");
+    
     // Static storage for post-scatter chunk management
     private static final Map<String, Set<ChunkCoordinate>> worldScatterChunks = new ConcurrentHashMap<>();
     
@@ -54,6 +68,9 @@ public class ProgressiveScatterManager extends BukkitRunnable {
     // Performance tracking
     private long startTime;
     private int totalChunksToPreload = 0;
+    @Getter
+    private int teamsTeleported = 0;
+    private ScatterPhaseEvent phaseEvent;
     
     public enum ScatterPhase {
         INITIALIZING,
@@ -97,6 +114,7 @@ public class ProgressiveScatterManager extends BukkitRunnable {
     }
     
     public ProgressiveScatterManager(Game game, int borderSize) {
+        super("scatter");
         this.game = game;
         this.world = game.getWorld();
         this.borderRadius = borderSize; // Border size is the radius (e.g., 1000 = ±1000)
@@ -110,11 +128,18 @@ public class ProgressiveScatterManager extends BukkitRunnable {
     }
     
     @Override
-    public void run() {
+    protected void tick() {
         if (cancelled) {
             return;
         }
         
+        if (phaseEvent == null) {
+            phaseEvent = new ScatterPhaseEvent();
+            phaseEvent.begin();
+        }
+        
+        ScatterPhase phase = currentPhase;
+        
         try {
             switch (currentPhase) {
                 case INITIALIZING:
@@ -144,6 +169,23 @@ public class ProgressiveScatterManager extends BukkitRunnable {
             e.printStackTrace();
             currentPhase = ScatterPhase.FAILED;
         }
+        
+        if (currentPhase != phase) {
+            commitPhaseEvent(phase);
+        }
+    }
+    
+    // The phase event spans every tick of the phase and is committed when it changes
+    private void commitPhaseEvent(ScatterPhase phase) {
+        if (phaseEvent != null && phaseEvent.shouldCommit()) {
+            phaseEvent.phase = phase.name();
+            phaseEvent.teams = teamsToScatter.size();
+            phaseEvent.locationsFound = teamScatterLocations.size();
+            phaseEvent.chunksPreloaded = preloadedChunks.size();
+            phaseEvent.teamsTeleported = teamsTeleported;
+            phaseEvent.commit();
+        }
+        phaseEvent = null;
     }
     
     private void initialize() {
@@ -189,10 +231,10 @@ public class ProgressiveScatterManager extends BukkitRunnable {
         }
         
         // Announce scatter start
-        Bukkit.broadcastMessage(ChatColor.GOLD + "§l§m                                                ");
-        Bukkit.broadcastMessage(ChatColor.GOLD + "§lSCATTERING PLAYERS!");
-        Bukkit.broadcastMessage(ChatColor.YELLOW + "You will be frozen after being teleported.");
-        Bukkit.broadcastMessage(ChatColor.GOLD + "§l§m                                                ");
+        BroadcastPackets.broadcastMessage(ChatColor.GOLD + "§l§m                                                ");
+        BroadcastPackets.broadcastMessage(ChatColor.GOLD + "§lSCATTERING PLAYERS!");
+        BroadcastPackets.broadcastMessage(ChatColor.YELLOW + "You will be frozen after being teleported.");
+        BroadcastPackets.broadcastMessage(ChatColor.GOLD + "§l§m                                                ");
         
         currentPhase = ScatterPhase.VALIDATING_TEAMS;
     }
@@ -215,7 +257,7 @@ public class ProgressiveScatterManager extends BukkitRunnable {
                     " teams may be too many for border size (recommended max: " + (int)maxTeams + ")");
         }
         
-        Bukkit.broadcastMessage(ChatColor.YELLOW + "Validating " + teamsToScatter.size() + " teams for scatter...");
+        BroadcastPackets.broadcastMessage(ChatColor.YELLOW + "Validating " + teamsToScatter.size() + " teams for scatter...");
         currentPhase = ScatterPhase.GENERATING_LOCATIONS;
     }
     
@@ -236,11 +278,11 @@ public class ProgressiveScatterManager extends BukkitRunnable {
                     attempt.finalLocation = location;
                     addChunksToPreload(location);
                     
-                    UHC.getInstance().getLogger().info("Found location for team " + team.getTeamName() + 
+                    LOCATION_FOUND.info(() -> "Found location for team " + team.getTeamName() + 
                             " at " + formatLocation(location) + " (attempt " + attempt.attempts + ")");
                 } else if (attempt.attempts >= MAX_ATTEMPTS_PER_LOCATION) {
                     attempt.failureReason = "Max attempts reached";
-                    UHC.getInstance().getLogger().warning("Failed to find location for team " + 
+                    LOCATION_FAILED.warning(() -> "Failed to find location for team " + 
                             team.getTeamName() + ": " + attempt.failureReason);
                 }
             }
@@ -254,7 +296,7 @@ public class ProgressiveScatterManager extends BukkitRunnable {
         // Progress update
         if (currentTeamIndex > 0 && currentTeamIndex % 5 == 0) {
             double progress = (double) currentTeamIndex / teamsToScatter.size() * 100;
-            Bukkit.broadcastMessage(ChatColor.YELLOW + "Generating locations: " + 
+            BroadcastPackets.broadcastMessage(ChatColor.YELLOW + "Generating locations: " + 
                     String.format("%.0f%%", progress) + " complete");
         }
         
@@ -271,7 +313,7 @@ public class ProgressiveScatterManager extends BukkitRunnable {
                 return;
             }
             
-            Bukkit.broadcastMessage(ChatColor.GREEN + "Generated " + successful + "/" + 
+            BroadcastPackets.broadcastMessage(ChatColor.GREEN + "Generated " + successful + "/" + 
                     teamsToScatter.size() + " team locations. Preloading chunks...");
             
             currentPhase = ScatterPhase.PRELOADING_CHUNKS;
@@ -296,7 +338,7 @@ public class ProgressiveScatterManager extends BukkitRunnable {
                     attempt.finalLocation = location;
                     addChunksToPreload(location);
                     successfulFallbacks++;
-                    UHC.getInstance().getLogger().info("Fallback location found for team " + team.getTeamName());
+                    LOCATION_FOUND.info(() -> "Fallback location found for team " + team.getTeamName());
                 }
             }
         }
@@ -310,7 +352,7 @@ public class ProgressiveScatterManager extends BukkitRunnable {
             return;
         }
         
-        Bukkit.broadcastMessage(ChatColor.YELLOW + "Generated " + totalSuccessful + "/" + 
+        BroadcastPackets.broadcastMessage(ChatColor.YELLOW + "Generated " + totalSuccessful + "/" + 
                 teamsToScatter.size() + " team locations (including " + successfulFallbacks + " fallbacks). Preloading chunks...");
         
         currentPhase = ScatterPhase.PRELOADING_CHUNKS;
@@ -428,7 +470,7 @@ public class ProgressiveScatterManager extends BukkitRunnable {
             
             // Debug initial Y
             if (attempt.attempts <= 5) {
-                UHC.getInstance().getLogger().info("DEBUG: At " + (int)x + "," + (int)z + 
+                LOCATION_SEARCH.info(() -> "DEBUG: At " + (int)x + "," + (int)z + 
                     " world.getHighestBlockYAt returned: " + highestY);
             }
             
@@ -444,12 +486,12 @@ public class ProgressiveScatterManager extends BukkitRunnable {
             
             // Debug what we found
             if (attempt.attempts <= 5) {
-                Block aboveBlock = world.getBlockAt((int)x, y + 1, (int)z);
-                Block twoAboveBlock = world.getBlockAt((int)x, y + 2, (int)z);
-                UHC.getInstance().getLogger().info("DEBUG: Found solid at Y=" + y + 
-                    " block=" + currentBlock.getType() +
-                    " above=" + aboveBlock.getType() +
-                    " twoAbove=" + twoAboveBlock.getType());
+                int solidY = y;
+                Block solidBlock = currentBlock;
+                LOCATION_SEARCH.info(() -> "DEBUG: Found solid at Y=" + solidY + 
+                    " block=" + solidBlock.getType() +
+                    " above=" + world.getBlockAt((int)x, solidY + 1, (int)z).getType() +
+                    " twoAbove=" + world.getBlockAt((int)x, solidY + 2, (int)z).getType());
             }
             
             // Ensure Y is reasonable
@@ -461,17 +503,14 @@ public class ProgressiveScatterManager extends BukkitRunnable {
             
             // Debug: Let's see what happens if we don't add 1
             if (attempt.attempts <= 3) {
-                UHC.getInstance().getLogger().info("DEBUG: Setting Y to " + (y + 1) + " (solid block at " + y + ")");
+                int solidY = y;
+                LOCATION_SEARCH.info(() -> "DEBUG: Setting Y to " + (solidY + 1) + " (solid block at " + solidY + ")");
                 
                 // Let's also check what getHighestBlockYAt actually returns
-                Block testBlock1 = world.getBlockAt((int)x, highestY, (int)z);
-                Block testBlock2 = world.getBlockAt((int)x, highestY + 1, (int)z);
-                Block testBlock3 = world.getBlockAt((int)x, highestY - 1, (int)z);
-                
-                UHC.getInstance().getLogger().info("DEBUG: getHighestBlockYAt=" + highestY + 
-                    " block@Y=" + testBlock1.getType() +
-                    " block@Y+1=" + testBlock2.getType() +
-                    " block@Y-1=" + testBlock3.getType());
+                LOCATION_SEARCH.info(() -> "DEBUG: getHighestBlockYAt=" + highestY + 
+                    " block@Y=" + world.getBlockAt((int)x, highestY, (int)z).getType() +
+                    " block@Y+1=" + world.getBlockAt((int)x, highestY + 1, (int)z).getType() +
+                    " block@Y-1=" + world.getBlockAt((int)x, highestY - 1, (int)z).getType());
             }
             
             // Place player one block above the solid block
@@ -479,7 +518,7 @@ public class ProgressiveScatterManager extends BukkitRunnable {
             
             // Debug logging
             if (attempt.attempts <= 5 || attempt.attempts % 10 == 0) {
-                UHC.getInstance().getLogger().info("Attempt " + attempt.attempts + " for team " + team.getTeamName() + 
+                LOCATION_SEARCH.info(() -> "Attempt " + attempt.attempts + " for team " + team.getTeamName() + 
                         ": Testing location " + formatLocation(candidate) + 
                         " (usable radius: " + String.format("%.1f", usableRadius) + ")");
             }
@@ -491,7 +530,7 @@ public class ProgressiveScatterManager extends BukkitRunnable {
         }
         
         // Log failure details
-        UHC.getInstance().getLogger().warning("Failed to find location for team " + team.getTeamName() + 
+        LOCATION_FAILED.warning(() -> "Failed to find location for team " + team.getTeamName() + 
                 " after " + attempt.attempts + " attempts. Border radius: " + borderRadius + 
                 ", buffer: " + bufferFromBorder);
         
@@ -501,9 +540,7 @@ public class ProgressiveScatterManager extends BukkitRunnable {
     private boolean isLocationValid(Location location) {
         // Check if location is safe
         if (!GameUtil.isLocationSafe(location)) {
-            if (scatterAttempts.values().stream().mapToInt(a -> a.attempts).sum() <= 20) {
-                UHC.getInstance().getLogger().info("Location " + formatLocation(location) + " is not safe");
-            }
+            LOCATION_REJECTED.info(() -> "Location " + formatLocation(location) + " is not safe");
             return false;
         }
         
@@ -513,11 +550,9 @@ public class ProgressiveScatterManager extends BukkitRunnable {
             Math.abs(location.getZ())
         );
         if (distanceFromCenter > borderRadius - bufferFromBorder) {
-            if (scatterAttempts.values().stream().mapToInt(a -> a.attempts).sum() <= 20) {
-                UHC.getInstance().getLogger().fine("Location " + formatLocation(location) + 
-                        " too close to border (distance: " + String.format("%.1f", distanceFromCenter) + 
-                        ", max: " + String.format("%.1f", borderRadius - bufferFromBorder) + ")");
-            }
+            LOCATION_REJECTED.fine(() -> "Location " + formatLocation(location) + 
+                    " too close to border (distance: " + String.format("%.1f", distanceFromCenter) + 
+                    ", max: " + String.format("%.1f", borderRadius - bufferFromBorder) + ")");
             return false;
         }
         
@@ -525,11 +560,9 @@ public class ProgressiveScatterManager extends BukkitRunnable {
         for (Location existingLocation : teamScatterLocations.values()) {
             double distance = location.distance(existingLocation);
             if (distance < MIN_DISTANCE_BETWEEN_TEAMS) {
-                if (scatterAttempts.values().stream().mapToInt(a -> a.attempts).sum() <= 20) {
-                    UHC.getInstance().getLogger().fine("Location " + formatLocation(location) + 
-                            " too close to another team (distance: " + String.format("%.1f", distance) + 
-                            ", min: " + MIN_DISTANCE_BETWEEN_TEAMS + ")");
-                }
+                LOCATION_REJECTED.fine(() -> "Location " + formatLocation(location) + 
+                        " too close to another team (distance: " + String.format("%.1f", distance) + 
+                        ", min: " + MIN_DISTANCE_BETWEEN_TEAMS + ")");
                 return false;
             }
         }
@@ -538,12 +571,10 @@ public class ProgressiveScatterManager extends BukkitRunnable {
         for (Player player : Bukkit.getOnlinePlayers()) {
             if (player.getWorld().equals(world) && 
                 player.getLocation().distance(location) < MIN_DISTANCE_FROM_PLAYERS) {
-                if (scatterAttempts.values().stream().mapToInt(a -> a.attempts).sum() <= 20) {
-                    UHC.getInstance().getLogger().fine("Location " + formatLocation(location) + 
-                            " too close to player " + player.getName() + " (distance: " + 
-                            String.format("%.1f", player.getLocation().distance(location)) + 
-                            ", min: " + MIN_DISTANCE_FROM_PLAYERS + ")");
-                }
+                LOCATION_REJECTED.fine(() -> "Location " + formatLocation(location) + 
+                        " too close to player " + player.getName() + " (distance: " + 
+                        String.format("%.1f", player.getLocation().distance(location)) + 
+                        ", min: " + MIN_DISTANCE_FROM_PLAYERS + ")");
                 return false;
             }
         }
@@ -567,28 +598,28 @@ public class ProgressiveScatterManager extends BukkitRunnable {
     
     private void preloadChunks() {
         int chunksLoadedThisTick = 0;
+        int chunkBudget = TickCounter.getInstance().scaleBudget(CHUNKS_PER_TICK);
         
-        while (chunkIterator.hasNext() && chunksLoadedThisTick < CHUNKS_PER_TICK) {
+        while (chunkIterator.hasNext() && chunksLoadedThisTick < chunkBudget) {
             ChunkCoordinate coord = chunkIterator.next();
             
             if (!preloadedChunks.contains(coord)) {
                 // Force load chunk
-                world.getChunkAt(coord.x, coord.z).load(true);
+                ChunkLoadTracker.load(world, coord.x, coord.z, "scatter");
                 preloadedChunks.add(coord);
                 chunksLoadedThisTick++;
             }
         }
         
         // Progress update
-        int progress = (int) ((double) preloadedChunks.size() / totalChunksToPreload * 100);
         if (preloadedChunks.size() % 10 == 0) {
-            UHC.getInstance().getLogger().info("Chunk preloading: " + progress + "% complete (" + 
-                    preloadedChunks.size() + "/" + totalChunksToPreload + ")");
+            CHUNK_PRELOAD.info(() -> "Chunk preloading: " + (int) ((double) preloadedChunks.size() / totalChunksToPreload * 100) +
+                    "% complete (" + preloadedChunks.size() + "/" + totalChunksToPreload + ")");
         }
         
         // Check if done
         if (!chunkIterator.hasNext()) {
-            Bukkit.broadcastMessage(ChatColor.GREEN + "Chunks preloaded. Starting teleportation...");
+            BroadcastPackets.broadcastMessage(ChatColor.GREEN + "Chunks preloaded. Starting teleportation...");
             currentPhase = ScatterPhase.TELEPORTING_TEAMS;
             currentTeamIndex = 0;
         }
@@ -606,14 +637,31 @@ public class ProgressiveScatterManager extends BukkitRunnable {
             UHCTeam team = teamsToScatter.get(currentTeamIndex);
             ScatterAttempt attempt = scatterAttempts.get(team.getTeamId());
             
-            if (attempt.successful && attempt.finalLocation != null) {
+            ScatterTeamEvent event = new ScatterTeamEvent();
+            event.begin();
+            boolean placed = attempt.successful && attempt.finalLocation != null;
+            
+            if (placed) {
                 scatterTeamMembers(team, attempt.finalLocation);
-                UHC.getInstance().getLogger().info("Teleported team " + team.getTeamName());
+                teamsTeleported++;
+                TEAM_TELEPORTED.info(() -> "Teleported team " + team.getTeamName());
             } else {
-                UHC.getInstance().getLogger().warning("Skipping team " + team.getTeamName() + 
+                TEAM_SKIPPED.warning(() -> "Skipping team " + team.getTeamName() + 
                         " - no valid location");
             }
             
+            if (event.shouldCommit()) {
+                event.team = team.getTeamName();
+                event.members = team.getSize();
+                event.attempts = attempt.attempts;
+                event.placed = placed;
+                if (placed) {
+                    event.x = attempt.finalLocation.getBlockX();
+                    event.z = attempt.finalLocation.getBlockZ();
+                }
+                event.commit();
+            }
+            
             currentTeamIndex++;
             teleportsThisTick++;
         }
@@ -621,7 +669,7 @@ public class ProgressiveScatterManager extends BukkitRunnable {
         // Progress update
         if (currentTeamIndex % 5 == 0) {
             double progress = (double) currentTeamIndex / teamsToScatter.size() * 100;
-            Bukkit.broadcastMessage(ChatColor.YELLOW + "Teleporting teams: " + 
+            BroadcastPackets.broadcastMessage(ChatColor.YELLOW + "Teleporting teams: " + 
                     String.format("%.0f%%", progress) + " complete");
         }
     }
@@ -642,15 +690,12 @@ public class ProgressiveScatterManager extends BukkitRunnable {
             player.teleport(teamCenter);
             
             // Freeze player after teleport and remove metadata
-            new BukkitRunnable() {
-                @Override
-                public void run() {
-                    player.removeMetadata("uhc_scatter_teleport", UHC.getInstance());
-                    freezeManager.freezePlayer(player);
-                    player.sendMessage(ChatColor.GREEN + "You have been scattered!");
-                    player.sendMessage(ChatColor.YELLOW + "You are now frozen until all teams are scattered.");
-                }
-            }.runTaskLater(UHC.getInstance(), 2L); // Small delay to ensure teleport completes
+            TimingWheel.getInstance().schedule(() -> {
+                player.removeMetadata("uhc_scatter_teleport", UHC.getInstance());
+                freezeManager.freezePlayer(player);
+                player.sendMessage(ChatColor.GREEN + "You have been scattered!");
+                player.sendMessage(ChatColor.YELLOW + "You are now frozen until all teams are scattered.");
+            }, 2L); // Small delay to ensure teleport completes
         } else {
             // Multiple members - scatter around center
             List<Location> memberLocations = generateTeamMemberLocations(teamCenter, members.size());
@@ -664,15 +709,12 @@ public class ProgressiveScatterManager extends BukkitRunnable {
                 player.teleport(loc);
                 
                 // Freeze each player after teleport and remove metadata
-                new BukkitRunnable() {
-                    @Override
-                    public void run() {
-                        player.removeMetadata("uhc_scatter_teleport", UHC.getInstance());
-                        freezeManager.freezePlayer(player);
-                        player.sendMessage(ChatColor.GREEN + "You have been scattered with your team!");
-                        player.sendMessage(ChatColor.YELLOW + "You are now frozen until all teams are scattered.");
-                    }
-                }.runTaskLater(UHC.getInstance(), 2L); // Small delay to ensure teleport completes
+                TimingWheel.getInstance().schedule(() -> {
+                    player.removeMetadata("uhc_scatter_teleport", UHC.getInstance());
+                    freezeManager.freezePlayer(player);
+                    player.sendMessage(ChatColor.GREEN + "You have been scattered with your team!");
+                    player.sendMessage(ChatColor.YELLOW + "You are now frozen until all teams are scattered.");
+                }, 2L); // Small delay to ensure teleport completes
             }
             
             team.sendMessage(ChatColor.YELLOW + "Your team has been scattered together!");
@@ -723,10 +765,10 @@ public class ProgressiveScatterManager extends BukkitRunnable {
                 .filter(a -> a.successful)
                 .count();
         
-        Bukkit.broadcastMessage(ChatColor.GREEN + "=== Scatter Complete ===");
-        Bukkit.broadcastMessage(ChatColor.GREEN + "Teams scattered: " + successful + "/" + teamsToScatter.size());
-        Bukkit.broadcastMessage(ChatColor.GREEN + "Time taken: " + (duration / 1000.0) + " seconds");
-        Bukkit.broadcastMessage(ChatColor.GREEN + "=======================");
+        BroadcastPackets.broadcastMessage(ChatColor.GREEN + "=== Scatter Complete ===");
+        BroadcastPackets.broadcastMessage(ChatColor.GREEN + "Teams scattered: " + successful + "/" + teamsToScatter.size());
+        BroadcastPackets.broadcastMessage(ChatColor.GREEN + "Time taken: " + (duration / 1000.0) + " seconds");
+        BroadcastPackets.broadcastMessage(ChatColor.GREEN + "=======================");
         
         UHC.getInstance().getLogger().info("Scatter completed in " + duration + "ms");
         logScatterStatistics();
@@ -738,7 +780,7 @@ public class ProgressiveScatterManager extends BukkitRunnable {
             @Override
             public void run() {
                 if (countdown > 0) {
-                    Bukkit.broadcastMessage(ChatColor.YELLOW + "§lUnfreezing in " + countdown + "...");
+                    BroadcastPackets.broadcastMessage(ChatColor.YELLOW + "§lUnfreezing in " + countdown + "...");
                     
                     // Play sound for all players
                     for (Player player : Bukkit.getOnlinePlayers()) {
@@ -750,10 +792,10 @@ public class ProgressiveScatterManager extends BukkitRunnable {
                     // Unfreeze all players
                     freezeManager.unfreezeAllPlayers();
                     
-                    Bukkit.broadcastMessage(ChatColor.GREEN + "§l§m                                                ");
-                    Bukkit.broadcastMessage(ChatColor.GREEN + "§lGAME STARTED!");
-                    Bukkit.broadcastMessage(ChatColor.YELLOW + "Good luck and have fun!");
-                    Bukkit.broadcastMessage(ChatColor.GREEN + "§l§m                                                ");
+                    BroadcastPackets.broadcastMessage(ChatColor.GREEN + "§l§m                                                ");
+                    BroadcastPackets.broadcastMessage(ChatColor.GREEN + "§lGAME STARTED!");
+                    BroadcastPackets.broadcastMessage(ChatColor.YELLOW + "Good luck and have fun!");
+                    BroadcastPackets.broadcastMessage(ChatColor.GREEN + "§l§m                                                ");
                     
                     // Play final sound
                     for (Player player : Bukkit.getOnlinePlayers()) {
@@ -779,7 +821,7 @@ public class ProgressiveScatterManager extends BukkitRunnable {
     }
     
     private void handleFailure() {
-        Bukkit.broadcastMessage(ChatColor.RED + "Scatter failed! Starting game without scattering...");
+        BroadcastPackets.broadcastMessage(ChatColor.RED + "Scatter failed! Starting game without scattering...");
         
         // Unfreeze players since scatter failed
         freezeManager.unfreezeAllPlayers();
@@ -846,6 +888,7 @@ public class ProgressiveScatterManager extends BukkitRunnable {
     public void cancel() {
         this.cancelled = true;
         super.cancel();
+        commitPhaseEvent(currentPhase);
         
         // Don't clean up freeze manager here - it's handled in the countdown
         // Only clean up if we're cancelling due to error/failure
@@ -910,10 +953,7 @@ public class ProgressiveScatterManager extends BukkitRunnable {
         // Load chunks in 5x5 area around location
         for (int dx = -CHUNK_PRELOAD_RADIUS; dx <= CHUNK_PRELOAD_RADIUS; dx++) {
             for (int dz = -CHUNK_PRELOAD_RADIUS; dz <= CHUNK_PRELOAD_RADIUS; dz++) {
-                Chunk chunk = world.getChunkAt(centerChunk.getX() + dx, centerChunk.getZ() + dz);
-                if (!chunk.isLoaded()) {
-                    chunk.load(true);
-                }
+                ChunkLoadTracker.load(world, centerChunk.getX() + dx, centerChunk.getZ() + dz, "scatter");
             }
         }
         
@@ -948,6 +988,26 @@ public class ProgressiveScatterManager extends BukkitRunnable {
         return currentPhase.name();
     }
     
+    public int getTeamCount() {
+        return teamsToScatter.size();
+    }
+    
+    public int getLocationsFound() {
+        return teamScatterLocations.size();
+    }
+    
+    public int getChunksPreloaded() {
+        return preloadedChunks.size();
+    }
+    
+    public int getTotalChunksToPreload() {
+        return totalChunksToPreload;
+    }
+    
+    public long getElapsedMillis() {
+        return System.currentTimeMillis() - startTime;
+    }
+    
     public ScatterStatistics getScatterStatistics() {
         int successful = (int) scatterAttempts.values().stream()
                 .filter(a -> a.successful)
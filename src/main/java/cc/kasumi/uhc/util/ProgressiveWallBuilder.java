@@ -1,12 +1,12 @@
 package cc.kasumi.uhc.util;
 
 import cc.kasumi.uhc.UHC;
+import cc.kasumi.uhc.jfr.WallBuildBatchEvent;
 import lombok.Getter;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -14,7 +14,7 @@ import java.util.List;
 /**
  * Builds walls progressively to prevent server lag
  */
-public class ProgressiveWallBuilder extends BukkitRunnable {
+public class ProgressiveWallBuilder extends ProfiledRunnable {
 
     private final World world;
     private final int radius;
@@ -27,6 +27,7 @@ public class ProgressiveWallBuilder extends BukkitRunnable {
     private boolean cancelled = false; // Add this for 1.8.8 compatibility
 
     public ProgressiveWallBuilder(World world, int radius, int height) {
+        super("wall-builder");
         this.world = world;
         this.radius = radius;
         this.height = height;
@@ -79,15 +80,20 @@ public class ProgressiveWallBuilder extends BukkitRunnable {
     }
 
     @Override
-    public void run() {
+    protected void tick() {
         if (cancelled) {
             return;
         }
 
+        WallBuildBatchEvent event = new WallBuildBatchEvent();
+        event.begin();
+
         int blocksPlaced = 0;
+        // Back off while the server is lagging
+        int blockBudget = TickCounter.getInstance().scaleBudget(blocksPerTick);
 
         // Place blocks in batches
-        while (currentIndex < wallLocations.size() && blocksPlaced < blocksPerTick) {
+        while (currentIndex < wallLocations.size() && blocksPlaced < blockBudget) {
             Location location = wallLocations.get(currentIndex);
             location.getBlock().setType(Material.BEDROCK);
 
@@ -95,6 +101,16 @@ public class ProgressiveWallBuilder extends BukkitRunnable {
             blocksPlaced++;
         }
 
+        if (event.shouldCommit()) {
+            event.world = world.getName();
+            event.radius = radius;
+            event.budget = blockBudget;
+            event.blocks = blocksPlaced;
+            event.placed = currentIndex;
+            event.total = wallLocations.size();
+            event.commit();
+        }
+
         // Check if we're done
         if (currentIndex >= wallLocations.size()) {
             Bukkit.getLogger().info("Wall building completed! Built " + wallLocations.size() + " blocks.");
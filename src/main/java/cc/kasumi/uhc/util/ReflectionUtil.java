@@ -2,12 +2,16 @@ package cc.kasumi.uhc.util;
 
 import cc.kasumi.uhc.barapi.BarAPI;
 import cc.kasumi.uhc.barapi.nms.*;
+import cc.kasumi.uhc.packets.PacketOutbox;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -19,6 +23,13 @@ public class ReflectionUtil {
     public static Class<?> fakeDragonClass = v1_6.class;
     public static boolean isBelowGround = true;
 
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    // Packet send chain, bound from the first player's runtime classes
+    private static MethodHandle playerGetHandle;
+    private static MethodHandle playerConnection;
+    private static MethodHandle connectionSendPacket;
+
     static {
         detectVersion();
     }
@@ -64,18 +75,90 @@ public class ReflectionUtil {
 
     // Reflection
     public static void sendPacket(Player player, Object packet) {
+        sendPacket(player, packet, null);
+    }
+
+    /**
+     * Sends a packet to the player. Keyed packets (fake entity metadata and teleports) are batched
+     * in the player's outbox and replace a queued packet with the same key, everything else
+     * goes out immediately through the player connection.
+     */
+    public static void sendPacket(Player player, Object packet, Object coalesceKey) {
+        // Only the boss bar dragons are sent through here
+        PacketOutbox.getInstance().recordSent("barapi");
+        if (PacketOutbox.getInstance().queue(player, packet, coalesceKey)) {
+            return;
+        }
+
         try {
-            Object nmsPlayer = getHandle(player);
-            Field con_field = nmsPlayer.getClass().getField("playerConnection");
-            Object con = con_field.get(nmsPlayer);
-            Method packet_method = getMethod(con.getClass(), "sendPacket");
-            packet_method.invoke(con, packet);
-        } catch (SecurityException | IllegalArgumentException | IllegalAccessException | InvocationTargetException |
-                 NoSuchFieldException e) {
+            if (connectionSendPacket == null) {
+                bindSendPacket(player);
+            }
+
+            Object nmsPlayer = (Object) playerGetHandle.invokeExact((Object) player);
+            Object con = (Object) playerConnection.invokeExact(nmsPlayer);
+            connectionSendPacket.invokeExact(con, packet);
+        } catch (Throwable e) {
             e.printStackTrace();
         }
     }
 
+    private static void bindSendPacket(Player player) throws ReflectiveOperationException {
+        MethodType getterType = MethodType.methodType(Object.class, Object.class);
+
+        Method handleMethod = getMethod(player.getClass(), "getHandle");
+        Field conField = handleMethod.getReturnType().getField("playerConnection");
+        Method packetMethod = getMethod(conField.getType(), "sendPacket");
+
+        playerGetHandle = LOOKUP.unreflect(handleMethod).asType(getterType);
+        playerConnection = LOOKUP.unreflectGetter(conField).asType(getterType);
+        connectionSendPacket = LOOKUP.unreflect(packetMethod).asType(MethodType.methodType(void.class, Object.class, Object.class));
+    }
+
+    /**
+     * Resolves a public constructor as a MethodHandle, callers cache the result
+     */
+    public static MethodHandle findConstructor(Class<?> cl, Class<?>... args) throws ReflectiveOperationException {
+        return LOOKUP.unreflectConstructor(cl.getConstructor(args));
+    }
+
+    /**
+     * Resolves a public method as a MethodHandle, callers cache the result
+     */
+    public static MethodHandle findMethod(Class<?> cl, String method, Class<?>... args) throws ReflectiveOperationException {
+        return LOOKUP.unreflect(cl.getMethod(method, args));
+    }
+
+    /**
+     * Resolves a setter for a declared field (private included), callers cache the result
+     */
+    public static MethodHandle findSetter(Class<?> cl, String fieldName) throws ReflectiveOperationException {
+        Field field = cl.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        return LOOKUP.unreflectSetter(field);
+    }
+
+    /**
+     * Disables AI on a living entity by setting the NoAI tag on its NMS handle
+     *
+     * @return false if the tag could not be applied on this server version
+     */
+    public static boolean setNoAI(Entity entity) {
+        try {
+            Object nmsEntity = getHandle(entity);
+            Class<?> tagClass = getCraftClass("NBTTagCompound");
+            Object tag = tagClass.getConstructor().newInstance();
+
+            // Entity#c(NBTTagCompound) saves, Entity#f(NBTTagCompound) loads (1.8 mappings)
+            nmsEntity.getClass().getMethod("c", tagClass).invoke(nmsEntity, tag);
+            tagClass.getMethod("setInt", String.class, int.class).invoke(tag, "NoAI", 1);
+            nmsEntity.getClass().getMethod("f", tagClass).invoke(nmsEntity, tag);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     public static Class<?> getCraftClass(String ClassName) {
         String className = "net.minecraft.server." + version + ClassName;
         Class<?> c = null;
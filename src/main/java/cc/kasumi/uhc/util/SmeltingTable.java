@@ -0,0 +1,102 @@
+package cc.kasumi.uhc.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.FurnaceRecipe;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.Recipe;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the server's furnace recipes, keyed by material id and data value.
+ * Recipes registered with a data value of Short.MAX_VALUE match any data value of their
+ * material and are kept in a separate array indexed by material id.
+ */
+public final class SmeltingTable {
+
+    // Furnace inputs on 1.8 register any-data recipes with this damage value
+    private static final short WILDCARD_DATA = Short.MAX_VALUE;
+
+    private final Map<Integer, ItemStack> exact;
+    private final ItemStack[] wildcard;
+    private final int recipeCount;
+
+    private SmeltingTable(Map<Integer, ItemStack> exact, ItemStack[] wildcard, int recipeCount) {
+        this.exact = exact;
+        this.wildcard = wildcard;
+        this.recipeCount = recipeCount;
+    }
+
+    /**
+     * Builds a table from the furnace recipes currently registered (call on the main thread)
+     */
+    @SuppressWarnings("deprecation")
+    public static SmeltingTable build() {
+        Map<Integer, ItemStack> exact = new HashMap<>();
+        Map<Integer, ItemStack> wildcardById = new HashMap<>();
+        int maxId = 0;
+        int count = 0;
+
+        for (Iterator<Recipe> recipes = Bukkit.recipeIterator(); recipes.hasNext();) {
+            Recipe recipe = recipes.next();
+            if (!(recipe instanceof FurnaceRecipe)) {
+                continue;
+            }
+
+            // Note: getInputChoice would be more future-proof, but it doesn't exist on 1.8.8
+            ItemStack input = ((FurnaceRecipe) recipe).getInput();
+            ItemStack result = recipe.getResult().clone();
+            int id = input.getType().getId();
+
+            // Later recipes override earlier ones, as the last match did in the old per-drop scan
+            if (input.getDurability() == WILDCARD_DATA) {
+                wildcardById.put(id, result);
+                maxId = Math.max(maxId, id);
+            } else {
+                exact.put(key(id, input.getDurability()), result);
+            }
+            count++;
+        }
+
+        ItemStack[] wildcard = new ItemStack[maxId + 1];
+        for (Map.Entry<Integer, ItemStack> entry : wildcardById.entrySet()) {
+            wildcard[entry.getKey()] = entry.getValue();
+        }
+
+        return new SmeltingTable(exact, wildcard, count);
+    }
+
+    /**
+     * Returns a new stack of the smelted result with the input's amount, or null if it doesn't smelt
+     */
+    @SuppressWarnings("deprecation")
+    public ItemStack smelt(ItemStack input) {
+        // Recipe inputs carry no meta, so named or enchanted items never matched before either
+        if (input == null || input.hasItemMeta()) {
+            return null;
+        }
+
+        int id = input.getType().getId();
+        ItemStack result = exact.get(key(id, input.getDurability()));
+        if (result == null && id < wildcard.length) {
+            result = wildcard[id];
+        }
+        if (result == null) {
+            return null;
+        }
+
+        ItemStack smelted = result.clone();
+        smelted.setAmount(input.getAmount());
+        return smelted;
+    }
+
+    public int size() {
+        return recipeCount;
+    }
+
+    private static int key(int id, short data) {
+        return (id << 16) | (data & 0xFFFF);
+    }
+}
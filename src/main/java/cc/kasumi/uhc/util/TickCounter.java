@@ -2,17 +2,54 @@ package cc.kasumi.uhc.util;
 
 import cc.kasumi.uhc.UHC;
 import lombok.Getter;
+import org.bukkit.Bukkit;
 import org.bukkit.scheduler.BukkitRunnable;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+
 /**
- * Utility class to track server ticks accurately
+ * Utility class to track server ticks accurately.
+ * Also records the nanoTime interval between ticks into a ring buffer covering the last
+ * five minutes, from which TPS and tick interval percentiles are read. MSPT, the time the
+ * server spent working in each tick, is copied from the server's own tick time samples.
+ * Only the main thread writes, any thread may read.
  */
 public class TickCounter {
 
+    private static final int SAMPLE_CAPACITY = 20 * 60 * 5; // 5 minutes at 20 TPS
+    private static final double MAX_TPS = 20.0;
+    private static final double THRESHOLD_HYSTERESIS = 0.5;
+
     @Getter
     private volatile long currentTick = 0;
     private BukkitRunnable tickTask;
 
+    private final AtomicLongArray tickIntervals = new AtomicLongArray(SAMPLE_CAPACITY);
+    private volatile long sampleCount = 0;
+    private long lastTickNanos = 0;
+
+    private final AtomicLongArray tickWorkTimes = new AtomicLongArray(SAMPLE_CAPACITY);
+    private volatile long workSampleCount = 0;
+    // MinecraftServer's ring of recent tick durations, null if it couldn't be found
+    private long[] serverTickTimes;
+    private long[] seenTickTimes;
+
+    // nanoTime at the start of the last tick, polled by the lag watchdog thread
+    @Getter
+    private volatile long heartbeatNanos = 0;
+
+    // Copy-on-write, checked once per second against the 1s TPS
+    private Threshold[] thresholds = new Threshold[0];
+
+    // Copy-on-write so a hook can add or remove hooks while they are being run
+    private Runnable[] tickHooks = new Runnable[0];
+
     private static TickCounter instance;
 
     public static TickCounter getInstance() {
@@ -23,6 +60,7 @@ public class TickCounter {
     }
 
     private TickCounter() {
+        bindServerTickTimes();
         startTracking();
     }
 
@@ -34,10 +72,18 @@ public class TickCounter {
             tickTask.cancel();
         }
 
+        // The gap while no task was running is not a tick interval
+        lastTickNanos = 0;
+
         tickTask = new BukkitRunnable() {
             @Override
             public void run() {
+                long now = System.nanoTime();
+                heartbeatNanos = now;
                 currentTick++;
+                recordTick(now);
+                recordWorkTimes();
+                runTickHooks();
             }
         };
 
@@ -46,8 +92,258 @@ public class TickCounter {
     }
 
     /**
-     * Gets the current server tick count
+     * Runs the hook once per tick, right after the counter advances
+     */
+    public void addTickHook(Runnable hook) {
+        Runnable[] hooks = Arrays.copyOf(tickHooks, tickHooks.length + 1);
+        hooks[hooks.length - 1] = hook;
+        tickHooks = hooks;
+    }
+
+    public void removeTickHook(Runnable hook) {
+        Runnable[] hooks = tickHooks;
+        for (int i = 0; i < hooks.length; i++) {
+            if (hooks[i] == hook) {
+                Runnable[] copy = new Runnable[hooks.length - 1];
+                System.arraycopy(hooks, 0, copy, 0, i);
+                System.arraycopy(hooks, i + 1, copy, i, hooks.length - i - 1);
+                tickHooks = copy;
+                return;
+            }
+        }
+    }
+
+    private void recordTick(long now) {
+        if (lastTickNanos != 0) {
+            long index = sampleCount;
+            tickIntervals.lazySet((int) (index % SAMPLE_CAPACITY), now - lastTickNanos);
+            // Volatile write publishes the sample to readers
+            sampleCount = index + 1;
+        }
+        lastTickNanos = now;
+
+        if (currentTick % 20 == 0 && thresholds.length > 0) {
+            checkThresholds();
+        }
+    }
+
+    /**
+     * Copies the tick durations the server wrote since the last tick. The server stores the
+     * start-to-end time of each tick in a 100 slot ring, one slot per tick, so any slot that
+     * changed is a new sample.
      */
+    private void recordWorkTimes() {
+        long[] times = serverTickTimes;
+        if (times == null) {
+            return;
+        }
+
+        long count = workSampleCount;
+        for (int i = 0; i < times.length; i++) {
+            long time = times[i];
+            if (time != seenTickTimes[i]) {
+                seenTickTimes[i] = time;
+                if (time > 0) {
+                    tickWorkTimes.lazySet((int) (count % SAMPLE_CAPACITY), time);
+                    count++;
+                }
+            }
+        }
+        workSampleCount = count;
+    }
+
+    /**
+     * Finds the server's recent tick time array, the only long[100] field on MinecraftServer
+     */
+    private void bindServerTickTimes() {
+        try {
+            Object server = Bukkit.getServer().getClass().getMethod("getServer").invoke(Bukkit.getServer());
+
+            for (Class<?> type = server.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (field.getType() != long[].class || Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+
+                    field.setAccessible(true);
+                    long[] times = (long[]) field.get(server);
+                    if (times != null && times.length == 100) {
+                        serverTickTimes = times;
+                        seenTickTimes = times.clone();
+                        return;
+                    }
+                }
+            }
+
+            UHC.getInstance().getLogger().warning("Could not find the server's tick times, MSPT will not be reported");
+        } catch (Exception e) {
+            UHC.getInstance().getLogger().log(Level.WARNING, "Could not read the server's tick times, MSPT will not be reported", e);
+        }
+    }
+
+    /**
+     * Average TPS over the last second
+     */
+    public double getTps1s() {
+        return getTps(1);
+    }
+
+    /**
+     * Average TPS over the last minute
+     */
+    public double getTps1m() {
+        return getTps(60);
+    }
+
+    /**
+     * Average TPS over the last five minutes
+     */
+    public double getTps5m() {
+        return getTps(60 * 5);
+    }
+
+    /**
+     * Average TPS over the given number of seconds (at most five minutes), capped at 20
+     */
+    public double getTps(int seconds) {
+        long[] samples = getSamples(seconds);
+        if (samples.length == 0) {
+            return MAX_TPS;
+        }
+
+        long total = 0;
+        for (long sample : samples) {
+            total += sample;
+        }
+
+        return Math.min(MAX_TPS, samples.length * 1_000_000_000.0 / total);
+    }
+
+    /**
+     * Milliseconds the server spent working per tick, as a percentile over the last minute,
+     * e.g. 0.95 for p95. An idle server reports a few ms, anything above 50 makes it fall behind.
+     *
+     * @return NaN if the server's tick times can't be read on this version
+     */
+    public double getMspt(double percentile) {
+        return getMspt(60, percentile);
+    }
+
+    public double getMspt(int seconds, double percentile) {
+        if (serverTickTimes == null) {
+            return Double.NaN;
+        }
+
+        long[] samples = getSamples(tickWorkTimes, workSampleCount, seconds);
+        return samples.length == 0 ? 0.0 : percentileMillis(samples, percentile);
+    }
+
+    public boolean isMsptAvailable() {
+        return serverTickTimes != null;
+    }
+
+    /**
+     * Interval between the starts of consecutive ticks as a percentile over the last minute in
+     * milliseconds. Includes the sleep between ticks, so a healthy server reports about 50ms.
+     */
+    public double getTickInterval(double percentile) {
+        long[] samples = getSamples(60);
+        return samples.length == 0 ? 50.0 : percentileMillis(samples, percentile);
+    }
+
+    private static double percentileMillis(long[] samples, double percentile) {
+        Arrays.sort(samples);
+        int index = (int) Math.ceil(percentile * samples.length) - 1;
+        return samples[Math.max(0, Math.min(index, samples.length - 1))] / 1_000_000.0;
+    }
+
+    /**
+     * Share of the normal per-tick work budget that should be spent right now, from 1.0 at
+     * full TPS down to 0.25 under heavy lag. Used by the progressive workers.
+     */
+    public double getLoadFactor() {
+        double tps = getTps1s();
+        if (tps >= 19.0) {
+            return 1.0;
+        }
+        return Math.max(0.25, (tps - 10.0) / 9.0);
+    }
+
+    /**
+     * Scales a per-tick budget by the load factor, never below one unit of work
+     */
+    public int scaleBudget(int budget) {
+        return Math.max(1, (int) (budget * getLoadFactor()));
+    }
+
+    /**
+     * Calls the listener when the 1s TPS drops below the threshold, and again once it
+     * has recovered to half a tick above it
+     */
+    public void addThresholdListener(double tps, ThresholdListener listener) {
+        Threshold[] updated = Arrays.copyOf(thresholds, thresholds.length + 1);
+        updated[updated.length - 1] = new Threshold(tps, listener);
+        thresholds = updated;
+    }
+
+    public void removeThresholdListener(ThresholdListener listener) {
+        List<Threshold> remaining = new ArrayList<>();
+        for (Threshold threshold : thresholds) {
+            if (threshold.listener != listener) {
+                remaining.add(threshold);
+            }
+        }
+        thresholds = remaining.toArray(new Threshold[0]);
+    }
+
+    private void checkThresholds() {
+        double tps = getTps1s();
+
+        for (Threshold threshold : thresholds) {
+            boolean below;
+            if (!threshold.below && tps < threshold.tps) {
+                below = true;
+            } else if (threshold.below && tps >= threshold.tps + THRESHOLD_HYSTERESIS) {
+                below = false;
+            } else {
+                continue;
+            }
+
+            threshold.below = below;
+            try {
+                threshold.listener.onThresholdCrossed(threshold.tps, tps, below);
+            } catch (Exception e) {
+                UHC.getInstance().getLogger().log(Level.SEVERE, "Error running TPS threshold listener", e);
+            }
+        }
+    }
+
+    /**
+     * Copies the most recent tick intervals covering the given number of seconds at 20 TPS
+     */
+    private long[] getSamples(int seconds) {
+        return getSamples(tickIntervals, sampleCount, seconds);
+    }
+
+    private static long[] getSamples(AtomicLongArray ring, long count, int seconds) {
+        int length = (int) Math.min(Math.min(count, SAMPLE_CAPACITY), Math.max(1L, seconds * 20L));
+
+        long[] samples = new long[length];
+        for (int i = 0; i < length; i++) {
+            samples[i] = ring.get((int) ((count - 1 - i) % SAMPLE_CAPACITY));
+        }
+        return samples;
+    }
+
+    private void runTickHooks() {
+        for (Runnable hook : tickHooks) {
+            try {
+                hook.run();
+            } catch (Exception e) {
+                UHC.getInstance().getLogger().log(Level.SEVERE, "Error running tick hook", e);
+            }
+        }
+    }
 
     /**
      * Resets the tick counter (useful for testing)
@@ -66,6 +362,25 @@ public class TickCounter {
         }
     }
 
+    /**
+     * Called when the server's TPS crosses a registered threshold
+     */
+    public interface ThresholdListener {
+        void onThresholdCrossed(double threshold, double tps, boolean below);
+    }
+
+    private static final class Threshold {
+
+        private final double tps;
+        private final ThresholdListener listener;
+        private boolean below = false;
+
+        private Threshold(double tps, ThresholdListener listener) {
+            this.tps = tps;
+            this.listener = listener;
+        }
+    }
+
     /**
      * Converts ticks to seconds
      */
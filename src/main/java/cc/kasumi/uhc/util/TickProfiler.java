@@ -0,0 +1,276 @@
+package cc.kasumi.uhc.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-subsystem timing of plugin tasks and event handlers.
+ * Each section keeps a call count, total and max time and a log-linear histogram
+ * (HDR style, about 6% precision) so percentiles stay cheap to record. Recording is
+ * two nanoTime calls and a few uncontended atomic adds, and is safe from async events.
+ */
+public class TickProfiler {
+
+    private static TickProfiler instance;
+
+    private final Map<String, Section> sections = new ConcurrentHashMap<>();
+
+    @Getter
+    @Setter
+    private volatile boolean enabled = true;
+
+    @Getter
+    private volatile long since = System.currentTimeMillis();
+
+    public static TickProfiler getInstance() {
+        if (instance == null) {
+            instance = new TickProfiler();
+        }
+        return instance;
+    }
+
+    private TickProfiler() {
+    }
+
+    /**
+     * Gets or creates the named section
+     */
+    public Section section(String name) {
+        return sections.computeIfAbsent(name, Section::new);
+    }
+
+    /**
+     * Returns a runnable that times the task under the given subsystem
+     */
+    public static Runnable wrap(String subsystem, Runnable task) {
+        Section section = getInstance().section(subsystem);
+
+        return () -> {
+            long start = section.start();
+            try {
+                task.run();
+            } finally {
+                section.stop(start);
+            }
+        };
+    }
+
+    /**
+     * Registers the listener's handlers like PluginManager.registerEvents, timing each event type
+     * as its own section. HandlerList.unregisterAll(listener) still removes them.
+     */
+    public void registerEvents(Listener listener, Plugin plugin, String subsystem) {
+        Map<Class<? extends Event>, Set<RegisteredListener>> handlers = plugin.getPluginLoader().createRegisteredListeners(listener, plugin);
+
+        for (Map.Entry<Class<? extends Event>, Set<RegisteredListener>> entry : handlers.entrySet()) {
+            Section section = section(subsystem + "/" + entry.getKey().getSimpleName());
+
+            for (RegisteredListener registered : entry.getValue()) {
+                // The original listener still does the event type and ignoreCancelled checks
+                Bukkit.getPluginManager().registerEvent(entry.getKey(), listener, registered.getPriority(), (ignored, event) -> {
+                    long start = section.start();
+                    try {
+                        registered.callEvent(event);
+                    } finally {
+                        section.stop(start);
+                    }
+                }, plugin, false);
+            }
+        }
+    }
+
+    /**
+     * Sections ordered by total time spent, highest first
+     */
+    public List<Section> getSections() {
+        List<Section> list = new ArrayList<>(sections.values());
+        list.sort((a, b) -> Long.compare(b.getTotalNanos(), a.getTotalNanos()));
+        return list;
+    }
+
+    /**
+     * Drops every section whose name starts with the prefix, for short-lived sections like benchmarks
+     */
+    public void removeSections(String prefix) {
+        sections.keySet().removeIf(name -> name.startsWith(prefix));
+    }
+
+    public void reset() {
+        for (Section section : sections.values()) {
+            section.reset();
+        }
+        since = System.currentTimeMillis();
+    }
+
+    /**
+     * Writes every section with its percentiles to a timestamped CSV file in the folder
+     */
+    public File dumpCsv(File folder) throws IOException {
+        if (!folder.exists() && !folder.mkdirs()) {
+            throw new IOException("Could not create " + folder);
+        }
+
+        File file = new File(folder, "profile-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".csv");
+
+        try (PrintWriter writer = new PrintWriter(file, "UTF-8")) {
+            writer.println("section,calls,total_ms,mean_us,p50_us,p95_us,p99_us,p999_us,max_us");
+
+            for (Section section : getSections()) {
+                writer.printf(Locale.ROOT, "%s,%d,%.3f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f%n",
+                        section.getName(),
+                        section.getCalls(),
+                        section.getTotalNanos() / 1_000_000.0,
+                        section.getMeanNanos() / 1_000.0,
+                        section.getPercentile(0.50) / 1_000.0,
+                        section.getPercentile(0.95) / 1_000.0,
+                        section.getPercentile(0.99) / 1_000.0,
+                        section.getPercentile(0.999) / 1_000.0,
+                        section.getMaxNanos() / 1_000.0);
+            }
+        }
+
+        return file;
+    }
+
+    /**
+     * Timing data of one subsystem
+     */
+    public static final class Section {
+
+        // 16 linear sub-buckets per power of two up to 2^40 ns (about 18 minutes)
+        private static final int SUB_BITS = 4;
+        private static final int SUB_COUNT = 1 << SUB_BITS;
+        private static final int MAX_EXPONENT = 40;
+        private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+        private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BITS + 2) * SUB_COUNT;
+
+        @Getter
+        private final String name;
+
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+        private Section(String name) {
+            this.name = name;
+        }
+
+        /**
+         * @return the start timestamp, or 0 while profiling is disabled
+         */
+        public long start() {
+            return instance.enabled ? System.nanoTime() : 0L;
+        }
+
+        public void stop(long start) {
+            if (start != 0L) {
+                record(System.nanoTime() - start);
+            }
+        }
+
+        public void record(long nanos) {
+            long value = Math.max(0L, Math.min(nanos, MAX_VALUE));
+
+            calls.incrementAndGet();
+            totalNanos.addAndGet(value);
+            buckets.incrementAndGet(bucketIndex(value));
+
+            long max = maxNanos.get();
+            while (value > max && !maxNanos.compareAndSet(max, value)) {
+                max = maxNanos.get();
+            }
+        }
+
+        public long getCalls() {
+            return calls.get();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.get();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public double getMeanNanos() {
+            long count = calls.get();
+            return count == 0 ? 0.0 : (double) totalNanos.get() / count;
+        }
+
+        /**
+         * Highest value equivalent to the given percentile (0.0 - 1.0), in nanoseconds
+         */
+        public long getPercentile(double percentile) {
+            long[] counts = new long[BUCKET_COUNT];
+            long total = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] = buckets.get(i);
+                total += counts[i];
+            }
+
+            if (total == 0) {
+                return 0L;
+            }
+
+            long rank = Math.max(1L, (long) Math.ceil(percentile * total));
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), maxNanos.get());
+                }
+            }
+
+            return maxNanos.get();
+        }
+
+        private void reset() {
+            calls.set(0);
+            totalNanos.set(0);
+            maxNanos.set(0);
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                buckets.set(i, 0);
+            }
+        }
+
+        private static int bucketIndex(long value) {
+            if (value < SUB_COUNT) {
+                return (int) value;
+            }
+
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+            return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+        }
+
+        private static long lowerBound(int index) {
+            if (index < SUB_COUNT) {
+                return index;
+            }
+
+            int exponent = index / SUB_COUNT + SUB_BITS - 1;
+            int sub = index % SUB_COUNT;
+            return (long) (SUB_COUNT + sub) << (exponent - SUB_BITS);
+        }
+
+        private static long upperBound(int index) {
+            return index + 1 < BUCKET_COUNT ? lowerBound(index + 1) - 1 : MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package cc.kasumi.uhc.util;
+
+import cc.kasumi.uhc.UHC;
+import lombok.Getter;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.logging.Level;
+
+/**
+ * Hashed timing wheel driven by a single repeating task.
+ * Schedule and cancel are O(1), so per-player and per-entity timers don't each need a Bukkit task.
+ * Main thread only.
+ */
+public class TimingWheel {
+
+    private static final int WHEEL_SIZE = 512; // must be a power of two
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private static TimingWheel instance;
+
+    private final Timeout[] buckets = new Timeout[WHEEL_SIZE];
+    private BukkitTask driverTask;
+
+    @Getter
+    private long currentTick = 0;
+
+    @Getter
+    private int pendingCount = 0;
+
+    public static TimingWheel getInstance() {
+        if (instance == null) {
+            instance = new TimingWheel();
+        }
+        return instance;
+    }
+
+    private TimingWheel() {
+        start();
+    }
+
+    /**
+     * Starts the driver task, replacing any previous one
+     */
+    public void start() {
+        if (driverTask != null) {
+            driverTask.cancel();
+        }
+
+        driverTask = new ProfiledRunnable("timing-wheel") {
+            @Override
+            protected void tick() {
+                advance();
+            }
+        }.runTaskTimer(UHC.getInstance(), 1L, 1L);
+    }
+
+    /**
+     * Stops the driver task and drops every pending timeout (call in onDisable)
+     */
+    public void stop() {
+        if (driverTask != null) {
+            driverTask.cancel();
+            driverTask = null;
+        }
+
+        clear();
+    }
+
+    /**
+     * Runs the task once after the given delay
+     */
+    public Timeout schedule(Runnable task, long delayTicks) {
+        return scheduleRepeating(task, delayTicks, 0L);
+    }
+
+    /**
+     * Runs the task after the given delay and then every period ticks until cancelled
+     */
+    public Timeout scheduleRepeating(Runnable task, long delayTicks, long periodTicks) {
+        Timeout timeout = new Timeout(this, task, periodTicks);
+        insert(timeout, delayTicks);
+        return timeout;
+    }
+
+    private void insert(Timeout timeout, long delayTicks) {
+        timeout.deadline = currentTick + Math.max(1L, delayTicks);
+        timeout.bucket = (int) (timeout.deadline & WHEEL_MASK);
+
+        Timeout head = buckets[timeout.bucket];
+        timeout.prev = null;
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        buckets[timeout.bucket] = timeout;
+
+        pendingCount++;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.bucket < 0) {
+            return;
+        }
+
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            buckets[timeout.bucket] = timeout.next;
+        }
+
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+
+        // next is kept so an in-progress bucket walk can continue past this node
+        timeout.prev = null;
+        timeout.bucket = -1;
+
+        pendingCount--;
+    }
+
+    private void advance() {
+        currentTick++;
+
+        Timeout timeout = buckets[(int) (currentTick & WHEEL_MASK)];
+
+        while (timeout != null) {
+            Timeout next = timeout.next;
+
+            // Timeouts further than one rotation away share the bucket, skip them until their round.
+            // A task may also have cancelled a node further down this bucket.
+            if (timeout.bucket >= 0 && timeout.deadline <= currentTick) {
+                unlink(timeout);
+                expire(timeout);
+            }
+
+            timeout = next;
+        }
+    }
+
+    private void expire(Timeout timeout) {
+        try {
+            timeout.task.run();
+        } catch (Exception e) {
+            UHC.getInstance().getLogger().log(Level.SEVERE, "Error running timing wheel task", e);
+        }
+
+        if (timeout.period > 0 && !timeout.cancelled && timeout.bucket < 0) {
+            insert(timeout, timeout.period);
+        }
+    }
+
+    private void clear() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            Timeout timeout = buckets[i];
+            while (timeout != null) {
+                timeout.cancelled = true;
+                timeout.bucket = -1;
+                timeout = timeout.next;
+            }
+            buckets[i] = null;
+        }
+
+        pendingCount = 0;
+    }
+
+    /**
+     * Handle to a scheduled task
+     */
+    public static final class Timeout {
+
+        private final TimingWheel wheel;
+        private final Runnable task;
+        private final long period;
+
+        private long deadline;
+        private int bucket = -1;
+        private Timeout prev;
+        private Timeout next;
+
+        @Getter
+        private boolean cancelled = false;
+
+        private Timeout(TimingWheel wheel, Runnable task, long period) {
+            this.wheel = wheel;
+            this.task = task;
+            this.period = period;
+        }
+
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+
+            cancelled = true;
+            wheel.unlink(this);
+        }
+
+        public boolean isPending() {
+            return bucket >= 0;
+        }
+    }
+}
@@ -1,13 +1,15 @@
 package cc.kasumi.uhc.world;
 
 import cc.kasumi.uhc.UHC;
+import cc.kasumi.uhc.jfr.PregenBatchEvent;
+import cc.kasumi.uhc.util.ChunkLoadTracker;
+import cc.kasumi.uhc.util.ProfiledRunnable;
 import cc.kasumi.uhc.world.custom.CaveSettings;
 import cc.kasumi.uhc.world.custom.GiantCave;
 import cc.kasumi.uhc.world.generator.BiomeSwap;
 import lombok.Getter;
 import org.bukkit.*;
 import org.bukkit.generator.ChunkGenerator;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -183,25 +185,24 @@ public class WorldManager {
     public void pregenerateSpawnChunks(World world, int radius) {
         logger.info("Pregenerating chunks in radius " + radius + "...");
 
-        new BukkitRunnable() {
+        new ProfiledRunnable("chunk-pregen") {
             private int x = -radius;
             private int z = -radius;
             private int chunksGenerated = 0;
             private final int totalChunks = (radius * 2 + 1) * (radius * 2 + 1);
 
             @Override
-            public void run() {
+            protected void tick() {
+                PregenBatchEvent event = new PregenBatchEvent();
+                event.begin();
+
                 int chunksThisTick = 0;
 
                 // Reduced chunk generation per tick for 1.8.8 stability
                 while (chunksThisTick < 2 && x <= radius) { // Generate 2 chunks per tick instead of 5
                     try {
                         // Use synchronous chunk loading for 1.8.8
-                        Chunk chunk = world.getChunkAt(x, z);
-
-                        if (!chunk.isLoaded()) {
-                            chunk.load(true);
-                        }
+                        ChunkLoadTracker.load(world, x, z, "pregeneration");
 
                         chunksGenerated++;
                         chunksThisTick++;
@@ -222,6 +223,14 @@ public class WorldManager {
                     }
                 }
 
+                if (event.shouldCommit()) {
+                    event.world = world.getName();
+                    event.chunks = chunksThisTick;
+                    event.generated = chunksGenerated;
+                    event.total = totalChunks;
+                    event.commit();
+                }
+
                 // Progress reporting
                 if (chunksGenerated % 50 == 0 || x > radius) {
                     double progress = (double) chunksGenerated / totalChunks * 100;
@@ -545,8 +554,7 @@ public class WorldManager {
 
         for (int x = centerX - radius; x <= centerX + radius; x++) {
             for (int z = centerZ - radius; z <= centerZ + radius; z++) {
-                Chunk chunk = world.getChunkAt(x, z);
-                chunk.load(true);
+                ChunkLoadTracker.load(world, x, z, "spawn");
             }
         }
 
@@ -1,5 +1,6 @@
 package cc.kasumi.uhc.world;
 
+import cc.kasumi.uhc.log.LogSite;
 import cc.kasumi.uhc.world.custom.CaveSettings;
 import cc.kasumi.uhc.world.custom.GiantCave;
 import lombok.Getter;
@@ -17,6 +18,8 @@ import java.util.logging.Logger;
 @Getter
 public class WorldPopulatorManager {
 
+    private static final LogSite UHC_WORLD_LOG = LogSite.of("populators.uhc-world").perSecond(1);
+
     private final WorldManager worldManager;
     private final Logger logger;
     private final List<BlockPopulator> registeredPopulators;
@@ -84,7 +87,7 @@ public class WorldPopulatorManager {
         boolean isUHCWorld = worldName.equalsIgnoreCase(uhcWorldName);
 
         if (isUHCWorld) {
-            logger.info("World " + worldName + " identified as UHC world, populators will be added");
+            UHC_WORLD_LOG.info(() -> "World " + worldName + " identified as UHC world, populators will be added");
         }
 
         return isUHCWorld;
@@ -1,5 +1,6 @@
 package cc.kasumi.uhc.world.custom;
 
+import cc.kasumi.uhc.jfr.CavePopulateEvent;
 import org.bukkit.Chunk;
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -13,6 +14,10 @@ public class GiantCave extends BlockPopulator {
     private final Material material = Material.AIR;
 
     public void populate(World world, Random random, Chunk source) {
+        CavePopulateEvent event = new CavePopulateEvent();
+        event.begin();
+
+        int cleared = 0;
         GCRandom gcRandom = new GCRandom(source);
         for (int x = 0; x < 16; x++) {
             for (int z = 0; z < 16; z++) {
@@ -20,9 +25,18 @@ public class GiantCave extends BlockPopulator {
                     if (gcRandom.isInGiantCave(x, y, z)) {
                         Block block = source.getBlock(x, y, z);
                         block.setType(this.material);
+                        cleared++;
                     }
                 }
             }
         }
+
+        if (event.shouldCommit()) {
+            event.world = world.getName();
+            event.chunkX = source.getX();
+            event.chunkZ = source.getZ();
+            event.blocksCleared = cleared;
+            event.commit();
+        }
     }
 }